@@ -2,12 +2,16 @@ package com.elasticbeanstalk.mini_elastic_beanstalk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class MiniElasticBeanstalkApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MiniElasticBeanstalkApplication.class, args);
+		SpringApplication application = new SpringApplication(MiniElasticBeanstalkApplication.class);
+		// linha do tempo da subida em /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,47 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.util.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.time.Duration;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Com virtual threads o número de threads deixa de limitar o acesso ao banco;
+    // o semáforo segura as requisições antes do Hikari, sem estourar o connection-timeout.
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "app.virtual-threads.datasource-acquire-timeout", Duration.class, Duration.ofSeconds(30));
+
+        return new OrderedPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeout);
+                }
+                return bean;
+            }
+
+            // antes de outros wrappers do DataSource (ver StageTimingConfig): precisa receber o próprio Hikari
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        };
+    }
+
+    private interface OrderedPostProcessor extends BeanPostProcessor, Ordered {
+    }
+}
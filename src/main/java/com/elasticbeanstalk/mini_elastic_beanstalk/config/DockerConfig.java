@@ -0,0 +1,77 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+public class DockerConfig {
+
+    @Value("${app.docker.host:unix:///var/run/docker.sock}")
+    private String dockerHost;
+
+    @Value("${app.docker.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${app.docker.connection-timeout:5s}")
+    private Duration connectionTimeout;
+
+    @Value("${app.docker.max-streaming-connections:512}")
+    private int maxStreamingConnections;
+
+    @Value("${app.docker.response-timeout:30s}")
+    private Duration responseTimeout;
+
+    @Bean
+    public DockerClientConfig dockerClientConfig() {
+        return DefaultDockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost(dockerHost)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public DockerHttpClient dockerHttpClient(DockerClientConfig dockerClientConfig) {
+        return new ApacheDockerHttpClient.Builder()
+                .dockerHost(dockerClientConfig.getDockerHost())
+                .sslConfig(dockerClientConfig.getSSLConfig())
+                .maxConnections(maxConnections)
+                .connectionTimeout(connectionTimeout)
+                .responseTimeout(responseTimeout)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public DockerClient dockerClient(DockerClientConfig dockerClientConfig, DockerHttpClient dockerHttpClient) {
+        return DockerClientImpl.getInstance(dockerClientConfig, dockerHttpClient);
+    }
+
+    // Eventos e logs ficam ociosos por tempo indeterminado: sem response
+    // timeout, senão um container quieto derruba o stream a cada 30s.
+    @Bean(destroyMethod = "close")
+    public DockerHttpClient streamingDockerHttpClient(DockerClientConfig dockerClientConfig) {
+        return new ApacheDockerHttpClient.Builder()
+                .dockerHost(dockerClientConfig.getDockerHost())
+                .sslConfig(dockerClientConfig.getSSLConfig())
+                .maxConnections(maxStreamingConnections)
+                .connectionTimeout(connectionTimeout)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public DockerClient streamingDockerClient(DockerClientConfig dockerClientConfig,
+                                              @Qualifier("streamingDockerHttpClient") DockerHttpClient streamingDockerHttpClient) {
+        return DockerClientImpl.getInstance(dockerClientConfig, streamingDockerHttpClient);
+    }
+}
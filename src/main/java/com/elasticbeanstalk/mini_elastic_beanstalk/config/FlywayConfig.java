@@ -0,0 +1,98 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+@Slf4j
+@org.springframework.context.annotation.Configuration
+public class FlywayConfig {
+
+    /**
+     * Guarda no banco um SHA-256 dos scripts de migração. Se na subida o hash
+     * bater, nada mudou desde o último migrate: roda sem a validação de
+     * checksums do Flyway. Qualquer diferença cai no migrate normal, validado.
+     */
+    @Bean
+    public FlywayMigrationStrategy fingerprintMigrationStrategy(
+            @Value("${app.startup.flyway.skip-unchanged-validation:false}") boolean skipUnchanged,
+            @Value("${app.startup.training-run:false}") boolean trainingRun
+    ) {
+        return flyway -> {
+            if (trainingRun) {
+                // execução de treino do cache AOT/CDS: sobe sem banco
+                log.info("Execução de treino: migrações do Flyway ignoradas");
+                return;
+            }
+            if (!skipUnchanged) {
+                flyway.migrate();
+                return;
+            }
+            Configuration configuration = flyway.getConfiguration();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(configuration.getDataSource());
+            String fingerprint = fingerprint(configuration);
+            if (fingerprint.equals(storedFingerprint(jdbcTemplate))) {
+                Flyway.configure(configuration.getClassLoader())
+                        .configuration(configuration)
+                        .validateOnMigrate(false)
+                        .load()
+                        .migrate();
+                log.debug("Migrações inalteradas ({}); validação do Flyway pulada", fingerprint);
+                return;
+            }
+            flyway.migrate();
+            jdbcTemplate.update("""
+                    INSERT INTO schema_fingerprint (id, fingerprint, updated_at) VALUES (1, ?, now())
+                    ON CONFLICT (id) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, updated_at = EXCLUDED.updated_at
+                    """, fingerprint);
+        };
+    }
+
+    private static String storedFingerprint(JdbcTemplate jdbcTemplate) {
+        try {
+            return jdbcTemplate.queryForObject("SELECT fingerprint FROM schema_fingerprint WHERE id = 1", String.class);
+        } catch (DataAccessException e) {
+            // primeira subida ou tabela ainda não criada
+            return null;
+        }
+    }
+
+    static String fingerprint(Configuration configuration) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(configuration.getClassLoader());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Location location : configuration.getLocations()) {
+                String pattern = (location.isClassPath() ? "classpath*:" : "file:") + location.getRootPath() + "/**/*.sql";
+                Resource[] scripts = resolver.getResources(pattern);
+                Arrays.sort(scripts, Comparator.comparing(Resource::getFilename, Comparator.nullsFirst(String::compareTo)));
+                for (Resource script : scripts) {
+                    digest.update(String.valueOf(script.getFilename()).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(script.getContentAsByteArray());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
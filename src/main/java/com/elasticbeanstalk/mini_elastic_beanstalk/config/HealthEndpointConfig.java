@@ -0,0 +1,105 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.boot.actuate.endpoint.EndpointId;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.web.AdditionalPathsMapper;
+import org.springframework.boot.actuate.endpoint.web.WebServerNamespace;
+import org.springframework.boot.actuate.health.AdditionalHealthEndpointPath;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.HealthEndpointGroupsPostProcessor;
+import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A saúde dos containers dos usuários fica fora de {@code /actuator/health}:
+ * um app com falha não pode deixar a plataforma DOWN (503) para o balanceador.
+ * Ela é lida pelo grupo {@code apps} (management.endpoint.health.group.apps).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.health.enabled", havingValue = "true", matchIfMissing = true)
+public class HealthEndpointConfig {
+
+    static final String CONTAINERS = "containers";
+
+    @Bean
+    public HealthEndpointGroupsPostProcessor containersOutsideRootHealth() {
+        return RootExcluding::new;
+    }
+
+    // o grupo primário do Boot inclui todos os contribuidores e não aceita exclude
+    private record RootExcluding(HealthEndpointGroups delegate) implements HealthEndpointGroups, AdditionalPathsMapper {
+
+        @Override
+        public HealthEndpointGroup getPrimary() {
+            return new WithoutContainers(delegate.getPrimary());
+        }
+
+        @Override
+        public Set<String> getNames() {
+            return delegate.getNames();
+        }
+
+        @Override
+        public HealthEndpointGroup get(String name) {
+            return delegate.get(name);
+        }
+
+        @Override
+        public HealthEndpointGroup get(AdditionalHealthEndpointPath path) {
+            return delegate.get(path);
+        }
+
+        @Override
+        public Set<HealthEndpointGroup> getAllWithAdditionalPath(WebServerNamespace namespace) {
+            return delegate.getAllWithAdditionalPath(namespace);
+        }
+
+        @Override
+        public List<String> getAdditionalPaths(EndpointId endpointId, WebServerNamespace webServerNamespace) {
+            return delegate instanceof AdditionalPathsMapper mapper
+                    ? mapper.getAdditionalPaths(endpointId, webServerNamespace)
+                    : null;
+        }
+    }
+
+    private record WithoutContainers(HealthEndpointGroup delegate) implements HealthEndpointGroup {
+
+        @Override
+        public boolean isMember(String name) {
+            // o Boot pergunta pelo caminho completo de cada indicador: containers/<serverId>
+            return !name.equals(CONTAINERS) && !name.startsWith(CONTAINERS + "/") && delegate.isMember(name);
+        }
+
+        @Override
+        public boolean showComponents(SecurityContext securityContext) {
+            return delegate.showComponents(securityContext);
+        }
+
+        @Override
+        public boolean showDetails(SecurityContext securityContext) {
+            return delegate.showDetails(securityContext);
+        }
+
+        @Override
+        public StatusAggregator getStatusAggregator() {
+            return delegate.getStatusAggregator();
+        }
+
+        @Override
+        public HttpCodeStatusMapper getHttpCodeStatusMapper() {
+            return delegate.getHttpCodeStatusMapper();
+        }
+
+        @Override
+        public AdditionalHealthEndpointPath getAdditionalPath() {
+            return delegate.getAdditionalPath();
+        }
+    }
+}
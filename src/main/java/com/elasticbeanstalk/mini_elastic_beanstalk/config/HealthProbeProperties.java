@@ -0,0 +1,27 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Probes de saúde dos containers gerenciados. Alvos saudáveis são checados
+ * cada vez menos (até maxInterval); com falha, a cada minInterval.
+ */
+@ConfigurationProperties(prefix = "app.health")
+public record HealthProbeProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10s") Duration interval,
+        @DefaultValue("2s") Duration minInterval,
+        @DefaultValue("60s") Duration maxInterval,
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue("0.2") double jitter,
+        @DefaultValue("2") int healthyThreshold,
+        @DefaultValue("3") int unhealthyThreshold,
+        @DefaultValue("512") int maxInFlight,
+        @DefaultValue("2") int threads,
+        @DefaultValue("50ms") Duration tick,
+        @DefaultValue("127.0.0.1") String publishedHost
+) {
+}
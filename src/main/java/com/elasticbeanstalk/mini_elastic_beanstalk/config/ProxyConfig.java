@@ -0,0 +1,34 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy.ProxyRoutingTable;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy.ReverseProxy;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy.ReverseProxyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "app.proxy.enabled", havingValue = "true")
+public class ProxyConfig {
+
+    // antes do FormContentFilter (que consumiria corpos de formulário) e da
+    // cadeia de segurança: o tráfego das aplicações não usa o JWT do painel.
+    // O modo por caminho fica desligado por padrão: na mesma origem do painel,
+    // o JavaScript de uma aplicação lê e chama a API com a sessão do usuário.
+    @Bean
+    public FilterRegistrationBean<ReverseProxyFilter> reverseProxyFilter(
+            ReverseProxy reverseProxy,
+            ProxyRoutingTable routingTable,
+            @Value("${app.proxy.host-suffix:}") String hostSuffix,
+            @Value("${app.proxy.path-prefix:}") String pathPrefix
+    ) {
+        FilterRegistrationBean<ReverseProxyFilter> registration = new FilterRegistrationBean<>(
+                new ReverseProxyFilter(reverseProxy, routingTable, hostSuffix, pathPrefix));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.RateLimitKey;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.RequestPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue List<Group> groups,
+        @DefaultValue Shedding shedding
+) {
+
+    /**
+     * Orçamento de um grupo de rotas: até {@code burst} requisições de uma vez
+     * e {@code requestsPerSecond} em regime. Requisições sem grupo não são limitadas.
+     * Com {@code sampleLatency} desligado, a duração das requisições do grupo
+     * (uploads, streams) não entra na média do LoadShedder.
+     */
+    public record Group(
+            String name,
+            List<String> paths,
+            @DefaultValue List<String> methods,
+            @DefaultValue("IP") RateLimitKey key,
+            @DefaultValue("10") double requestsPerSecond,
+            @DefaultValue("20") int burst,
+            @DefaultValue("NORMAL") RequestPriority priority,
+            @DefaultValue("true") boolean sampleLatency
+    ) {
+    }
+
+    public record Shedding(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("2s") Duration latencyThreshold,
+            @DefaultValue("200") int maxInFlight,
+            @DefaultValue("0.2") double smoothing
+    ) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@ConfigurationProperties(prefix = "app.scaling")
+public record ScalingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int maxConcurrentActions,
+        @DefaultValue("30s") Duration sampleTtl,
+        @DefaultValue Map<String, Policy> servers
+) {
+
+    /**
+     * Só servidores listados em app.scaling.servers são escalados: sem política
+     * explícita, as réplicas definidas no compose (deploy.replicas, scale) ficam
+     * como estão.
+     */
+    public Optional<Policy> policyFor(String serverId) {
+        return Optional.ofNullable(servers.get(serverId));
+    }
+
+    /**
+     * Política de réplicas de cada serviço de um servidor. A carga observada é
+     * comparada aos alvos por réplica (alvo 0 desliga o sinal); fora da faixa
+     * alvo ± tolerance pelo tempo da janela, escala, respeitando os cooldowns.
+     */
+    public record Policy(
+            @DefaultValue("1") int minReplicas,
+            @DefaultValue("1") int maxReplicas,
+            @DefaultValue("60") double targetCpuPercent,
+            @DefaultValue("0B") DataSize targetMemory,
+            @DefaultValue("0") double targetRequestRate,
+            @DefaultValue("0.2") double tolerance,
+            @DefaultValue("30s") Duration scaleUpWindow,
+            @DefaultValue("5m") Duration scaleDownWindow,
+            @DefaultValue("1m") Duration scaleUpCooldown,
+            @DefaultValue("5m") Duration scaleDownCooldown,
+            @DefaultValue("2") int maxScaleUpStep
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ScalingProperties.class, HealthProbeProperties.class})
+public class SchedulingConfig {
+}
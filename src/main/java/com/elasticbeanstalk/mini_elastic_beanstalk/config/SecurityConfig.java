@@ -1,9 +1,14 @@
 package com.elasticbeanstalk.mini_elastic_beanstalk.config;
 
 import com.elasticbeanstalk.mini_elastic_beanstalk.security.JwtAuthenticationFilter;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.LoadSheddingFilter;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.RateLimitFilter;
 import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,10 +26,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
@@ -33,8 +40,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthFilter;
     @Autowired
+    private LoadSheddingFilter loadSheddingFilter;
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Value("${app.security.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -46,20 +60,39 @@ public class SecurityConfig {
                         .requestMatchers("/login","/home").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(loadSheddingFilter, CorsFilter.class)
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // os filtros rodam dentro da cadeia de segurança; registrados também no container,
+    // rodariam antes dela, sem o usuário autenticado
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilterRegistration(LoadSheddingFilter filter) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
 
@@ -0,0 +1,113 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.RequestStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimingFilter;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimingRecorder;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Configuration
+@EnableConfigurationProperties(StageTimingProperties.class)
+@ConditionalOnProperty(name = "app.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class StageTimingConfig {
+
+    @Bean
+    public StageTimingRecorder stageTimingRecorder(StageTimingProperties properties, MeterRegistry meterRegistry) {
+        return new StageTimingRecorder(properties, meterRegistry);
+    }
+
+    // logo depois do proxy reverso: mede tudo do painel, inclusive a cadeia de segurança
+    @Bean
+    public FilterRegistrationBean<StageTimingFilter> stageTimingFilter(StageTimingRecorder recorder) {
+        FilterRegistrationBean<StageTimingFilter> registration = new FilterRegistrationBean<>(new StageTimingFilter(recorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.addUrlPatterns("/*");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryStageTimingPostProcessor() {
+        MethodInterceptor interceptor = invocation -> {
+            long start = StageTimings.start();
+            try {
+                return invocation.proceed();
+            } finally {
+                StageTimings.stop(RequestStage.REPOSITORY, start);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // depois do ConnectionLimitingDataSource (AsyncConfig), para contar também a espera no semáforo
+    @Bean
+    public static BeanPostProcessor connectionWaitStageTimingPostProcessor() {
+        return new OrderedPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionWaitTimingDataSource)) {
+                    return new ConnectionWaitTimingDataSource(dataSource);
+                }
+                return bean;
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        };
+    }
+
+    private interface OrderedPostProcessor extends BeanPostProcessor, Ordered {
+    }
+
+    private static final class ConnectionWaitTimingDataSource extends DelegatingDataSource {
+
+        private ConnectionWaitTimingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = StageTimings.start();
+            try {
+                return super.getConnection();
+            } finally {
+                StageTimings.stop(RequestStage.CONNECTION_WAIT, start);
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = StageTimings.start();
+            try {
+                return super.getConnection(username, password);
+            } finally {
+                StageTimings.stop(RequestStage.CONNECTION_WAIT, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tempos por etapa de cada requisição (JWT, banco, BCrypt...). sampleRate é a
+ * fração de requisições medidas; acima de slowThreshold a requisição é logada
+ * com o detalhamento por etapa.
+ */
+@ConfigurationProperties(prefix = "app.timing")
+public record StageTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("500ms") Duration slowThreshold,
+        @DefaultValue({"1ms", "5ms", "10ms", "25ms", "50ms", "100ms", "250ms", "500ms", "1s", "2500ms"}) List<Duration> slo,
+        @DefaultValue("256") int poolSize
+) {
+}
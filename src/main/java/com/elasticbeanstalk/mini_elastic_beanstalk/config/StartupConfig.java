@@ -0,0 +1,49 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    private static final List<String> DOCUMENTATION_PACKAGES = List.of(
+            "org.springdoc.", "io.swagger.", OpenApiConfig.class.getName());
+
+    /**
+     * Com app.startup.lazy-docs, os beans do springdoc e do OpenApiConfig só são
+     * criados na primeira chamada a /api-docs ou /swagger-ui. Os que algum bean
+     * da subida injeta continuam sendo criados na hora.
+     */
+    @Bean
+    static BeanFactoryPostProcessor lazyDocumentationBeans(Environment environment) {
+        return beanFactory -> {
+            if (!environment.getProperty("app.startup.lazy-docs", Boolean.class, false)) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String source = source(definition);
+                if (source != null && DOCUMENTATION_PACKAGES.stream().anyMatch(source::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static String source(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,73 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.config;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.controller.LogWebSocketHandler;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.LogStreamHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriTemplate;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private static final UriTemplate LOGS_PATH = new UriTemplate("/ws/containers/{containerId}/logs");
+    private static final Pattern CONTAINER_ID = Pattern.compile("[a-zA-Z0-9][a-zA-Z0-9_.-]{0,127}");
+
+    @Autowired
+    private LogWebSocketHandler logWebSocketHandler;
+    @Autowired
+    private LogStreamHub logStreamHub;
+
+    @Value("${app.logs.allowed-origins:http://localhost:4200}")
+    private String[] allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(logWebSocketHandler, "/ws/containers/*/logs")
+                .addInterceptors(new ContainerIdInterceptor(logStreamHub))
+                .setAllowedOrigins(allowedOrigins);
+    }
+
+    static class ContainerIdInterceptor implements HandshakeInterceptor {
+
+        private final LogStreamHub logStreamHub;
+
+        ContainerIdInterceptor(LogStreamHub logStreamHub) {
+            this.logStreamHub = logStreamHub;
+        }
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            Map<String, String> variables = LOGS_PATH.match(request.getURI().getPath());
+            String containerId = variables.get("containerId");
+            if (containerId == null || !CONTAINER_ID.matcher(containerId).matches()) {
+                return false;
+            }
+            // um id válido não basta: só containers de servidores da plataforma
+            if (!logStreamHub.isManaged(containerId)) {
+                response.setStatusCode(HttpStatus.NOT_FOUND);
+                return false;
+            }
+            attributes.put(LogWebSocketHandler.CONTAINER_ID, containerId);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.ArtifactManifestRequest;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ArtifactManifestResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ArtifactUploadResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.WorkspaceFileResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact.ArtifactDeltaService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact.ArtifactUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/artifacts")
+public class ArtifactController {
+    @Autowired
+    private ArtifactUploadService artifactUploadService;
+    @Autowired
+    private ArtifactDeltaService artifactDeltaService;
+
+    @PutMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ArtifactUploadResponse> upload(@PathVariable String serverId,
+                                                         @RequestParam String filename,
+                                                         HttpServletRequest request) throws IOException {
+        ArtifactUploadResponse response = artifactUploadService.upload(
+                serverId, filename, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/manifest")
+    public ResponseEntity<List<WorkspaceFileResponse>> manifest(@PathVariable String serverId) {
+        return ResponseEntity.ok(artifactDeltaService.currentManifest(serverId));
+    }
+
+    @PostMapping("/manifest")
+    public ResponseEntity<ArtifactManifestResponse> applyManifest(@PathVariable String serverId,
+                                                                  @RequestBody @Valid ArtifactManifestRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(artifactDeltaService.applyManifest(serverId, request));
+    }
+}
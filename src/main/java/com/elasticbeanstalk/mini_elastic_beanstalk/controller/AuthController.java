@@ -5,18 +5,32 @@ import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.AuthRespo
 import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
     @Autowired
     private AuthService authService;
 
-    @RequestMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody @Valid LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    @Value("${app.security.jwt.cookie-name:auth-token}")
+    private String cookieName;
+    @Value("${app.security.jwt.cookie-secure:false}")
+    private boolean cookieSecure;
+    @Value("${app.security.jwt.cookie-http-only:true}")
+    private boolean cookieHttpOnly;
+    @Value("${app.security.jwt.cookie-same-site:Strict}")
+    private String cookieSameSite;
+
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody @Valid LoginRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/register")
@@ -24,9 +38,19 @@ public class AuthController {
         return "register";
     }
 
+    // revoga o token até ele expirar e apaga o cookie no navegador
     @PostMapping("logout")
-    public String logout() {
-        return "logout";
+    public ResponseEntity<Void> logout(@CookieValue(name = "${app.security.jwt.cookie-name:auth-token}", required = false)
+                                       String token) {
+        authService.logout(token);
+        ResponseCookie expired = ResponseCookie.from(cookieName, "")
+                .path("/")
+                .maxAge(0)
+                .secure(cookieSecure)
+                .httpOnly(cookieHttpOnly)
+                .sameSite(cookieSameSite)
+                .build();
+        return ResponseEntity.noContent().header(HttpHeaders.SET_COOKIE, expired.toString()).build();
     }
 
     @GetMapping("me")
@@ -0,0 +1,31 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.MissingBlobsRequest;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.MissingBlobsResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact.ArtifactDeltaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/blobs")
+public class BlobController {
+    @Autowired
+    private ArtifactDeltaService artifactDeltaService;
+
+    @PostMapping("/chunks/missing")
+    public ResponseEntity<MissingBlobsResponse> missingChunks(@RequestBody @Valid MissingBlobsRequest request) {
+        return ResponseEntity.ok(new MissingBlobsResponse(artifactDeltaService.missingChunks(request.hashes())));
+    }
+
+    @PutMapping(value = "/chunks/{hash}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> uploadChunk(@PathVariable String hash, HttpServletRequest request) throws IOException {
+        artifactDeltaService.storeChunk(hash, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ContainerMetricsResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ContainerStatusResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics.ContainerMetricsSampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/containers")
+public class ContainerController {
+    @Autowired
+    private ContainerStateIndex containerStateIndex;
+
+    @Autowired
+    private ContainerMetricsSampler containerMetricsSampler;
+
+    @GetMapping
+    public ResponseEntity<List<ContainerStatusResponse>> list(@PathVariable String serverId) {
+        List<ContainerStatusResponse> containers = containerStateIndex.byServer(serverId).stream()
+                .sorted(Comparator.comparing(ContainerState::name, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(state -> new ContainerStatusResponse(state.id(), state.name(), state.image(), state.state(),
+                        state.health(), state.updatedAt()))
+                .toList();
+        return ResponseEntity.ok()
+                .header("X-Container-Index-Synced", String.valueOf(containerStateIndex.isSynced()))
+                .body(containers);
+    }
+
+    @GetMapping("/{containerId}/metrics")
+    public ResponseEntity<ContainerMetricsResponse> metrics(
+            @PathVariable String serverId,
+            @PathVariable String containerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofMinutes(10));
+        return containerMetricsSampler.range(serverId, containerId, start, end)
+                .map(series -> ResponseEntity.ok(new ContainerMetricsResponse(containerId, series.stepSeconds(),
+                        series.timestamps(), series.cpuPercent(), series.memoryBytes(),
+                        series.rxBytesPerSecond(), series.txBytesPerSecond())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,48 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.DeploymentResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.DeployOrchestrator;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.Deployment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/deployments")
+public class DeploymentController {
+    @Autowired
+    private DeployOrchestrator deployOrchestrator;
+
+    @PostMapping
+    public ResponseEntity<DeploymentResponse> deploy(@PathVariable String serverId,
+                                                     @AuthenticationPrincipal UserDetails user) {
+        Deployment deployment = deployOrchestrator.submit(serverId, user != null ? user.getUsername() : null);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(deployment));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DeploymentResponse>> recent(@PathVariable String serverId,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(deployOrchestrator.recent(serverId, Math.clamp(limit, 1, 100)).stream()
+                .map(DeploymentController::toResponse)
+                .toList());
+    }
+
+    @GetMapping("/{deploymentId}")
+    public ResponseEntity<DeploymentResponse> get(@PathVariable String serverId, @PathVariable UUID deploymentId) {
+        return ResponseEntity.ok(toResponse(deployOrchestrator.get(serverId, deploymentId)));
+    }
+
+    private static DeploymentResponse toResponse(Deployment deployment) {
+        return new DeploymentResponse(deployment.getId(), deployment.getServerId(), deployment.getStatus(),
+                deployment.getStage(), deployment.getRequestedBy(), deployment.getCreatedAt(),
+                deployment.getStartedAt(), deployment.getFinishedAt(), deployment.getError(),
+                deployment.getSupersededBy());
+    }
+}
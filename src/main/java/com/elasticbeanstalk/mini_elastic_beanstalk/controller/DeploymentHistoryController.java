@@ -0,0 +1,50 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.DeploymentEventResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.DeploymentRecordResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.PageResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentEvent;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentRecord;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.DeploymentHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/deployments/history")
+public class DeploymentHistoryController {
+    @Autowired
+    private DeploymentHistoryService deploymentHistoryService;
+
+    @GetMapping
+    public ResponseEntity<PageResponse<DeploymentRecordResponse>> history(@PathVariable String serverId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") int limit) {
+        DeploymentHistoryService.Page<DeploymentRecord> page =
+                deploymentHistoryService.history(serverId, cursor, Math.clamp(limit, 1, 100));
+        return ResponseEntity.ok(new PageResponse<>(page.items().stream()
+                .map(DeploymentHistoryController::toResponse)
+                .toList(), page.nextCursor()));
+    }
+
+    @GetMapping("/{deploymentId}/events")
+    public ResponseEntity<PageResponse<DeploymentEventResponse>> events(@PathVariable String serverId,
+                                                                        @PathVariable UUID deploymentId,
+                                                                        @RequestParam(defaultValue = "0") long after,
+                                                                        @RequestParam(defaultValue = "100") int limit) {
+        DeploymentHistoryService.Page<DeploymentEvent> page =
+                deploymentHistoryService.events(serverId, deploymentId, after, Math.clamp(limit, 1, 500));
+        return ResponseEntity.ok(new PageResponse<>(page.items().stream()
+                .map(event -> new DeploymentEventResponse(event.getId(), event.getType(), event.getStage(),
+                        event.getMessage(), event.getOccurredAt()))
+                .toList(), page.nextCursor()));
+    }
+
+    private static DeploymentRecordResponse toResponse(DeploymentRecord record) {
+        return new DeploymentRecordResponse(record.getPublicId(), record.getServerId(), record.getStatus(),
+                record.getLastStage(), record.getRequestedBy(), record.getImages(), record.getError(),
+                record.getSupersededBy(), record.getCreatedAt(), record.getStartedAt(), record.getFinishedAt());
+    }
+}
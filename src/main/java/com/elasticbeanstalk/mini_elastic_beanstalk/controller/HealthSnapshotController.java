@@ -0,0 +1,46 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ServerHealthResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.TargetHealthResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.health.HealthProber;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.health.TargetHealth;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.health.TargetStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/health")
+public class HealthSnapshotController {
+    @Autowired
+    private HealthProber healthProber;
+
+    @GetMapping
+    public ResponseEntity<ServerHealthResponse> health(@PathVariable String serverId) {
+        List<TargetHealth> targets = healthProber.snapshot(serverId);
+        int up = 0;
+        int down = 0;
+        for (TargetHealth target : targets) {
+            if (target.status() == TargetStatus.HEALTHY) {
+                up++;
+            } else if (target.status() == TargetStatus.UNHEALTHY) {
+                down++;
+            }
+        }
+        String status = down > 0 ? "DOWN" : up > 0 ? "UP" : "UNKNOWN";
+        return ResponseEntity.ok(new ServerHealthResponse(serverId, status, up, down, targets.size() - up - down,
+                targets.stream().map(HealthSnapshotController::toResponse).toList()));
+    }
+
+    private static TargetHealthResponse toResponse(TargetHealth health) {
+        return new TargetHealthResponse(health.target().containerId(), health.target().name(),
+                health.target().kind().name(), health.target().endpoint(), health.status().name(),
+                health.consecutiveFailures(), health.latency() != null ? health.latency().toMillis() : null,
+                health.error(), health.checkedAt(), health.changedAt(), health.interval().toMillis());
+    }
+}
@@ -0,0 +1,27 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ImagePullResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ImageManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+    @Autowired
+    private ImageManager imageManager;
+
+    @GetMapping("/pulls")
+    public ResponseEntity<List<ImagePullResponse>> pulls() {
+        return ResponseEntity.ok(imageManager.inFlight().stream()
+                .map(pull -> new ImagePullResponse(pull.reference(), pull.status(), pull.isPrefetch(),
+                        pull.waiters(), pull.layerCount(), pull.downloadedBytes(), pull.totalBytes(),
+                        pull.startedAt()))
+                .toList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ArchivedLogResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidLogQueryException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.ArchivedLogLine;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.LogArchive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/logs")
+public class LogArchiveController {
+
+    private static final int MAX_LIMIT = 10_000;
+
+    @Autowired
+    private LogArchive logArchive;
+
+    @GetMapping
+    public ResponseEntity<List<String>> containers(@PathVariable String serverId) {
+        return ResponseEntity.ok(logArchive.containers(serverId));
+    }
+
+    @GetMapping("/{containerId}")
+    public ResponseEntity<ArchivedLogResponse> query(
+            @PathVariable String serverId,
+            @PathVariable String containerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String contains,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidLogQueryException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofHours(1));
+
+        List<ArchivedLogLine> lines = logArchive.query(serverId, containerId, start, end, contains, limit + 1);
+        boolean truncated = lines.size() > limit;
+        List<ArchivedLogResponse.Line> body = lines.stream()
+                .limit(limit)
+                .map(line -> new ArchivedLogResponse.Line(line.timestamp(), line.stream().wireName(), line.text()))
+                .toList();
+        return ResponseEntity.ok(new ArchivedLogResponse(containerId, body, truncated));
+    }
+}
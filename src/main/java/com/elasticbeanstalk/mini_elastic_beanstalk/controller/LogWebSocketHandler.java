@@ -0,0 +1,31 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.LogStreamHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+@Component
+public class LogWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String CONTAINER_ID = "containerId";
+
+    @Autowired
+    private LogStreamHub logStreamHub;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        logStreamHub.subscribe(containerId(session), session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        logStreamHub.unsubscribe(containerId(session), session);
+    }
+
+    private static String containerId(WebSocketSession session) {
+        return (String) session.getAttributes().get(CONTAINER_ID);
+    }
+}
@@ -0,0 +1,47 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.ProxyRouteRequest;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ProxyRouteResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy.ProxyRoute;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy.ProxyRoutingTable;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/routes")
+public class ProxyRouteController {
+    @Autowired
+    private ProxyRoutingTable routingTable;
+
+    @GetMapping
+    public ResponseEntity<ProxyRouteResponse> get(@PathVariable String serverId) {
+        ProxyRoute route = routingTable.route(serverId);
+        return route != null ? ResponseEntity.ok(toResponse(route)) : ResponseEntity.notFound().build();
+    }
+
+    // troca atômica do conjunto ativo (blue/green) ou dos pesos (canário)
+    @PutMapping
+    public ResponseEntity<ProxyRouteResponse> switchTo(@PathVariable String serverId,
+                                                       @Valid @RequestBody ProxyRouteRequest request) {
+        ProxyRoute route = routingTable.switchTo(serverId, request.upstreams().stream()
+                .map(target -> new ProxyRoutingTable.Target(target.container(), target.port(), target.weight()))
+                .toList());
+        return ResponseEntity.ok(toResponse(route));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> remove(@PathVariable String serverId) {
+        return routingTable.remove(serverId) != null
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static ProxyRouteResponse toResponse(ProxyRoute route) {
+        return new ProxyRouteResponse(route.serverId(), route.upstreams().stream()
+                .map(upstream -> new ProxyRouteResponse.Target(upstream.containerId(), upstream.url().toString(),
+                        upstream.weight()))
+                .toList(), route.switchedAt());
+    }
+}
@@ -0,0 +1,35 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ScalingDecisionResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ScalingDecision;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ScalingDecisionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers/{serverId}/scaling")
+public class ScalingController {
+    @Autowired
+    private ScalingDecisionRepository scalingDecisionRepository;
+
+    @GetMapping("/decisions")
+    public ResponseEntity<List<ScalingDecisionResponse>> decisions(@PathVariable String serverId,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(scalingDecisionRepository
+                .findByServerIdOrderByDecidedAtDesc(serverId, PageRequest.of(0, Math.clamp(limit, 1, 100)))
+                .stream()
+                .map(ScalingController::toResponse)
+                .toList());
+    }
+
+    private static ScalingDecisionResponse toResponse(ScalingDecision decision) {
+        return new ScalingDecisionResponse(decision.getId(), decision.getService(), decision.getDirection(),
+                decision.getFromReplicas(), decision.getToReplicas(), decision.getCpuPercent(),
+                decision.getMemoryBytes(), decision.getRequestRate(), decision.getReason(),
+                decision.isSucceeded(), decision.getError(), decision.getDecidedAt());
+    }
+}
@@ -0,0 +1,34 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.controller;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.PageResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ServerResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.Server;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ServerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/servers")
+public class ServerController {
+    @Autowired
+    private ServerRepository serverRepository;
+
+    // keyset pelo server_id (único): o cursor é o último id da página
+    @GetMapping
+    public ResponseEntity<PageResponse<ServerResponse>> list(@RequestParam(required = false) String after,
+                                                             @RequestParam(defaultValue = "50") int limit) {
+        int size = Math.clamp(limit, 1, 200);
+        List<Server> servers = after == null
+                ? serverRepository.findAllByOrderByServerId(Limit.of(size))
+                : serverRepository.findByServerIdGreaterThanOrderByServerId(after, Limit.of(size));
+        String next = servers.size() < size ? null : servers.getLast().getServerId();
+        return ResponseEntity.ok(new PageResponse<>(servers.stream()
+                .map(server -> new ServerResponse(server.getServerId(), server.getLastStatus(),
+                        server.getLastDeployedAt(), server.getCreatedAt()))
+                .toList(), next));
+    }
+}
@@ -0,0 +1,22 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.List;
+
+public record ArtifactManifestRequest(@NotNull
+                                      @NotEmpty
+                                      List<@Valid ManifestFile> files) {
+
+    public record ManifestFile(@NotBlank
+                               String path,
+                               @NotNull
+                               @Pattern(regexp = "[0-9a-f]{64}")
+                               String sha256,
+                               List<@Pattern(regexp = "[0-9a-f]{64}") String> chunks) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record MissingBlobsRequest(@NotNull
+                                  List<String> hashes) {
+}
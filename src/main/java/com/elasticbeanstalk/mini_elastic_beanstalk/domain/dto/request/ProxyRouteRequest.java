@@ -0,0 +1,25 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ProxyRouteRequest(@NotNull
+                                @NotEmpty
+                                List<@Valid Target> upstreams) {
+
+    // container do próprio servidor (id ou nome da réplica); o endereço é resolvido pelo painel
+    public record Target(@NotBlank
+                         String container,
+                         @Min(1)
+                         @Max(65535)
+                         Integer port,
+                         @Min(0)
+                         int weight) {
+    }
+}
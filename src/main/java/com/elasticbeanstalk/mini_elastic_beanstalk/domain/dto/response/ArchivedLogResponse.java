@@ -0,0 +1,10 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ArchivedLogResponse(String containerId, List<Line> lines, boolean truncated) {
+
+    public record Line(Instant timestamp, String stream, String text) {
+    }
+}
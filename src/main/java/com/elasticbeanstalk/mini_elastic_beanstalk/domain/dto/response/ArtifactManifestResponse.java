@@ -0,0 +1,4 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+public record ArtifactManifestResponse(String serverId, int files, int reusedFiles, int assembledFiles) {
+}
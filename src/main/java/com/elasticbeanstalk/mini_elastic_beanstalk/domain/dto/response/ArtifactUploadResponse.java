@@ -0,0 +1,11 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ArtifactFormat;
+
+public record ArtifactUploadResponse(String serverId,
+                                     String fileName,
+                                     ArtifactFormat format,
+                                     String sha256,
+                                     long size,
+                                     int entries) {
+}
@@ -0,0 +1,10 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+public record ContainerMetricsResponse(String containerId,
+                                       long stepSeconds,
+                                       long[] timestamps,
+                                       double[] cpuPercent,
+                                       double[] memoryBytes,
+                                       double[] rxBytesPerSecond,
+                                       double[] txBytesPerSecond) {
+}
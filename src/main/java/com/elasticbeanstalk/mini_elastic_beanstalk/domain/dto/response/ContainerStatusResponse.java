@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.time.Instant;
+
+public record ContainerStatusResponse(String id, String name, String image, String state, String health,
+                                      Instant updatedAt) {
+}
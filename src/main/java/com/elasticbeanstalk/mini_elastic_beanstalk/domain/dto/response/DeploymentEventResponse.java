@@ -0,0 +1,13 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentEventType;
+
+import java.time.LocalDateTime;
+
+public record DeploymentEventResponse(Long id,
+                                      DeploymentEventType type,
+                                      DeployStage stage,
+                                      String message,
+                                      LocalDateTime occurredAt) {
+}
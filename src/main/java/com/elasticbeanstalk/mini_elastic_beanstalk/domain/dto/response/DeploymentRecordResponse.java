@@ -0,0 +1,20 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DeploymentRecordResponse(UUID id,
+                                       String serverId,
+                                       DeploymentStatus status,
+                                       DeployStage lastStage,
+                                       String requestedBy,
+                                       String images,
+                                       String error,
+                                       UUID supersededBy,
+                                       LocalDateTime createdAt,
+                                       LocalDateTime startedAt,
+                                       LocalDateTime finishedAt) {
+}
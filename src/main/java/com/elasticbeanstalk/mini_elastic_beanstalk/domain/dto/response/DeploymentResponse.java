@@ -0,0 +1,19 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record DeploymentResponse(UUID id,
+                                 String serverId,
+                                 DeploymentStatus status,
+                                 DeployStage stage,
+                                 String requestedBy,
+                                 Instant createdAt,
+                                 Instant startedAt,
+                                 Instant finishedAt,
+                                 String error,
+                                 UUID supersededBy) {
+}
@@ -0,0 +1,13 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.time.Instant;
+
+public record ImagePullResponse(String reference,
+                                String status,
+                                boolean prefetch,
+                                int waiters,
+                                int layers,
+                                long downloadedBytes,
+                                long totalBytes,
+                                Instant startedAt) {
+}
@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.util.List;
+
+public record MissingBlobsResponse(List<String> missing) {
+}
@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.util.List;
+
+// nextCursor nulo: última página
+public record PageResponse<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ProxyRouteResponse(String serverId,
+                                 List<Target> upstreams,
+                                 Instant switchedAt) {
+
+    public record Target(String containerId, String url, int weight) {
+    }
+}
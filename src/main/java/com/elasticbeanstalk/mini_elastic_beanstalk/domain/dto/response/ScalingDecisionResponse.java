@@ -0,0 +1,19 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ScalingDirection;
+
+import java.time.LocalDateTime;
+
+public record ScalingDecisionResponse(Long id,
+                                      String service,
+                                      ScalingDirection direction,
+                                      int fromReplicas,
+                                      int toReplicas,
+                                      Double cpuPercent,
+                                      Double memoryBytes,
+                                      Double requestRate,
+                                      String reason,
+                                      boolean succeeded,
+                                      String error,
+                                      LocalDateTime decidedAt) {
+}
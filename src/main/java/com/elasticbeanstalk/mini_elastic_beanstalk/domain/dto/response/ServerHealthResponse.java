@@ -0,0 +1,11 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.util.List;
+
+public record ServerHealthResponse(String serverId,
+                                   String status,
+                                   int up,
+                                   int down,
+                                   int unknown,
+                                   List<TargetHealthResponse> targets) {
+}
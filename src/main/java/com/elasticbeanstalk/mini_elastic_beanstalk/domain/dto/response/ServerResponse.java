@@ -0,0 +1,11 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+
+import java.time.LocalDateTime;
+
+public record ServerResponse(String serverId,
+                             DeploymentStatus lastStatus,
+                             LocalDateTime lastDeployedAt,
+                             LocalDateTime createdAt) {
+}
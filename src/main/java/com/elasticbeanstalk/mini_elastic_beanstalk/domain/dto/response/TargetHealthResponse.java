@@ -0,0 +1,16 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response;
+
+import java.time.Instant;
+
+public record TargetHealthResponse(String containerId,
+                                   String name,
+                                   String kind,
+                                   String endpoint,
+                                   String status,
+                                   int consecutiveFailures,
+                                   Long latencyMs,
+                                   String error,
+                                   Instant checkedAt,
+                                   Instant changedAt,
+                                   long intervalMs) {
+}
@@ -0,0 +1,34 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blobs")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "hash")
+@Builder
+public class ArtifactBlob {
+
+    @Id
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    private BlobKind kind;
+
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+}
@@ -0,0 +1,42 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "deployment_events")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class DeploymentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployment_events_seq")
+    @SequenceGenerator(name = "deployment_events_seq", sequenceName = "deployment_events_seq", allocationSize = 50)
+    private Long id;
+
+    // só o id: gravar um evento não precisa carregar o deploy
+    @Column(name = "deployment_id", nullable = false)
+    private Long deploymentId;
+
+    @Column(name = "server_id", nullable = false)
+    private String serverId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeploymentEventType type;
+
+    @Enumerated(EnumType.STRING)
+    private DeployStage stage;
+
+    private String message;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,58 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "deployments")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class DeploymentRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployments_seq")
+    @SequenceGenerator(name = "deployments_seq", sequenceName = "deployments_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "public_id", nullable = false, unique = true, updatable = false)
+    private UUID publicId;
+
+    @Column(name = "server_id", nullable = false)
+    private String serverId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeploymentStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_stage")
+    private DeployStage lastStage;
+
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    // separadas por vírgula; só para exibição
+    private String images;
+
+    private String error;
+
+    @Column(name = "superseded_by")
+    private UUID supersededBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,56 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ScalingDirection;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scaling_decisions")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class ScalingDecision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "server_id", nullable = false)
+    private String serverId;
+
+    @Column(nullable = false)
+    private String service;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScalingDirection direction;
+
+    @Column(name = "from_replicas", nullable = false)
+    private int fromReplicas;
+
+    @Column(name = "to_replicas", nullable = false)
+    private int toReplicas;
+
+    @Column(name = "cpu_percent")
+    private Double cpuPercent;
+
+    @Column(name = "memory_bytes")
+    private Double memoryBytes;
+
+    @Column(name = "request_rate")
+    private Double requestRate;
+
+    @Column(nullable = false)
+    private String reason;
+
+    private boolean succeeded;
+
+    private String error;
+
+    @Column(name = "decided_at", nullable = false)
+    private LocalDateTime decidedAt;
+}
@@ -0,0 +1,35 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "servers")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class Server {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servers_seq")
+    @SequenceGenerator(name = "servers_seq", sequenceName = "servers_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "server_id", nullable = false, unique = true)
+    private String serverId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_status")
+    private DeploymentStatus lastStatus;
+
+    @Column(name = "last_deployed_at")
+    private LocalDateTime lastDeployedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
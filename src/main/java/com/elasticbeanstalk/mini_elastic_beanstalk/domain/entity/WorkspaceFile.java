@@ -0,0 +1,20 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "workspace_files")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class WorkspaceFile {
+
+    @EmbeddedId
+    private WorkspaceFileId id;
+
+    @Column(name = "blob_hash", nullable = false)
+    private String blobHash;
+}
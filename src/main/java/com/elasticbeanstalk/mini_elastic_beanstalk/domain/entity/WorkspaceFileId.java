@@ -0,0 +1,20 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class WorkspaceFileId implements Serializable {
+
+    @Column(name = "server_id")
+    private String serverId;
+
+    private String path;
+}
@@ -0,0 +1,20 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+import java.util.Locale;
+
+public enum ArtifactFormat {
+    ZIP,
+    TAR_GZ,
+    RAW;
+
+    public static ArtifactFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".zip")) {
+            return ZIP;
+        }
+        if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+            return TAR_GZ;
+        }
+        return RAW;
+    }
+}
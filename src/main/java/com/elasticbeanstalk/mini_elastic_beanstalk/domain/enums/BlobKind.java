@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+public enum BlobKind {
+    FILE,
+    CHUNK
+}
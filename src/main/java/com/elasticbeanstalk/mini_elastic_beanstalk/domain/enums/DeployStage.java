@@ -0,0 +1,9 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+public enum DeployStage {
+    EXTRACT,
+    COMPOSE,
+    PULL,
+    CREATE,
+    START
+}
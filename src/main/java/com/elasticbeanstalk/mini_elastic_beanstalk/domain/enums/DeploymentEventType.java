@@ -0,0 +1,10 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+public enum DeploymentEventType {
+    QUEUED,
+    STARTED,
+    STAGE,
+    SUCCEEDED,
+    FAILED,
+    SUPERSEDED
+}
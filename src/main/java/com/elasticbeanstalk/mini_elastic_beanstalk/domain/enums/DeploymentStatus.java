@@ -0,0 +1,13 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+public enum DeploymentStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    SUPERSEDED;
+
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED || this == SUPERSEDED;
+    }
+}
@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums;
+
+public enum RequestPriority {
+    LOW,
+    NORMAL,
+    HIGH
+}
@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class ArtifactTooLargeException extends RuntimeException {
+
+    public ArtifactTooLargeException(String message) {
+        super(message);
+    }
+}
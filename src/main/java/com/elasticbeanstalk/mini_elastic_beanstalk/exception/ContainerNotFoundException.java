@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class ContainerNotFoundException extends RuntimeException {
+
+    public ContainerNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class DeployStageException extends RuntimeException {
+
+    public DeployStageException(String message) {
+        super(message);
+    }
+
+    public DeployStageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
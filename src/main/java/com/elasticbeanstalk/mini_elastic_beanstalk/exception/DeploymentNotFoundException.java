@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class DeploymentNotFoundException extends RuntimeException {
+
+    public DeploymentNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class DockerUnavailableException extends RuntimeException {
+
+    public DockerUnavailableException(String message) {
+        super(message);
+    }
+
+    public DockerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,69 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<ProblemDetail> handlePasswordHashingSaturated(PasswordHashingSaturatedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(DockerUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleDockerUnavailable(DockerUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ArtifactTooLargeException.class)
+    public ResponseEntity<ProblemDetail> handleArtifactTooLarge(ArtifactTooLargeException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidArtifactException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidArtifact(InvalidArtifactException ex) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidLogQueryException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidLogQuery(InvalidLogQueryException ex) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidProxyRouteException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidProxyRoute(InvalidProxyRouteException ex) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(DeploymentNotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleDeploymentNotFound(DeploymentNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage()));
+    }
+
+    @ExceptionHandler(MissingChunksException.class)
+    public ResponseEntity<ProblemDetail> handleMissingChunks(MissingChunksException ex) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+        problem.setProperty("missingChunks", ex.getMissingChunks());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+}
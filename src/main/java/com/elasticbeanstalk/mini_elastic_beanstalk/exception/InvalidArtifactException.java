@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class InvalidArtifactException extends RuntimeException {
+
+    public InvalidArtifactException(String message) {
+        super(message);
+    }
+
+    public InvalidArtifactException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
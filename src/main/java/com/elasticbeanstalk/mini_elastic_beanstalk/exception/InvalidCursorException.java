@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
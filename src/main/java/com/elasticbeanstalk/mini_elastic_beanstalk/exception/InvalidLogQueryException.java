@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class InvalidLogQueryException extends RuntimeException {
+
+    public InvalidLogQueryException(String message) {
+        super(message);
+    }
+}
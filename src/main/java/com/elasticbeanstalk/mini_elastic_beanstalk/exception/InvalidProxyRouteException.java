@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class InvalidProxyRouteException extends RuntimeException {
+
+    public InvalidProxyRouteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class MissingChunksException extends RuntimeException {
+
+    private final List<String> missingChunks;
+
+    public MissingChunksException(List<String> missingChunks) {
+        super("Chunks ausentes: " + missingChunks.size());
+        this.missingChunks = missingChunks;
+    }
+}
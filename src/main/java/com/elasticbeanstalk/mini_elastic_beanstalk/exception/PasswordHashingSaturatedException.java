@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.exception;
+
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    public PasswordHashingSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
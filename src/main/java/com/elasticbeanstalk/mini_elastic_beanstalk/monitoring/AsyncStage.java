@@ -0,0 +1,47 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+/**
+ * Etapa que roda em outra thread (fila + execução). A outra thread só escreve
+ * aqui; {@link StageTimings} soma os tempos no fim da requisição, na thread
+ * dela. Um objeto por submissão, nunca reaproveitado: a thread atrasada de uma
+ * requisição encerrada não tem como escrever nos tempos de outra.
+ */
+public final class AsyncStage {
+
+    private final RequestStage queued;
+    private final RequestStage running;
+    private final long submittedAt = System.nanoTime();
+    private long startedAt;
+    // -1 até a etapa acontecer; escritas voláteis publicam startedAt para quem lê
+    private volatile long queuedNanos = -1;
+    private volatile long runningNanos = -1;
+
+    AsyncStage(RequestStage queued, RequestStage running) {
+        this.queued = queued;
+        this.running = running;
+    }
+
+    public void started() {
+        startedAt = System.nanoTime();
+        queuedNanos = startedAt - submittedAt;
+    }
+
+    public void finished() {
+        runningNanos = System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Soma só o que já aconteceu: tarefa ainda na fila ou rodando (timeout,
+     * cliente que desconectou) fica de fora.
+     */
+    void addTo(StageTimings timings) {
+        long run = runningNanos;
+        long queue = queuedNanos;
+        if (queue >= 0) {
+            timings.add(queued, queue);
+        }
+        if (run >= 0) {
+            timings.add(running, run);
+        }
+    }
+}
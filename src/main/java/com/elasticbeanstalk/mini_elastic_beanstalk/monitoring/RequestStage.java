@@ -0,0 +1,26 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+/**
+ * Etapas medidas por requisição. Podem se sobrepor: REPOSITORY inclui o
+ * CONNECTION_WAIT quando o repositório abre a própria transação.
+ */
+public enum RequestStage {
+    JWT_VERIFY("jwt-verify"),
+    PRINCIPAL("principal"),
+    CONNECTION_WAIT("connection-wait"),
+    REPOSITORY("repository"),
+    HASH_QUEUE("hash-queue"),
+    HASH("hash");
+
+    static final RequestStage[] VALUES = values();
+
+    private final String tag;
+
+    RequestStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,60 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre a medição por etapas da requisição e a exporta no fim. Em requisições
+ * assíncronas (login devolve CompletableFuture) o objeto segue no atributo e
+ * é exportado no fim do dispatch assíncrono.
+ */
+public class StageTimingFilter extends OncePerRequestFilter {
+
+    public static final String ATTRIBUTE = StageTimings.class.getName();
+
+    private final StageTimingRecorder recorder;
+
+    public StageTimingFilter(StageTimingRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StageTimings timings = (StageTimings) request.getAttribute(ATTRIBUTE);
+        if (timings == null && !isAsyncDispatch(request)) {
+            timings = recorder.begin();
+            if (timings != null) {
+                request.setAttribute(ATTRIBUTE, timings);
+            }
+        }
+        if (timings == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        StageTimings previous = StageTimings.attach(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StageTimings.restore(previous);
+            if (!request.isAsyncStarted()) {
+                request.removeAttribute(ATTRIBUTE);
+                recorder.finish(timings, request.getMethod(),
+                        (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        response.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.StageTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dono do pool de {@link StageTimings} e da exportação: um Timer por etapa e
+ * rota ({@code http.server.stage}, com buckets de SLO) e log estruturado das
+ * requisições lentas. Fora o log de requisição lenta e o primeiro uso de uma
+ * rota, nada aqui aloca.
+ */
+@Slf4j
+public class StageTimingRecorder {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StageTimingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slo;
+    private final long slowThresholdNanos;
+    private final ArrayBlockingQueue<StageTimings> pool;
+    private final ConcurrentHashMap<String, Timer[]> timersByUri = new ConcurrentHashMap<>();
+
+    public StageTimingRecorder(StageTimingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slo = properties.slo().toArray(Duration[]::new);
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, properties.poolSize()));
+    }
+
+    /**
+     * Retorna null se a requisição ficou fora da amostragem.
+     */
+    public StageTimings begin() {
+        double rate = properties.sampleRate();
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return null;
+        }
+        StageTimings timings = pool.poll();
+        if (timings == null) {
+            timings = new StageTimings();
+        }
+        timings.reset();
+        return timings;
+    }
+
+    public void finish(StageTimings timings, String method, String uri, int status) {
+        long elapsed = timings.elapsedNanos();
+        timings.collectAsync();
+        String route = uri != null ? uri : UNKNOWN_URI;
+        Timer[] timers = timersByUri.get(route);
+        if (timers == null) {
+            timers = timersByUri.computeIfAbsent(route, this::timers);
+        }
+        for (RequestStage stage : RequestStage.VALUES) {
+            if (timings.count(stage) > 0) {
+                timers[stage.ordinal()].record(timings.nanos(stage), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (elapsed >= slowThresholdNanos) {
+            logSlow(timings, method, route, status, elapsed);
+        }
+        pool.offer(timings);
+    }
+
+    private Timer[] timers(String uri) {
+        Timer[] timers = new Timer[RequestStage.VALUES.length];
+        for (RequestStage stage : RequestStage.VALUES) {
+            timers[stage.ordinal()] = Timer.builder("http.server.stage")
+                    .description("Tempo gasto em cada etapa de uma requisição")
+                    .tag("stage", stage.tag())
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(slo)
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+
+    private void logSlow(StageTimings timings, String method, String uri, int status, long elapsed) {
+        StringBuilder breakdown = new StringBuilder();
+        LoggingEventBuilder event = log.atWarn()
+                .addKeyValue("method", method)
+                .addKeyValue("uri", uri)
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", millis(elapsed));
+        for (RequestStage stage : RequestStage.VALUES) {
+            if (timings.count(stage) > 0) {
+                double ms = millis(timings.nanos(stage));
+                event.addKeyValue("stage." + stage.tag() + "Ms", ms);
+                breakdown.append(breakdown.isEmpty() ? "" : " ").append(stage.tag()).append('=').append(ms).append("ms");
+            }
+        }
+        event.log("Requisição lenta {} {} ({}) em {}ms: {}", method, uri, status, millis(elapsed),
+                breakdown.isEmpty() ? "sem etapas medidas" : breakdown);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
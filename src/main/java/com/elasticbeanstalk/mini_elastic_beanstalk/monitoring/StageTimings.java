@@ -0,0 +1,107 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Tempos por etapa de uma requisição. Os objetos vêm de um pool do
+ * {@link StageTimingRecorder} e ficam num atributo da requisição; a thread que
+ * a atende também os vê por {@link #current()}. Medir uma etapa não aloca:
+ *
+ * <pre>
+ * long start = StageTimings.start();
+ * try { ... } finally { StageTimings.stop(RequestStage.REPOSITORY, start); }
+ * </pre>
+ *
+ * Em trabalho assíncrono, registre a etapa com {@link #async} antes de submeter;
+ * a outra thread nunca escreve diretamente aqui, porque este objeto volta ao
+ * pool quando a requisição acaba, mesmo que a tarefa ainda não tenha terminado.
+ */
+public final class StageTimings {
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[RequestStage.VALUES.length];
+    private final int[] counts = new int[RequestStage.VALUES.length];
+    private final ArrayList<AsyncStage> asyncStages = new ArrayList<>(2);
+    private long startedAt;
+
+    StageTimings() {
+    }
+
+    public static StageTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Retorna 0 se a requisição não está sendo amostrada; aí o stop não faz nada.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void stop(RequestStage stage, long start) {
+        if (start == 0) {
+            return;
+        }
+        StageTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void add(RequestStage stage, long elapsedNanos) {
+        nanos[stage.ordinal()] += elapsedNanos;
+        counts[stage.ordinal()]++;
+    }
+
+    /**
+     * Chamado na thread da requisição; os tempos entram em {@link #collectAsync}.
+     */
+    public AsyncStage async(RequestStage queued, RequestStage running) {
+        AsyncStage stage = new AsyncStage(queued, running);
+        asyncStages.add(stage);
+        return stage;
+    }
+
+    void collectAsync() {
+        for (AsyncStage stage : asyncStages) {
+            stage.addTo(this);
+        }
+        asyncStages.clear();
+    }
+
+    public long nanos(RequestStage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    public int count(RequestStage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Associa à thread atual e retorna o que estava associado, para restaurar
+     * com {@link #restore}. Não usa remove(): manter a entrada no ThreadLocalMap
+     * evita uma alocação por requisição.
+     */
+    public static StageTimings attach(StageTimings timings) {
+        StageTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    public static void restore(StageTimings previous) {
+        CURRENT.set(previous);
+    }
+
+    void reset() {
+        Arrays.fill(nanos, 0);
+        Arrays.fill(counts, 0);
+        asyncStages.clear();
+        startedAt = System.nanoTime();
+    }
+}
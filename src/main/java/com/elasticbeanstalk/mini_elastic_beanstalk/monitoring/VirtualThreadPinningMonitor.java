@@ -0,0 +1,137 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_TRACKED_SITES = 50;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning.threshold:20ms}") Duration threshold
+    ) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Eventos de pinning de virtual threads acima do threshold")
+                .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Monitor de pinning de virtual threads ativo (threshold {})", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public PinningSnapshot snapshot() {
+        Map<String, Long> topSites = new LinkedHashMap<>();
+        pinnedBySite.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(10)
+                .forEach(e -> topSites.put(e.getKey(), e.getValue().sum()));
+
+        return new PinningSnapshot(
+                threshold.toMillis(),
+                pinnedEvents.sum(),
+                Duration.ofNanos(pinnedNanos.sum()).toMillis(),
+                Duration.ofNanos(maxPinnedNanos.get()).toMillis(),
+                topSites
+        );
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedEvents.increment();
+        pinnedNanos.add(nanos);
+        maxPinnedNanos.accumulateAndGet(nanos, Math::max);
+        pinnedCounter.increment();
+        pinnedTimer.record(event.getDuration());
+
+        String site = site(event);
+        LongAdder counter = pinnedBySite.get(site);
+        if (counter == null && pinnedBySite.size() < MAX_TRACKED_SITES) {
+            counter = pinnedBySite.computeIfAbsent(site, k -> new LongAdder());
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static String site(RecordedEvent event) {
+        String reason = event.hasField("pinnedReason") ? event.getString("pinnedReason") : null;
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frame = "desconhecido";
+        if (stackTrace != null) {
+            for (RecordedFrame recordedFrame : stackTrace.getFrames()) {
+                String type = recordedFrame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    frame = type + "." + recordedFrame.getMethod().getName() + ":" + recordedFrame.getLineNumber();
+                    break;
+                }
+            }
+        }
+        return reason != null ? frame + " (" + reason + ")" : frame;
+    }
+
+    public record PinningSnapshot(
+            long thresholdMillis,
+            long pinnedEvents,
+            long totalPinnedMillis,
+            long maxPinnedMillis,
+            Map<String, Long> topPinnedSites
+    ) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.util.ConnectionLimitingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "virtualthreads")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsEndpoint {
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired
+    private ObjectProvider<DataSource> dataSource;
+
+    @ReadOperation
+    public Map<String, Object> virtualThreads() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("pinning", pinningMonitor.snapshot());
+
+        ConnectionLimitingDataSource limiter = limiter(dataSource.getIfAvailable());
+        if (limiter != null) {
+            body.put("datasource", Map.of(
+                    "maxConnections", limiter.getMaxConnections(),
+                    "availablePermits", limiter.getAvailablePermits(),
+                    "waitingThreads", limiter.getQueueLength()
+            ));
+        }
+        return body;
+    }
+
+    // pode estar embrulhado por outros DelegatingDataSource (ex.: medição de espera por conexão)
+    private static ConnectionLimitingDataSource limiter(DataSource dataSource) {
+        try {
+            return dataSource != null && dataSource.isWrapperFor(ConnectionLimitingDataSource.class)
+                    ? dataSource.unwrap(ConnectionLimitingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
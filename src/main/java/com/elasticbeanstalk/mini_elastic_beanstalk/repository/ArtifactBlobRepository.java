@@ -0,0 +1,40 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ArtifactBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArtifactBlobRepository extends JpaRepository<ArtifactBlob, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO blobs (hash, kind, size, ref_count, created_at, last_referenced_at)
+            VALUES (:hash, :kind, :size, 0, now(), now())
+            ON CONFLICT (hash) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("kind") String kind, @Param("size") long size);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE blobs SET ref_count = ref_count + :delta, last_referenced_at = now()
+            WHERE hash = :hash
+            """, nativeQuery = true)
+    int adjustRefCount(@Param("hash") String hash, @Param("delta") int delta);
+
+    @Query("select b from ArtifactBlob b where b.refCount <= 0 and b.lastReferencedAt < :before order by b.lastReferencedAt")
+    List<ArtifactBlob> findUnreferencedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM blobs WHERE hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,26 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeploymentEventRepository extends JpaRepository<DeploymentEvent, Long> {
+
+    List<DeploymentEvent> findByDeploymentIdAndIdGreaterThanOrderById(Long deploymentId, long afterId, Limit limit);
+
+    // em lotes, para não segurar locks nem inflar o WAL numa transação só
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM deployment_events
+            WHERE id IN (SELECT id FROM deployment_events WHERE occurred_at < :before LIMIT :batch)
+            """, nativeQuery = true)
+    int deleteOlderThan(@Param("before") LocalDateTime before, @Param("batch") int batch);
+}
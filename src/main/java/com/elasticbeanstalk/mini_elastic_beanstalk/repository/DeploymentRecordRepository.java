@@ -0,0 +1,36 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DeploymentRecordRepository extends JpaRepository<DeploymentRecord, Long> {
+
+    Optional<DeploymentRecord> findByPublicId(UUID publicId);
+
+    // keyset: segue o índice (server_id, created_at DESC, id DESC) sem OFFSET
+    @Query(value = """
+            SELECT * FROM deployments
+            WHERE server_id = :serverId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<DeploymentRecord> findLatest(@Param("serverId") String serverId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM deployments
+            WHERE server_id = :serverId AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<DeploymentRecord> findLatestBefore(@Param("serverId") String serverId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") long id,
+                                            @Param("limit") int limit);
+}
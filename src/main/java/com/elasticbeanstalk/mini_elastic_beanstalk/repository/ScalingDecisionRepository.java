@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ScalingDecision;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ScalingDecisionRepository extends JpaRepository<ScalingDecision, Long> {
+
+    List<ScalingDecision> findByServerIdOrderByDecidedAtDesc(String serverId, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.Server;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ServerRepository extends JpaRepository<Server, Long> {
+
+    Optional<Server> findByServerId(String serverId);
+
+    List<Server> findByServerIdGreaterThanOrderByServerId(String after, Limit limit);
+
+    List<Server> findAllByOrderByServerId(Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO servers (id, server_id, last_status, last_deployed_at, created_at)
+            VALUES (nextval('servers_seq'), :serverId, :status, :deployedAt, now())
+            ON CONFLICT (server_id) DO UPDATE
+            SET last_status = EXCLUDED.last_status, last_deployed_at = EXCLUDED.last_deployed_at
+            WHERE servers.last_deployed_at IS NULL OR servers.last_deployed_at <= EXCLUDED.last_deployed_at
+            """, nativeQuery = true)
+    int recordDeployment(@Param("serverId") String serverId,
+                         @Param("status") String status,
+                         @Param("deployedAt") LocalDateTime deployedAt);
+}
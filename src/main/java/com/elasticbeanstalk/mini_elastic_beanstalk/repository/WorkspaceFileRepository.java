@@ -0,0 +1,27 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.repository;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.WorkspaceFile;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.WorkspaceFileId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WorkspaceFileRepository extends JpaRepository<WorkspaceFile, WorkspaceFileId> {
+
+    List<WorkspaceFile> findByIdServerIdOrderByIdPath(String serverId);
+
+    /**
+     * Lock de transação por servidor: deploys concorrentes do mesmo serverId,
+     * mesmo em instâncias diferentes, calculam os deltas de referência um por vez.
+     */
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(hashtext(:serverId))) AS locked",
+            nativeQuery = true)
+    long lockServer(@Param("serverId") String serverId);
+
+    @Modifying
+    @Query("delete from WorkspaceFile f where f.id.serverId = :serverId")
+    int deleteByServerId(@Param("serverId") String serverId);
+}
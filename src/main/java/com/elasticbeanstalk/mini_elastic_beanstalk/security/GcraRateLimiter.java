@@ -0,0 +1,54 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket na forma GCRA: o estado de cada chave é um único long (o
+ * "theoretical arrival time") atualizado por CAS, sem lock. Chaves ociosas
+ * expiram e o número total de chaves é limitado.
+ */
+@Component
+public class GcraRateLimiter {
+
+    private final Cache<BucketKey, AtomicLong> buckets;
+
+    public GcraRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+        Gauge.builder("http.ratelimit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Retorna 0 se a requisição cabe no orçamento ou, caso contrário, quantos
+     * nanossegundos faltam para caber.
+     */
+    public long tryAcquire(RateLimitProperties.Group group, String subject, long nowNanos) {
+        long interval = (long) (1_000_000_000L / group.requestsPerSecond());
+        long tolerance = interval * Math.max(0, group.burst() - 1);
+
+        AtomicLong arrival = buckets.get(new BucketKey(group.name(), subject), key -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long allowedAt = base - tolerance;
+            if (allowedAt - nowNanos > 0) {
+                return allowedAt - nowNanos;
+            }
+            if (arrival.compareAndSet(current, base + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    private record BucketKey(String group, String subject) {
+    }
+}
@@ -1,7 +1,9 @@
 package com.elasticbeanstalk.mini_elastic_beanstalk.security;
 
-import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.RequestStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimings;
 import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.JwtService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -12,7 +14,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,7 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtService jwtService;
     @Autowired
-    private UserRepository userRepository;
+    private PrincipalResolver principalResolver;
 
     @Value("${app.security.jwt.cookie-name:auth-token}")
     private String cookieName;
@@ -41,12 +42,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                String email = jwtService.extractUsername(token);
+                long verifyStart = StageTimings.start();
+                VerifiedToken verified;
+                try {
+                    verified = jwtService.verify(token);
+                } finally {
+                    StageTimings.stop(RequestStage.JWT_VERIFY, verifyStart);
+                }
+                String email = verified.username();
 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));;
+                    long resolveStart = StageTimings.start();
+                    UserDetails userDetails;
+                    try {
+                        userDetails = principalResolver.resolve(verified);
+                    } finally {
+                        StageTimings.stop(RequestStage.PRINCIPAL, resolveStart);
+                    }
 
-                    if (jwtService.isTokenValid(token, userDetails)) {
+                    if (email.equals(userDetails.getUsername())) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails,
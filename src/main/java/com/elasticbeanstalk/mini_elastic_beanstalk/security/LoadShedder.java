@@ -0,0 +1,87 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.RequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detecta sobrecarga pela latência média móvel (EWMA) e pelo número de
+ * requisições em andamento. Sobrecarregado, recusa as de prioridade baixa;
+ * acima do dobro do limite, também as normais. HIGH nunca é recusada.
+ * Sem amostras novas por um intervalo do limite, a média é descartada; senão,
+ * recusando todo o tráfego, ela nunca baixaria. Só as rotas sensíveis a
+ * latência alimentam a média: um upload lento não é sinal de sobrecarga.
+ */
+@Component
+public class LoadShedder {
+
+    private final boolean enabled;
+    private final long latencyThresholdNanos;
+    private final int maxInFlight;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private volatile long lastSampleNanos = System.nanoTime();
+
+    public LoadShedder(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.Shedding shedding = properties.shedding();
+        this.enabled = shedding.enabled();
+        this.latencyThresholdNanos = shedding.latencyThreshold().toNanos();
+        this.maxInFlight = shedding.maxInFlight();
+        this.smoothing = shedding.smoothing();
+
+        Gauge.builder("http.server.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("http.server.latency.ewma", this, shedder -> shedder.latencyEwmaNanos() / 1e6)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean shouldShed(RequestPriority priority) {
+        if (!enabled || priority == RequestPriority.HIGH) {
+            return false;
+        }
+        double latency = latencyEwmaNanos();
+        int active = inFlight.get();
+        if (priority == RequestPriority.LOW) {
+            return latency > latencyThresholdNanos || active >= maxInFlight;
+        }
+        return latency > 2.0 * latencyThresholdNanos || active >= 2 * maxInFlight;
+    }
+
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finished(long elapsedNanos, boolean sampleLatency) {
+        inFlight.decrementAndGet();
+        if (!sampleLatency) {
+            return;
+        }
+        lastSampleNanos = System.nanoTime();
+        while (true) {
+            long bits = latencyEwmaBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0 ? elapsedNanos : current + smoothing * (elapsedNanos - current);
+            if (latencyEwmaBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(latencyThresholdNanos));
+    }
+
+    double latencyEwmaNanos() {
+        if (System.nanoTime() - lastSampleNanos > latencyThresholdNanos) {
+            return 0;
+        }
+        return Double.longBitsToDouble(latencyEwmaBits.get());
+    }
+}
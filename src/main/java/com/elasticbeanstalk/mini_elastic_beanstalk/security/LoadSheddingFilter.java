@@ -0,0 +1,96 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.RequestPriority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Primeiro filtro da cadeia: recusa cedo, antes de JWT, banco ou BCrypt,
+ * e mede a latência que alimenta o LoadShedder.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private LoadShedder loadShedder;
+    @Autowired
+    private RouteGroupResolver routeGroupResolver;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitProperties.Group group = routeGroupResolver.resolve(request);
+        RequestPriority priority = group != null ? group.priority() : RequestPriority.NORMAL;
+        boolean sampleLatency = group == null || group.sampleLatency();
+        if (loadShedder.shouldShed(priority)) {
+            meterRegistry.counter("http.server.shed", "priority", priority.name().toLowerCase()).increment();
+            ProblemResponses.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Servidor sobrecarregado, tente novamente em instantes", loadShedder.retryAfterSeconds());
+            return;
+        }
+
+        long start = System.nanoTime();
+        loadShedder.started();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new CompletionListener(start, sampleLatency));
+            }
+        } finally {
+            if (!async) {
+                loadShedder.finished(System.nanoTime() - start, sampleLatency);
+            }
+        }
+    }
+
+    private class CompletionListener implements AsyncListener {
+
+        private final long start;
+        private final boolean sampleLatency;
+
+        CompletionListener(long start, boolean sampleLatency) {
+            this.start = start;
+            this.sampleLatency = sampleLatency;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            loadShedder.finished(System.nanoTime() - start, sampleLatency);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+public enum PrincipalMode {
+    DATABASE,
+    CACHED,
+    CLAIMS
+}
@@ -0,0 +1,52 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrincipalResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Value("${app.security.principal.mode:DATABASE}")
+    private PrincipalMode mode;
+
+    public UserDetails resolve(VerifiedToken token) {
+        if (token.userId() == null || token.role() == null) {
+            return loadByEmail(token.username());
+        }
+
+        return switch (mode) {
+            case DATABASE -> loadByEmail(token.username());
+            case CACHED -> loadCached(token);
+            case CLAIMS -> User.builder()
+                    .id(token.userId())
+                    .email(token.username())
+                    .role(token.role())
+                    .build();
+        };
+    }
+
+    private UserDetails loadCached(VerifiedToken token) {
+        UserDetails userDetails = userDetailsCache.get(token.userId());
+        if (!token.username().equals(userDetails.getUsername())) {
+            userDetailsCache.invalidate(token.userId());
+            throw new UsernameNotFoundException("Usuário não encontrado");
+        }
+        return userDetails;
+    }
+
+    private UserDetails loadByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+
+import java.io.IOException;
+
+// filtros respondem antes do DispatcherServlet, fora do alcance do GlobalExceptionHandler
+final class ProblemResponses {
+
+    private ProblemResponses() {
+    }
+
+    static void write(HttpServletResponse response, ObjectMapper objectMapper, HttpStatus status,
+                      String detail, long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ProblemDetail.forStatusAndDetail(status, detail));
+    }
+}
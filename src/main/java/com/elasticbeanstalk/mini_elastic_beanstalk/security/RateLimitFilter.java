@@ -0,0 +1,71 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.RateLimitKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roda depois do JwtAuthenticationFilter para poder usar o id do usuário
+ * como chave; rotas anônimas caem para o IP.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+    @Autowired
+    private RouteGroupResolver routeGroupResolver;
+    @Autowired
+    private GcraRateLimiter rateLimiter;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitProperties.Group group = properties.enabled() ? routeGroupResolver.resolve(request) : null;
+        if (group != null) {
+            long waitNanos = rateLimiter.tryAcquire(group, subject(request, group.key()), System.nanoTime());
+            if (waitNanos > 0) {
+                meterRegistry.counter("http.ratelimit.rejected", "group", group.name()).increment();
+                ProblemResponses.write(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                        "Limite de requisições excedido para " + group.name(),
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String subject(HttpServletRequest request, RateLimitKey key) {
+        if (key == RateLimitKey.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user && user.getId() != null) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
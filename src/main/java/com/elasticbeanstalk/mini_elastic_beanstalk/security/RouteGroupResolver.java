@@ -0,0 +1,49 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Associa a requisição ao primeiro grupo configurado em app.rate-limit.groups
+ * cujo caminho e método batem.
+ */
+@Component
+public class RouteGroupResolver {
+
+    private final List<CompiledGroup> groups;
+
+    public RouteGroupResolver(RateLimitProperties properties) {
+        this.groups = properties.groups().stream()
+                .map(group -> new CompiledGroup(group,
+                        group.paths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                        group.methods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toSet())))
+                .toList();
+    }
+
+    public RateLimitProperties.Group resolve(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledGroup compiled : groups) {
+            if (!compiled.methods().isEmpty() && !compiled.methods().contains(request.getMethod())) {
+                continue;
+            }
+            for (PathPattern pattern : compiled.patterns()) {
+                if (pattern.matches(path)) {
+                    return compiled.group();
+                }
+            }
+        }
+        return null;
+    }
+
+    private record CompiledGroup(RateLimitProperties.Group group, List<PathPattern> patterns, Set<String> methods) {
+    }
+}
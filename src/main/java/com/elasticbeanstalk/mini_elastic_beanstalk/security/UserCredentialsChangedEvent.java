@@ -0,0 +1,4 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+public record UserCredentialsChangedEvent(Long userId) {
+}
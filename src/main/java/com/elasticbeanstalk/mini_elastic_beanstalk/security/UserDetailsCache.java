@@ -0,0 +1,50 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class UserDetailsCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<Long, UserDetails> cache;
+
+    public UserDetailsCache(
+            @Value("${app.security.principal.cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal.cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserDetails get(Long userId) {
+        return cache.get(userId, id -> userRepository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado")));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
@@ -0,0 +1,159 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.ArtifactManifestRequest;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ArtifactManifestResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.WorkspaceFileResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.ArtifactTooLargeException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.MissingChunksException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobReferenceService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobStore;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.StoredBlob;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ArtifactDeltaService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private WorkspaceService workspaceService;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private BlobReferenceService blobReferenceService;
+
+    @Value("${app.storage.blobs.max-chunk-size:8MB}")
+    private DataSize maxChunkSize;
+
+    public List<String> missingChunks(List<String> hashes) {
+        return blobStore.missing(BlobKind.CHUNK, hashes);
+    }
+
+    public StoredBlob storeChunk(String hash, long contentLength, InputStream content) {
+        if (!BlobStore.isValidHash(hash)) {
+            throw new InvalidArtifactException("Hash inválido: " + hash);
+        }
+        long limit = maxChunkSize.toBytes();
+        if (contentLength > limit) {
+            throw new ArtifactTooLargeException("Chunk excede o limite de " + maxChunkSize);
+        }
+        // o writer apaga o arquivo temporário se sair sem commit
+        try (BlobStore.BlobWriter writer = blobStore.open(BlobKind.CHUNK)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new ArtifactTooLargeException("Chunk excede o limite de " + maxChunkSize);
+                }
+                writer.write(buffer, 0, read);
+            }
+            StoredBlob chunk = writer.commit(hash);
+            blobReferenceService.registerChunk(chunk);
+            return chunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ArtifactManifestResponse applyManifest(String serverId, ArtifactManifestRequest request) {
+        // o lease vale até os contadores de referência serem incrementados em replaceWorkspace
+        try (BlobStore.Lease lease = blobStore.lease(referencedHashes(request))) {
+            return apply(serverId, request);
+        }
+    }
+
+    private ArtifactManifestResponse apply(String serverId, ArtifactManifestRequest request) {
+        List<String> missing = new ArrayList<>();
+        for (ArtifactManifestRequest.ManifestFile file : request.files()) {
+            if (!blobStore.exists(BlobKind.FILE, file.sha256())) {
+                if (file.chunks() == null || file.chunks().isEmpty()) {
+                    throw new InvalidArtifactException("Arquivo sem conteúdo no servidor e sem chunks: " + file.path());
+                }
+                missing.addAll(blobStore.missing(BlobKind.CHUNK, file.chunks()));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new MissingChunksException(missing.stream().distinct().toList());
+        }
+
+        Path staging = workspaceService.createStaging(serverId);
+        List<StoredBlob> assembled = new ArrayList<>();
+        try {
+            Map<String, StoredBlob> files = new HashMap<>();
+            int reused = 0;
+
+            for (ArtifactManifestRequest.ManifestFile file : request.files()) {
+                StoredBlob blob;
+                if (blobStore.exists(BlobKind.FILE, file.sha256())) {
+                    blob = new StoredBlob(file.sha256(), BlobKind.FILE, -1);
+                    reused++;
+                } else {
+                    blob = blobStore.assemble(file.chunks(), file.sha256());
+                    assembled.add(blob);
+                }
+
+                Path target = workspaceService.resolveEntry(staging, file.path());
+                Files.createDirectories(target.getParent());
+                blobStore.link(blob.hash(), target);
+                files.put(staging.relativize(target).toString(), blob.size() >= 0
+                        ? blob
+                        : new StoredBlob(blob.hash(), BlobKind.FILE, Files.size(target)));
+            }
+
+            workspaceService.promote(serverId, staging, () -> blobReferenceService.replaceWorkspace(serverId, files));
+            return new ArtifactManifestResponse(serverId, files.size(), reused, assembled.size());
+        } catch (IOException e) {
+            throw discard(staging, assembled, new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            throw discard(staging, assembled, e);
+        }
+    }
+
+    private RuntimeException discard(Path staging, List<StoredBlob> assembled, RuntimeException cause) {
+        try {
+            workspaceService.delete(staging);
+            blobReferenceService.registerUnreferenced(assembled);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+        return cause;
+    }
+
+    private static Set<String> referencedHashes(ArtifactManifestRequest request) {
+        Set<String> hashes = new HashSet<>();
+        for (ArtifactManifestRequest.ManifestFile file : request.files()) {
+            hashes.add(file.sha256());
+            if (file.chunks() != null) {
+                hashes.addAll(file.chunks());
+            }
+        }
+        return hashes;
+    }
+
+    public List<WorkspaceFileResponse> currentManifest(String serverId) {
+        workspaceService.workspace(serverId);
+        return blobReferenceService.workspaceFiles(serverId).stream()
+                .map(file -> new WorkspaceFileResponse(file.getId().getPath(), file.getBlobHash()))
+                .toList();
+    }
+}
@@ -0,0 +1,257 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.ArtifactUploadResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ArtifactFormat;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.ArtifactTooLargeException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobReferenceService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobStore;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.StoredBlob;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+@Service
+public class ArtifactUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private WorkspaceService workspaceService;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private BlobReferenceService blobReferenceService;
+
+    @Value("${app.storage.artifacts.max-size:100MB}")
+    private DataSize maxSize;
+
+    @Value("${app.storage.artifacts.max-extracted-size:1GB}")
+    private DataSize maxExtractedSize;
+
+    @Value("${app.storage.artifacts.max-entries:10000}")
+    private int maxEntries;
+
+    public ArtifactUploadResponse upload(String serverId, String fileName, long contentLength, InputStream body) {
+        String safeName = safeName(fileName);
+        if (contentLength > maxSize.toBytes()) {
+            throw new ArtifactTooLargeException("Artefato excede o limite de " + maxSize);
+        }
+
+        ArtifactFormat format = ArtifactFormat.fromFileName(safeName);
+        Path staging = workspaceService.createStaging(serverId);
+        Extraction extraction = new Extraction(staging);
+        try {
+            DigestingInputStream in = new DigestingInputStream(body, maxSize.toBytes());
+
+            switch (format) {
+                case ZIP -> extractZip(in, extraction);
+                case TAR_GZ -> extractTarGz(in, extraction);
+                case RAW -> extraction.entry(safeName, false, in);
+            }
+            in.drain();
+
+            workspaceService.promote(serverId, staging, () -> blobReferenceService.replaceWorkspace(serverId, extraction.files));
+            return new ArtifactUploadResponse(serverId, safeName, format, in.sha256(), in.count(), extraction.entries);
+        } catch (IOException e) {
+            if (e instanceof ZipException) {
+                throw discard(extraction, new InvalidArtifactException("Arquivo zip inválido", e));
+            }
+            throw discard(extraction, new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            throw discard(extraction, e);
+        } finally {
+            // só depois de replaceWorkspace (ou registerUnreferenced) o GC pode ver os blobs
+            extraction.leases.forEach(BlobStore.Lease::close);
+        }
+    }
+
+    private RuntimeException discard(Extraction extraction, RuntimeException cause) {
+        try {
+            workspaceService.delete(extraction.root);
+            blobReferenceService.registerUnreferenced(extraction.files.values());
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+        return cause;
+    }
+
+    private static String safeName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new InvalidArtifactException("Nome do artefato ausente");
+        }
+        Path name;
+        try {
+            name = Path.of(fileName).getFileName();
+        } catch (InvalidPathException e) {
+            throw new InvalidArtifactException("Nome do artefato inválido: " + fileName, e);
+        }
+        if (name == null || name.toString().isBlank()) {
+            throw new InvalidArtifactException("Nome do artefato inválido: " + fileName);
+        }
+        return name.toString();
+    }
+
+    private void extractZip(InputStream in, Extraction extraction) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            extraction.entry(entry.getName(), entry.isDirectory(), zip);
+        }
+    }
+
+    private void extractTarGz(InputStream in, Extraction extraction) throws IOException {
+        TarStreamReader tar = new TarStreamReader(new GZIPInputStream(in, BUFFER_SIZE));
+        TarStreamReader.Entry entry;
+        while ((entry = tar.next()) != null) {
+            extraction.entry(entry.name(), entry.directory(), tar.entryStream());
+        }
+    }
+
+    private final class Extraction {
+
+        private final Path root;
+        private final Map<String, StoredBlob> files = new HashMap<>();
+        private final List<BlobStore.Lease> leases = new ArrayList<>();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int entries;
+        private long extractedBytes;
+
+        private Extraction(Path root) {
+            this.root = root;
+        }
+
+        void entry(String name, boolean directory, InputStream content) throws IOException {
+            if (++entries > maxEntries) {
+                throw new ArtifactTooLargeException("Artefato excede o limite de " + maxEntries + " entradas");
+            }
+            Path target = workspaceService.resolveEntry(root, name);
+            try {
+                if (directory) {
+                    Files.createDirectories(target);
+                } else {
+                    if (target.equals(root) || Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                        throw duplicate(name);
+                    }
+                    Files.createDirectories(target.getParent());
+                    writeFile(target, content);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // arquivo e diretório com o mesmo caminho, em qualquer ordem
+                throw duplicate(name);
+            }
+        }
+
+        private InvalidArtifactException duplicate(String name) {
+            return new InvalidArtifactException("Entrada duplicada ou conflitante no artefato: " + name);
+        }
+
+        private void writeFile(Path target, InputStream content) throws IOException {
+            StoredBlob blob;
+            try (BlobStore.BlobWriter writer = blobStore.open(BlobKind.FILE)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    extractedBytes += read;
+                    if (extractedBytes > maxExtractedSize.toBytes()) {
+                        throw new ArtifactTooLargeException("Conteúdo extraído excede o limite de " + maxExtractedSize);
+                    }
+                    writer.write(buffer, 0, read);
+                }
+                blob = writer.commit(null, leases);
+            }
+            blobStore.link(blob.hash(), target);
+            files.put(root.relativize(target).toString(), blob);
+        }
+    }
+
+    private static final class DigestingInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private final long limit;
+        private long count;
+
+        DigestingInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                digest.update(buffer, offset, read);
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // pular bytes quebraria o hash: lê e descarta
+            byte[] discard = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int read = read(discard, 0, discard.length);
+            return Math.max(read, 0);
+        }
+
+        void drain() throws IOException {
+            byte[] discard = new byte[BUFFER_SIZE];
+            while (read(discard, 0, discard.length) != -1) {
+                // consome o restante (ex.: diretório central do zip) para fechar o hash
+            }
+        }
+
+        String sha256() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        long count() {
+            return count;
+        }
+
+        private void advance(int read) {
+            count += read;
+            if (count > limit) {
+                throw new ArtifactTooLargeException("Artefato excede o limite de " + DataSize.ofBytes(limit));
+            }
+        }
+    }
+}
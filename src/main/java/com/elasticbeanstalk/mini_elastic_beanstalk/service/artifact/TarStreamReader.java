@@ -0,0 +1,189 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+class TarStreamReader {
+
+    private static final int BLOCK = 512;
+
+    private final InputStream in;
+    private final byte[] header = new byte[BLOCK];
+    private long remaining;
+    private long padding;
+
+    TarStreamReader(InputStream in) {
+        this.in = in;
+    }
+
+    Entry next() throws IOException {
+        skipCurrent();
+
+        String longName = null;
+        while (true) {
+            if (!readBlock()) {
+                return null;
+            }
+            if (isZeroBlock()) {
+                return null;
+            }
+
+            String name = string(0, 100);
+            long size = octal(124, 12);
+            char type = (char) header[156];
+            if (string(257, 5).equals("ustar")) {
+                String prefix = string(345, 155);
+                if (!prefix.isEmpty()) {
+                    name = prefix + "/" + name;
+                }
+            }
+
+            remaining = size;
+            padding = (BLOCK - (size % BLOCK)) % BLOCK;
+
+            switch (type) {
+                case 'L' -> longName = readString(size);
+                case 'x' -> {
+                    String path = paxPath(readString(size));
+                    if (path != null) {
+                        longName = path;
+                    }
+                }
+                case 'g' -> skipCurrent();
+                default -> {
+                    return new Entry(longName != null ? longName : name, size, type == '5');
+                }
+            }
+        }
+    }
+
+    InputStream entryStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = in.read();
+                if (b < 0) {
+                    throw new InvalidArtifactException("Arquivo tar truncado");
+                }
+                remaining--;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read < 0) {
+                    throw new InvalidArtifactException("Arquivo tar truncado");
+                }
+                remaining -= read;
+                return read;
+            }
+        };
+    }
+
+    private void skipCurrent() throws IOException {
+        skipFully(remaining + padding);
+        remaining = 0;
+        padding = 0;
+    }
+
+    private String readString(long size) throws IOException {
+        if (size > 1024 * 1024) {
+            throw new InvalidArtifactException("Cabeçalho estendido do tar muito grande");
+        }
+        byte[] data = in.readNBytes((int) size);
+        if (data.length != size) {
+            throw new InvalidArtifactException("Arquivo tar truncado");
+        }
+        skipFully(padding);
+        remaining = 0;
+        padding = 0;
+        int end = data.length;
+        while (end > 0 && data[end - 1] == 0) {
+            end--;
+        }
+        return new String(data, 0, end, StandardCharsets.UTF_8);
+    }
+
+    private static String paxPath(String records) {
+        for (String record : records.split("\n")) {
+            int space = record.indexOf(' ');
+            if (space > 0 && record.startsWith("path=", space + 1)) {
+                return record.substring(space + 1 + "path=".length());
+            }
+        }
+        return null;
+    }
+
+    private boolean readBlock() throws IOException {
+        int read = in.readNBytes(header, 0, BLOCK);
+        if (read == 0) {
+            return false;
+        }
+        if (read != BLOCK) {
+            throw new InvalidArtifactException("Arquivo tar truncado");
+        }
+        return true;
+    }
+
+    private boolean isZeroBlock() {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String string(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private long octal(int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b == 0 || b == ' ') {
+                if (value > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (b < '0' || b > '7') {
+                throw new InvalidArtifactException("Cabeçalho tar inválido");
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+
+    private void skipFully(long bytes) throws IOException {
+        long left = bytes;
+        while (left > 0) {
+            long skipped = in.skip(left);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new InvalidArtifactException("Arquivo tar truncado");
+                }
+                skipped = 1;
+            }
+            left -= skipped;
+        }
+    }
+
+    record Entry(String name, long size, boolean directory) {
+    }
+}
@@ -4,64 +4,112 @@ import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.LoginReque
 import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.RegisterRequest;
 import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.AuthResponse;
 import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
 import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.UserRole;
 import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.UserCredentialsChangedEvent;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.journal.EventJournal;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Slf4j
 @Service
 public class AuthService {
 
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @Autowired
     private JwtService jwtService;
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private EventJournal journal;
+    // continuações com banco e assinatura do JWT: fora do pool do BCrypt, que é pequeno e só de CPU
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
 
 
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new RuntimeException("Email já cadastrado");
         }
-        User user = createUser(request);
-        String token = jwtService.generateToken(user);
 
-        return new AuthResponse(token, user.getEmail(), user.getRole());
+        return passwordHasher.encode(request.password())
+                .thenApplyAsync(encodedPassword -> {
+                    User user = createUser(request, encodedPassword);
+                    String token = jwtService.generateToken(user);
+
+                    return new AuthResponse(token, user.getEmail(), user.getRole());
+                }, taskExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.email(),
-                        request.password()
-                )
-        );
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        Optional<User> found = userRepository.findByEmail(request.email());
+        String encodedPassword = found.map(User::getPassword).orElse(null);
+
+        return passwordHasher.matches(request.password(), encodedPassword)
+                .thenApplyAsync(matches -> {
+                    User user = found.filter(u -> matches)
+                            .orElseThrow(() -> new BadCredentialsException("Credenciais inválidas"));
 
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));;
+                    if (passwordHasher.upgradeEncoding(user.getPassword())) {
+                        rehash(user, request.password());
+                    }
 
-        String token = jwtService.generateToken(user);
+                    String token = jwtService.generateToken(user);
 
-        return new AuthResponse(token, user.getEmail(), user.getRole());
+                    return new AuthResponse(token, user.getEmail(), user.getRole());
+                }, taskExecutor)
+                .whenComplete((response, error) -> journal.append(JournalCategory.AUTH,
+                        error == null ? "LOGIN" : "LOGIN_FAILED", request.email(), null, null, null));
+    }
+
+    public void logout(String token) {
+        if (token != null && !token.isBlank()) {
+            jwtService.revoke(token);
+        }
     }
 
     @Transactional
-    public User createUser(RegisterRequest request) {
+    public User createUser(RegisterRequest request, String encodedPassword) {
 
         User user = User.builder()
                 .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
+                .password(encodedPassword)
                 .role(UserRole.USER)
                 .build();
 
       return  userRepository.save(user);
     }
-}
\ No newline at end of file
+
+    private void rehash(User user, String rawPassword) {
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(encodedPassword -> {
+                        userRepository.updatePassword(user.getId(), encodedPassword, LocalDateTime.now());
+                        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getId()));
+                    }, taskExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Falha ao atualizar hash da senha do usuário {}", user.getId(), e);
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            // pool saturado: o rehash é tentado novamente no próximo login
+            log.debug("Rehash adiado para o usuário {}: {}", user.getId(), e.getMessage());
+        }
+    }
+}
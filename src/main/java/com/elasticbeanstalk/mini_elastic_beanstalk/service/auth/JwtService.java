@@ -1,16 +1,20 @@
 package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
 
 import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,12 +23,17 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Value("${app.security.jwt.secret}")
     private String secret;
 
     @Value("${app.security.jwt.expiration}")
     private Long expiration;
 
+    private volatile SigningContext signingContext;
+
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
@@ -35,10 +44,41 @@ public class JwtService {
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingContext().key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public VerifiedToken verify(String token) {
+        return verifiedTokenCache.get(token, this::parse);
+    }
+
+    /**
+     * Token inválido ou já expirado não precisa de revogação: o parse já o recusa.
+     */
+    public void revoke(String token) {
+        VerifiedToken verified;
+        try {
+            verified = parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        verifiedTokenCache.revoke(token, verified.expiresAt());
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
+
+        Object userId = claims.get("userId");
+        String role = claims.get("role", String.class);
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId instanceof Number number ? number.longValue() : null,
+                role != null ? UserRole.valueOf(role) : null,
+                claims.getExpiration().toInstant()
+        );
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -49,28 +89,31 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        final VerifiedToken verified = verify(token);
+        return verified.username().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Claims extractAllClaims(String token) {
+        return signingContext().parser()
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private SigningContext signingContext() {
+        SigningContext context = signingContext;
+        if (context == null) {
+            synchronized (this) {
+                context = signingContext;
+                if (context == null) {
+                    SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+                    context = new SigningContext(key, Jwts.parser().verifyWith(key).build());
+                    signingContext = context;
+                }
+            }
+        }
+        return context;
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record SigningContext(SecretKey key, JwtParser parser) {
     }
 }
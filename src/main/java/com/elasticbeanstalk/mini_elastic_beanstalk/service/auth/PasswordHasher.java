@@ -0,0 +1,139 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.PasswordHashingSaturatedException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.AsyncStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.RequestStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    private volatile String dummyHash;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password.hashing.threads:4}") int threads,
+            @Value("${app.security.password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Tempo na fila até um worker de hash ficar livre")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hashing.duration")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hashing.duration")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> {
+            if (encodedPassword == null) {
+                // mantém o tempo de resposta igual ao de um usuário existente
+                passwordEncoder.matches(rawPassword, dummyHash());
+                return false;
+            }
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        });
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        // a requisição soma estes tempos no fim dela; a thread do pool só escreve no AsyncStage
+        StageTimings timings = StageTimings.current();
+        AsyncStage stage = timings != null ? timings.async(RequestStage.HASH_QUEUE, RequestStage.HASH) : null;
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                if (stage != null) {
+                    stage.started();
+                }
+                try {
+                    return timer.record(task);
+                } finally {
+                    if (stage != null) {
+                        stage.finished();
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingSaturatedException("Serviço de autenticação sobrecarregado, tente novamente", e);
+        }
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("dummy-password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
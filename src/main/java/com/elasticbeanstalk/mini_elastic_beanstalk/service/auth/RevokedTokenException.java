@@ -0,0 +1,10 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
+
+import io.jsonwebtoken.JwtException;
+
+public class RevokedTokenException extends JwtException {
+
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
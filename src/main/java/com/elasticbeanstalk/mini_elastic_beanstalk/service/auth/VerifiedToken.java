@@ -0,0 +1,12 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.UserRole;
+
+import java.time.Instant;
+
+public record VerifiedToken(String username, Long userId, UserRole role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
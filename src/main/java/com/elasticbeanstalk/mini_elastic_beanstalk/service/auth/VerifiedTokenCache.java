@@ -0,0 +1,132 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+@Component
+public class VerifiedTokenCache {
+
+    // digest (4 longs) + VerifiedToken + email + Instant + nó do Caffeine
+    static final long ESTIMATED_ENTRY_BYTES = 320;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Duration maxTokenLifetime;
+    private final Cache<TokenDigest, VerifiedToken> verified;
+    private final Cache<TokenDigest, Instant> revoked;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.jwt.cache.enabled:true}") boolean enabled,
+            @Value("${app.security.jwt.cache.max-size:50000}") long maxSize,
+            @Value("${app.security.jwt.expiration}") long expirationMillis
+    ) {
+        this.enabled = enabled;
+        this.maxTokenLifetime = Duration.ofMillis(expirationMillis);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry<VerifiedToken>(VerifiedToken::expiresAt))
+                .recordStats()
+                .build();
+        // Sem maximumSize: uma revogação só pode sair quando o token expirar. O
+        // limite vem da validade: cabem no máximo os logouts de uma janela de
+        // app.security.jwt.expiration, e token já expirado nem entra.
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiry<Instant>(Function.identity()))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified-tokens");
+        Gauge.builder("jwt.verified-tokens.hit.ratio", verified, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("jwt.verified-tokens.memory", verified,
+                        cache -> cache.estimatedSize() * ESTIMATED_ENTRY_BYTES)
+                .baseUnit("bytes")
+                .description("Estimativa de memória ocupada pelo cache de tokens verificados")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revoked-tokens.size", revoked, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        TokenDigest digest = TokenDigest.of(token);
+        if (revoked.getIfPresent(digest) != null) {
+            throw new RevokedTokenException("Token revogado");
+        }
+
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedToken fresh = verifier.apply(token);
+        verified.put(digest, fresh);
+        return fresh;
+    }
+
+    public void revoke(String token, Instant expiresAt) {
+        TokenDigest digest = TokenDigest.of(token);
+        verified.invalidate(digest);
+        Instant now = Instant.now();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        Instant latest = now.plus(maxTokenLifetime);
+        revoked.put(digest, expiresAt.isAfter(latest) ? latest : expiresAt);
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha256 = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    private record UntilTokenExpiry<V>(Function<V, Instant> expiresAt) implements Expiry<TokenDigest, V> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, V value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt.apply(value)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeployStageException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Gera o compose efetivo de um release: o compose do usuário (ou um serviço
+ * único a partir do Dockerfile), validado por {@link ComposePolicy}, com os
+ * labels de isolamento por serverId.
+ */
+@Component
+public class ComposeGenerator {
+
+    static final String GENERATED_FILE = ".mini-eb-compose.yml";
+    private static final List<String> COMPOSE_FILES =
+            List.of("compose.yaml", "compose.yml", "docker-compose.yaml", "docker-compose.yml");
+
+    public ComposeProject generate(String serverId, Path release) {
+        String project = projectName(serverId);
+        Map<String, Object> compose = load(release).orElseGet(() -> fromDockerfile(release));
+
+        Object services = compose.get("services");
+        if (!(services instanceof Map<?, ?> serviceMap) || serviceMap.isEmpty()) {
+            throw new DeployStageException("Compose sem serviços");
+        }
+        ComposePolicy.check(compose, release);
+
+        List<String> images = new ArrayList<>();
+        for (Map.Entry<?, ?> entry : serviceMap.entrySet()) {
+            if (!(entry.getValue() instanceof Map<?, ?> rawService)) {
+                throw new DeployStageException("Serviço inválido no compose: " + entry.getKey());
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> service = (Map<String, Object>) rawService;
+            // nomes fixos colidiriam entre servidores; o compose nomeia pelo projeto
+            service.remove("container_name");
+            service.put("labels", withLabels(service.get("labels"), serverId));
+            if (service.get("image") instanceof String image && !service.containsKey("build")) {
+                images.add(image);
+            }
+        }
+
+        Path file = release.resolve(GENERATED_FILE);
+        write(compose, file);
+        return new ComposeProject(project, release, file, List.copyOf(images));
+    }
+
+    static String projectName(String serverId) {
+        // o compose só aceita minúsculas no nome do projeto: "App" e "app" cairiam no mesmo projeto
+        if (!serverId.equals(serverId.toLowerCase(Locale.ROOT))) {
+            throw new DeployStageException("serverId com maiúsculas não pode ser publicado: " + serverId);
+        }
+        return "meb-" + serverId.replace('.', '-');
+    }
+
+    private Optional<Map<String, Object>> load(Path release) {
+        for (String name : COMPOSE_FILES) {
+            Path file = release.resolve(name);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try (Reader reader = Files.newBufferedReader(file)) {
+                Object document = yaml().load(reader);
+                if (!(document instanceof Map<?, ?> map)) {
+                    throw new DeployStageException("Compose inválido: " + name);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> compose = new LinkedHashMap<>((Map<String, Object>) map);
+                return Optional.of(compose);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                if (e instanceof DeployStageException stageException) {
+                    throw stageException;
+                }
+                throw new DeployStageException("Falha ao ler " + name + ": " + e.getMessage(), e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Map<String, Object> fromDockerfile(Path release) {
+        if (!Files.isRegularFile(release.resolve("Dockerfile"))) {
+            throw new DeployStageException("Artefato sem compose.yaml/docker-compose.yml nem Dockerfile");
+        }
+        Map<String, Object> service = new LinkedHashMap<>();
+        service.put("build", ".");
+        service.put("restart", "unless-stopped");
+        Map<String, Object> services = new LinkedHashMap<>();
+        services.put("app", service);
+        Map<String, Object> compose = new LinkedHashMap<>();
+        compose.put("services", services);
+        return compose;
+    }
+
+    private static Map<String, Object> withLabels(Object labels, String serverId) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        if (labels instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> merged.put(String.valueOf(key), value));
+        } else if (labels instanceof List<?> list) {
+            for (Object item : list) {
+                String label = String.valueOf(item);
+                int separator = label.indexOf('=');
+                merged.put(separator < 0 ? label : label.substring(0, separator),
+                        separator < 0 ? "" : label.substring(separator + 1));
+            }
+        }
+        merged.put(DockerLabels.SERVER_ID, serverId);
+        merged.put(DockerLabels.MANAGED, "true");
+        return merged;
+    }
+
+    private static void write(Map<String, Object> compose, Path file) {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setIndent(2);
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(options), options)
+                    .dump(compose, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Yaml yaml() {
+        return new Yaml(new SafeConstructor(new LoaderOptions()));
+    }
+}
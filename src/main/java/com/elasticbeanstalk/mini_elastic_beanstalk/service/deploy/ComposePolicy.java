@@ -0,0 +1,206 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeployStageException;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allow-list do compose do usuário. O compose roda com o socket do Docker do
+ * host: qualquer opção que escape do container (privileged, namespaces do
+ * host, bind mounts, capabilities, devices) ou que alcance recursos de outro
+ * servidor (redes e volumes externos ou com nome fixo) é recusada antes do
+ * deploy. Chaves fora da lista também são recusadas, para que opções novas do
+ * compose não passem sem revisão.
+ */
+final class ComposePolicy {
+
+    private static final Set<String> TOP_LEVEL = Set.of("version", "services", "networks", "volumes", "secrets",
+            "configs");
+    private static final Set<String> SERVICE = Set.of("image", "build", "command", "entrypoint", "environment",
+            "env_file", "ports", "expose", "volumes", "networks", "depends_on", "restart", "healthcheck", "labels",
+            "working_dir", "user", "deploy", "tmpfs", "stop_signal", "stop_grace_period", "init", "read_only",
+            "hostname", "shm_size", "mem_limit", "mem_reservation", "cpus", "cpu_shares", "ulimits", "platform",
+            "pull_policy", "profiles", "scale", "tty", "stdin_open", "secrets", "configs", "container_name",
+            "network_mode", "pid", "ipc");
+    private static final Set<String> BUILD = Set.of("context", "dockerfile", "dockerfile_inline", "args", "target",
+            "labels");
+    private static final Set<String> VOLUME = Set.of("driver", "labels");
+    private static final Set<String> NETWORK = Set.of("driver", "internal", "labels", "enable_ipv6");
+    private static final Set<String> FILE_OBJECT = Set.of("file", "content");
+    private static final Set<String> DEPLOY = Set.of("replicas", "resources", "restart_policy", "labels",
+            "update_config", "rollback_config");
+    private static final Set<String> RESOURCES = Set.of("limits", "reservations");
+    private static final Set<String> RESOURCE_LIMITS = Set.of("cpus", "memory", "pids");
+    private static final Set<String> SERVICE_VOLUME = Set.of("type", "source", "target", "read_only", "volume",
+            "tmpfs");
+
+    private ComposePolicy() {
+    }
+
+    static void check(Map<String, Object> compose, Path release) {
+        Path root = release.toAbsolutePath().normalize();
+        for (String key : stringKeys(compose).keySet()) {
+            if (!key.startsWith("x-") && !TOP_LEVEL.contains(key)) {
+                throw rejected("opção de topo não permitida: " + key);
+            }
+        }
+        Map<String, Object> volumes = section(compose, "volumes");
+        volumes.forEach((name, volume) -> {
+            Map<String, Object> options = options(volume, VOLUME, "volume " + name);
+            if (options.containsKey("driver") && !"local".equals(options.get("driver"))) {
+                throw rejected("volume " + name + " com driver " + options.get("driver"));
+            }
+        });
+        section(compose, "networks").forEach((name, network) -> {
+            Map<String, Object> options = options(network, NETWORK, "rede " + name);
+            if (options.containsKey("driver") && !"bridge".equals(options.get("driver"))) {
+                throw rejected("rede " + name + " com driver " + options.get("driver"));
+            }
+        });
+        for (String kind : List.of("secrets", "configs")) {
+            section(compose, kind).forEach((name, object) -> {
+                Map<String, Object> options = options(object, FILE_OBJECT, kind + " " + name);
+                if (options.get("file") != null) {
+                    insideRelease(root, options.get("file"), kind + " " + name);
+                }
+            });
+        }
+        section(compose, "services").forEach((name, service) ->
+                checkService(name, options(service, SERVICE, "serviço " + name), volumes.keySet(), root));
+    }
+
+    private static void checkService(String name, Map<String, Object> service, Set<String> namedVolumes,
+                                     Path release) {
+        String where = "serviço " + name;
+        // só namespaces privados ou de outro serviço do mesmo projeto; nunca host nem container:<id>
+        for (String namespace : List.of("network_mode", "pid", "ipc")) {
+            Object mode = service.get(namespace);
+            if (mode != null && !isPrivateNamespace(namespace, String.valueOf(mode))) {
+                throw rejected(where + " com " + namespace + ": " + mode);
+            }
+        }
+
+        Object build = service.get("build");
+        if (build instanceof String context) {
+            insideRelease(release, context, where + " (build)");
+        } else if (build != null) {
+            Map<String, Object> options = options(build, BUILD, where + " (build)");
+            if (options.get("context") != null) {
+                insideRelease(release, options.get("context"), where + " (build)");
+            }
+        }
+
+        // devices também entram por deploy.resources.reservations: só cpu, memória e pids
+        Map<String, Object> resources = options(options(service.get("deploy"), DEPLOY, where + " (deploy)")
+                .get("resources"), RESOURCES, where + " (deploy.resources)");
+        resources.values().forEach(limits -> options(limits, RESOURCE_LIMITS, where + " (deploy.resources)"));
+
+        Object envFile = service.get("env_file");
+        for (Object file : envFile instanceof List<?> list ? list : envFile == null ? List.of() : List.of(envFile)) {
+            Object path = file instanceof Map<?, ?> map ? map.get("path") : file;
+            insideRelease(release, path, where + " (env_file)");
+        }
+
+        if (service.get("volumes") instanceof List<?> mounts) {
+            for (Object mount : mounts) {
+                checkMount(mount, namedVolumes, where);
+            }
+        } else if (service.get("volumes") != null) {
+            throw rejected(where + " com volumes inválidos");
+        }
+    }
+
+    private static void checkMount(Object mount, Set<String> namedVolumes, String where) {
+        if (mount instanceof String spec) {
+            int separator = spec.indexOf(':');
+            // sem ':' é um volume anônimo no caminho do container
+            if (separator >= 0 && !namedVolumes.contains(spec.substring(0, separator))) {
+                throw rejected(where + " monta " + spec.substring(0, separator)
+                        + ": só volumes declarados no compose são permitidos");
+            }
+            return;
+        }
+        Map<String, Object> options = options(mount, SERVICE_VOLUME, where + " (volume)");
+        Object type = options.get("type");
+        if ("tmpfs".equals(type)) {
+            return;
+        }
+        Object source = options.get("source");
+        if (!"volume".equals(type) || (source != null && !namedVolumes.contains(String.valueOf(source)))) {
+            throw rejected(where + " monta " + (source != null ? source : type)
+                    + ": só volumes declarados no compose são permitidos");
+        }
+    }
+
+    private static boolean isPrivateNamespace(String namespace, String mode) {
+        if (mode.startsWith("service:")) {
+            return true;
+        }
+        return switch (namespace) {
+            case "network_mode" -> mode.equals("bridge") || mode.equals("none");
+            case "ipc" -> mode.equals("private") || mode.equals("shareable");
+            default -> false;
+        };
+    }
+
+    private static void insideRelease(Path release, Object path, String where) {
+        if (!(path instanceof String value) || value.isBlank()) {
+            throw rejected(where + " com caminho inválido");
+        }
+        // URLs git (build remoto) não tocam o disco do host
+        if (value.contains("://") || value.startsWith("git@")) {
+            return;
+        }
+        try {
+            if (!release.resolve(value).normalize().startsWith(release)) {
+                throw rejected(where + " aponta para fora do artefato: " + value);
+            }
+        } catch (InvalidPathException e) {
+            throw rejected(where + " com caminho inválido: " + value);
+        }
+    }
+
+    private static Map<String, Object> section(Map<String, Object> compose, String key) {
+        Object value = compose.get(key);
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map<?, ?> map)) {
+            throw rejected("seção " + key + " inválida");
+        }
+        return stringKeys(map);
+    }
+
+    /** Opções de um objeto do compose; null (ex.: {@code volumes: {dados:}}) vale como vazio. */
+    private static Map<String, Object> options(Object value, Set<String> allowed, String where) {
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map<?, ?> map)) {
+            throw rejected(where + " inválido");
+        }
+        Map<String, Object> options = stringKeys(map);
+        for (String key : options.keySet()) {
+            if (!allowed.contains(key)) {
+                throw rejected(where + " com opção não permitida: " + key);
+            }
+        }
+        return options;
+    }
+
+    // o yaml aceita chaves não-string (ex.: 80:), que o compose trata como texto
+    private static Map<String, Object> stringKeys(Map<?, ?> map) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(String.valueOf(key), value));
+        return copy;
+    }
+
+    private static DeployStageException rejected(String reason) {
+        return new DeployStageException("Compose recusado: " + reason);
+    }
+}
@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public record ComposeProject(String name, Path directory, Path file, List<String> images) {
+}
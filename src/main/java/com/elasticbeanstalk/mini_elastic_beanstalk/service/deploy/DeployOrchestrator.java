@@ -0,0 +1,218 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeploymentNotFoundException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.journal.EventJournal;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Deploys de serverIds diferentes rodam em paralelo no pool; para o mesmo
+ * serverId há no máximo um em execução e um na fila. Um novo pedido substitui
+ * o que estava na fila, já que só o último importa.
+ */
+@Slf4j
+@Service
+public class DeployOrchestrator {
+
+    private final DeployPipeline pipeline;
+    private final WorkspaceService workspaceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final EventJournal journal;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Cache<UUID, Deployment> deployments;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter superseded;
+
+    public DeployOrchestrator(
+            DeployPipeline pipeline,
+            WorkspaceService workspaceService,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            EventJournal journal,
+            @Value("${app.deploy.workers:0}") int workers,
+            @Value("${app.deploy.history-ttl:24h}") Duration historyTtl
+    ) {
+        this.pipeline = pipeline;
+        this.workspaceService = workspaceService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.journal = journal;
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        // a fila do pool tem no máximo uma tarefa por serverId (ver Lane)
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> new Thread(runnable, "deploy-worker-" + sequence.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.deployments = Caffeine.newBuilder()
+                .expireAfterWrite(historyTtl)
+                .maximumSize(10_000)
+                .build();
+
+        this.superseded = meterRegistry.counter("deploy.superseded");
+        Gauge.builder("deploy.queue.depth", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("deploy.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("deploy.workers", executor, ThreadPoolExecutor::getMaximumPoolSize).register(meterRegistry);
+    }
+
+    public Deployment submit(String serverId, String requestedBy) {
+        workspaceService.workspace(serverId);
+        Deployment deployment = new Deployment(serverId, requestedBy);
+        deployments.put(deployment.getId(), deployment);
+        queued.incrementAndGet();
+        record(deployment, "SUBMITTED", null);
+
+        Deployment replaced = null;
+        Lane lane = lanes.computeIfAbsent(serverId, id -> new Lane());
+        synchronized (lane) {
+            if (lane.running == null) {
+                lane.running = deployment;
+                executor.execute(() -> run(lane, deployment));
+            } else {
+                replaced = lane.pending;
+                lane.pending = deployment;
+            }
+        }
+        if (replaced != null) {
+            replaced.supersede(deployment.getId());
+            queued.decrementAndGet();
+            superseded.increment();
+            record(replaced, "SUPERSEDED", deployment.getId().toString());
+            eventPublisher.publishEvent(new DeploymentFinishedEvent(replaced));
+        }
+        return deployment;
+    }
+
+    public Deployment get(String serverId, UUID deploymentId) {
+        Deployment deployment = deployments.getIfPresent(deploymentId);
+        if (deployment == null || !deployment.getServerId().equals(serverId)) {
+            throw new DeploymentNotFoundException("Deploy não encontrado: " + deploymentId);
+        }
+        return deployment;
+    }
+
+    public List<Deployment> recent(String serverId, int limit) {
+        return deployments.asMap().values().stream()
+                .filter(deployment -> deployment.getServerId().equals(serverId))
+                .sorted(Comparator.comparing(Deployment::getCreatedAt).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // deploy em execução no servidor: os containers estão sendo recriados
+    public boolean isDeploying(String serverId) {
+        Lane lane = lanes.get(serverId);
+        if (lane == null) {
+            return false;
+        }
+        synchronized (lane) {
+            return lane.running != null;
+        }
+    }
+
+    public int activeDeployments() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Lane lane, Deployment deployment) {
+        queued.decrementAndGet();
+        deployment.start();
+        Timer.Sample total = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Path release = stage(deployment, DeployStage.EXTRACT, () -> pipeline.extract(deployment));
+            ComposeProject project = stage(deployment, DeployStage.COMPOSE, () -> pipeline.compose(deployment, release));
+            stage(deployment, DeployStage.PULL, () -> {
+                pipeline.pull(project);
+                return null;
+            });
+            stage(deployment, DeployStage.CREATE, () -> {
+                pipeline.create(project);
+                return null;
+            });
+            stage(deployment, DeployStage.START, () -> {
+                pipeline.start(project);
+                return null;
+            });
+            deployment.succeed();
+            pipeline.pruneReleases(deployment.getServerId());
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.warn("Deploy {} de {} falhou em {}: {}", deployment.getId(), deployment.getServerId(),
+                    deployment.getStage(), e.getMessage());
+            deployment.fail(e.getMessage());
+        } finally {
+            total.stop(meterRegistry.timer("deploy.duration", "outcome", outcome));
+            next(lane);
+        }
+        record(deployment, deployment.getStatus().name(), deployment.getError());
+        eventPublisher.publishEvent(new DeploymentFinishedEvent(deployment));
+    }
+
+    private void next(Lane lane) {
+        synchronized (lane) {
+            lane.running = lane.pending;
+            lane.pending = null;
+            if (lane.running != null) {
+                Deployment deployment = lane.running;
+                executor.execute(() -> run(lane, deployment));
+            }
+        }
+    }
+
+    private <T> T stage(Deployment deployment, DeployStage stage, Supplier<T> work) {
+        deployment.enter(stage);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            long nanos = sample.stop(meterRegistry.timer("deploy.stage.duration", "stage", stage.name().toLowerCase(), "outcome", outcome));
+            record(deployment, "STAGE_" + stage.name(), outcome + " em " + Duration.ofNanos(nanos).toMillis() + "ms");
+        }
+    }
+
+    private void record(Deployment deployment, String action, String detail) {
+        journal.append(JournalCategory.DEPLOY, action, deployment.getRequestedBy(),
+                deployment.getServerId(), deployment.getId().toString(), detail);
+    }
+
+    private static final class Lane {
+        private Deployment running;
+        private Deployment pending;
+    }
+}
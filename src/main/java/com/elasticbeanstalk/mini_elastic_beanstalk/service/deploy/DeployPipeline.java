@@ -0,0 +1,107 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeployStageException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ImageManager;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class DeployPipeline {
+
+    static final String RELEASES = "releases";
+
+    @Autowired
+    private WorkspaceService workspaceService;
+    @Autowired
+    private ComposeGenerator composeGenerator;
+    @Autowired
+    private DockerComposeCli dockerComposeCli;
+    @Autowired
+    private ImageManager imageManager;
+
+    @Value("${app.deploy.releases-to-keep:3}")
+    private int releasesToKeep;
+    @Value("${app.deploy.stage-timeout:10m}")
+    private Duration stageTimeout;
+
+    // release isolado: uploads seguintes não mexem nos arquivos que este deploy está usando
+    public Path extract(Deployment deployment) {
+        Path release = releases(deployment.getServerId()).resolve(deployment.getId().toString());
+        if (!workspaceService.snapshot(deployment.getServerId(), release)) {
+            throw new DeployStageException("Nenhum artefato enviado para o servidor " + deployment.getServerId());
+        }
+        return release;
+    }
+
+    public ComposeProject compose(Deployment deployment, Path release) {
+        ComposeProject project = composeGenerator.generate(deployment.getServerId(), release);
+        deployment.resolvedImages(project.images());
+        return project;
+    }
+
+    // pelo ImageManager e não pelo compose: deploys que usam a mesma tag dividem um único pull
+    public void pull(ComposeProject project) {
+        try {
+            imageManager.ensureAll(project.images()).get(stageTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new DeployStageException("Falha no pull: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new DeployStageException("Timeout de " + stageTimeout + " no pull das imagens");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeployStageException("Deploy interrompido", e);
+        }
+    }
+
+    public void create(ComposeProject project) {
+        dockerComposeCli.run(project, "up", "--no-start", "--build", "--remove-orphans");
+    }
+
+    public void start(ComposeProject project) {
+        dockerComposeCli.run(project, "start");
+    }
+
+    public void pruneReleases(String serverId) {
+        Path releases = releases(serverId);
+        if (!Files.isDirectory(releases)) {
+            return;
+        }
+        try (Stream<Path> entries = Files.list(releases)) {
+            List<Path> stale = entries
+                    .sorted(Comparator.comparing(DeployPipeline::lastModified).reversed())
+                    .skip(releasesToKeep)
+                    .toList();
+            stale.forEach(workspaceService::delete);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao remover releases antigos de {}: {}", serverId, e.getMessage());
+        }
+    }
+
+    private Path releases(String serverId) {
+        return workspaceService.workspace(serverId).resolve(RELEASES);
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
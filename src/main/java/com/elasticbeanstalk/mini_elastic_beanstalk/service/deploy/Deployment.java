@@ -0,0 +1,76 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Estado de um deploy em andamento. Só o worker que o executa altera os
+ * campos; leitores veem valores voláteis, sem lock.
+ */
+@Getter
+public class Deployment {
+
+    private final UUID id;
+    private final String serverId;
+    private final String requestedBy;
+    private final Instant createdAt;
+    private volatile DeploymentStatus status = DeploymentStatus.QUEUED;
+    private volatile DeployStage stage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile UUID supersededBy;
+    private volatile List<String> images = List.of();
+    private final List<StageEntry> stages = new CopyOnWriteArrayList<>();
+
+    Deployment(String serverId, String requestedBy) {
+        this.id = UUID.randomUUID();
+        this.serverId = serverId;
+        this.requestedBy = requestedBy;
+        this.createdAt = Instant.now();
+    }
+
+    public List<StageEntry> getStages() {
+        return List.copyOf(stages);
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = DeploymentStatus.RUNNING;
+    }
+
+    void enter(DeployStage stage) {
+        this.stage = stage;
+        stages.add(new StageEntry(stage, Instant.now()));
+    }
+
+    void resolvedImages(List<String> images) {
+        this.images = images;
+    }
+
+    void succeed() {
+        finishedAt = Instant.now();
+        status = DeploymentStatus.SUCCEEDED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = DeploymentStatus.FAILED;
+    }
+
+    void supersede(UUID by) {
+        supersededBy = by;
+        finishedAt = Instant.now();
+        status = DeploymentStatus.SUPERSEDED;
+    }
+
+    public record StageEntry(DeployStage stage, Instant enteredAt) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.DeploymentEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Apaga eventos de deploy mais velhos que a retenção, em lotes pequenos e
+ * transações curtas. O índice BRIN em occurred_at acha os blocos antigos
+ * sem varrer a tabela.
+ */
+@Slf4j
+@Component
+public class DeploymentEventRetention {
+
+    private final DeploymentEventRepository deploymentEventRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter deleted;
+
+    public DeploymentEventRetention(
+            DeploymentEventRepository deploymentEventRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.persistence.events.retention:90d}") Duration retention,
+            @Value("${app.persistence.events.purge-batch-size:5000}") int batchSize
+    ) {
+        this.deploymentEventRepository = deploymentEventRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.deleted = meterRegistry.counter("deploy.events.purged");
+    }
+
+    @Scheduled(fixedDelayString = "${app.persistence.events.purge-interval:PT1H}", initialDelayString = "PT5M")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int removed;
+        do {
+            removed = deploymentEventRepository.deleteOlderThan(before, batchSize);
+            total += removed;
+        } while (removed == batchSize);
+        if (total > 0) {
+            deleted.increment(total);
+            log.info("{} eventos de deploy anteriores a {} removidos", total, before);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+public record DeploymentFinishedEvent(Deployment deployment) {
+}
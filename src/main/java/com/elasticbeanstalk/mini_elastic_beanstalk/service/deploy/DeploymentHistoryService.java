@@ -0,0 +1,157 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentEvent;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.DeploymentRecord;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeployStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentEventType;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeploymentNotFoundException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.DeploymentEventRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.DeploymentRecordRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ServerRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Histórico durável dos deploys. O orquestrador guarda só os recentes em
+ * memória; ao terminar, cada deploy vira uma linha em deployments e uma
+ * sequência de eventos, gravados na mesma transação em lote.
+ */
+@Slf4j
+@Service
+public class DeploymentHistoryService {
+
+    private static final int MESSAGE_MAX_LENGTH = 2048;
+
+    private final ServerRepository serverRepository;
+    private final DeploymentRecordRepository deploymentRecordRepository;
+    private final DeploymentEventRepository deploymentEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeploymentHistoryService(ServerRepository serverRepository,
+                                    DeploymentRecordRepository deploymentRecordRepository,
+                                    DeploymentEventRepository deploymentEventRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.serverRepository = serverRepository;
+        this.deploymentRecordRepository = deploymentRecordRepository;
+        this.deploymentEventRepository = deploymentEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record Page<T>(List<T> items, String nextCursor) {
+    }
+
+    @EventListener
+    public void onDeploymentFinished(DeploymentFinishedEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(event.deployment()));
+        } catch (RuntimeException e) {
+            // o histórico não pode derrubar o worker de deploy
+            log.warn("Falha ao gravar o histórico do deploy {}: {}", event.deployment().getId(), e.getMessage());
+        }
+    }
+
+    private void record(Deployment deployment) {
+        DeploymentRecord record = deploymentRecordRepository.save(DeploymentRecord.builder()
+                .publicId(deployment.getId())
+                .serverId(deployment.getServerId())
+                .status(deployment.getStatus())
+                .lastStage(deployment.getStage())
+                .requestedBy(deployment.getRequestedBy())
+                .images(deployment.getImages().isEmpty() ? null : String.join(",", deployment.getImages()))
+                .error(truncate(deployment.getError()))
+                .supersededBy(deployment.getSupersededBy())
+                .createdAt(toLocal(deployment.getCreatedAt()))
+                .startedAt(toLocal(deployment.getStartedAt()))
+                .finishedAt(toLocal(deployment.getFinishedAt()))
+                .build());
+
+        List<DeploymentEvent> events = new ArrayList<>();
+        events.add(event(record, DeploymentEventType.QUEUED, null, null, deployment.getCreatedAt()));
+        if (deployment.getStartedAt() != null) {
+            events.add(event(record, DeploymentEventType.STARTED, null, null, deployment.getStartedAt()));
+        }
+        for (Deployment.StageEntry stage : deployment.getStages()) {
+            events.add(event(record, DeploymentEventType.STAGE, stage.stage(), null, stage.enteredAt()));
+        }
+        if (deployment.getFinishedAt() != null) {
+            events.add(event(record, finishedType(deployment.getStatus()), deployment.getStage(),
+                    truncate(deployment.getError()), deployment.getFinishedAt()));
+        }
+        // ids vêm do bloco já reservado da sequência: os INSERTs saem em lote
+        deploymentEventRepository.saveAll(events);
+
+        serverRepository.recordDeployment(deployment.getServerId(), deployment.getStatus().name(),
+                record.getFinishedAt() != null ? record.getFinishedAt() : record.getCreatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DeploymentRecord> history(String serverId, String cursor, int limit) {
+        List<DeploymentRecord> items;
+        if (cursor == null) {
+            items = deploymentRecordRepository.findLatest(serverId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            items = deploymentRecordRepository.findLatestBefore(serverId, position.createdAt(), position.id(), limit);
+        }
+        String next = items.size() < limit ? null
+                : KeysetCursor.encode(items.getLast().getCreatedAt(), items.getLast().getId());
+        return new Page<>(items, next);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DeploymentEvent> events(String serverId, UUID deploymentId, long afterId, int limit) {
+        DeploymentRecord record = deploymentRecordRepository.findByPublicId(deploymentId)
+                .filter(found -> found.getServerId().equals(serverId))
+                .orElseThrow(() -> new DeploymentNotFoundException("Deploy não encontrado: " + deploymentId));
+        List<DeploymentEvent> items = deploymentEventRepository
+                .findByDeploymentIdAndIdGreaterThanOrderById(record.getId(), afterId, Limit.of(limit));
+        String next = items.size() < limit ? null : Long.toString(items.getLast().getId());
+        return new Page<>(items, next);
+    }
+
+    private static DeploymentEvent event(DeploymentRecord record, DeploymentEventType type,
+                                         DeployStage stage,
+                                         String message, Instant at) {
+        return DeploymentEvent.builder()
+                .deploymentId(record.getId())
+                .serverId(record.getServerId())
+                .type(type)
+                .stage(stage)
+                .message(message)
+                .occurredAt(toLocal(at))
+                .build();
+    }
+
+    private static DeploymentEventType finishedType(DeploymentStatus status) {
+        return switch (status) {
+            case SUCCEEDED -> DeploymentEventType.SUCCEEDED;
+            case SUPERSEDED -> DeploymentEventType.SUPERSEDED;
+            default -> DeploymentEventType.FAILED;
+        };
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MESSAGE_MAX_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MESSAGE_MAX_LENGTH);
+    }
+}
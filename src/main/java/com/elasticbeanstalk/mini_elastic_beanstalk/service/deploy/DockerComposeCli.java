@@ -0,0 +1,86 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeployStageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DockerComposeCli {
+
+    static final String DEPLOY_LOG = ".mini-eb-deploy.log";
+    private static final int ERROR_TAIL_BYTES = 2048;
+
+    private final List<String> command;
+    private final String dockerHost;
+    private final Duration timeout;
+
+    public DockerComposeCli(
+            @Value("${app.deploy.compose-command:docker compose}") String command,
+            @Value("${app.docker.host:unix:///var/run/docker.sock}") String dockerHost,
+            @Value("${app.deploy.stage-timeout:10m}") Duration timeout
+    ) {
+        this.command = Arrays.asList(command.trim().split("\\s+"));
+        this.dockerHost = dockerHost;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Roda um subcomando do compose no diretório do release. A saída vai para
+     * o log do deploy em disco (nunca para memória) e o processo é morto se
+     * passar do timeout.
+     */
+    public void run(ComposeProject project, String... args) {
+        List<String> invocation = new ArrayList<>(command);
+        invocation.addAll(List.of("-p", project.name(), "-f", project.file().toString()));
+        invocation.addAll(List.of(args));
+
+        Path log = project.directory().resolve(DEPLOY_LOG);
+        ProcessBuilder builder = new ProcessBuilder(invocation)
+                .directory(project.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()));
+        builder.environment().put("DOCKER_HOST", dockerHost);
+
+        try {
+            Files.writeString(log, "$ " + String.join(" ", invocation) + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Process process = builder.start();
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new DeployStageException("Timeout de " + timeout + " em: compose " + String.join(" ", args));
+            }
+            if (process.exitValue() != 0) {
+                throw new DeployStageException("compose " + String.join(" ", args) + " saiu com código "
+                        + process.exitValue() + ": " + tail(log));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeployStageException("Deploy interrompido", e);
+        }
+    }
+
+    private static String tail(Path log) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "r")) {
+            long start = Math.max(0, file.length() - ERROR_TAIL_BYTES);
+            byte[] bytes = new byte[(int) (file.length() - start)];
+            file.seek(start);
+            file.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8).strip();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.InternetProtocol;
+import com.github.dockerjava.api.model.NetworkSettings;
+import com.github.dockerjava.api.model.Ports;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Endereço TCP de um container visto a partir deste host: porta publicada,
+ * se houver, senão o IP do container na rede do compose.
+ */
+public record ContainerEndpoint(String host, int port) {
+
+    /**
+     * @param wantedPort    porta do container; nula escolhe a menor porta TCP exposta
+     * @param publishedHost host usado para portas publicadas em 0.0.0.0 / ::
+     */
+    public static Optional<ContainerEndpoint> resolve(InspectContainerResponse inspect, Integer wantedPort,
+                                                      String publishedHost) {
+        NetworkSettings network = inspect.getNetworkSettings();
+
+        if (network != null && network.getPorts() != null) {
+            Optional<Map.Entry<ExposedPort, Ports.Binding[]>> published = network.getPorts().getBindings().entrySet().stream()
+                    .filter(entry -> entry.getKey().getProtocol() == InternetProtocol.TCP)
+                    .filter(entry -> wantedPort == null || entry.getKey().getPort() == wantedPort)
+                    .filter(entry -> entry.getValue() != null && entry.getValue().length > 0)
+                    .min(Comparator.comparingInt(entry -> entry.getKey().getPort()));
+            if (published.isPresent()) {
+                Ports.Binding binding = published.get().getValue()[0];
+                Integer hostPort = port(binding.getHostPortSpec());
+                if (hostPort != null) {
+                    return Optional.of(new ContainerEndpoint(host(binding.getHostIp(), publishedHost), hostPort));
+                }
+            }
+        }
+
+        Integer port = wantedPort;
+        if (port == null && inspect.getConfig() != null && inspect.getConfig().getExposedPorts() != null) {
+            port = Arrays.stream(inspect.getConfig().getExposedPorts())
+                    .filter(exposed -> exposed.getProtocol() == InternetProtocol.TCP)
+                    .map(ExposedPort::getPort)
+                    .min(Integer::compare)
+                    .orElse(null);
+        }
+        String address = network != null && network.getNetworks() != null
+                ? network.getNetworks().values().stream()
+                        .map(ContainerNetwork::getIpAddress)
+                        .filter(ip -> ip != null && !ip.isBlank())
+                        .findFirst()
+                        .orElse(null)
+                : null;
+        if (port == null || address == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ContainerEndpoint(address, port));
+    }
+
+    public static Integer port(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String host(String hostIp, String publishedHost) {
+        if (hostIp == null || hostIp.isBlank() || hostIp.equals("0.0.0.0") || hostIp.equals("::")) {
+            return publishedHost;
+        }
+        return hostIp;
+    }
+}
@@ -0,0 +1,26 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record ContainerState(String id,
+                             String name,
+                             String serverId,
+                             String image,
+                             String state,
+                             String health,
+                             Map<String, String> labels,
+                             Instant updatedAt) {
+
+    public boolean isRunning() {
+        return "running".equals(state);
+    }
+
+    ContainerState withState(String newState, Instant at) {
+        return new ContainerState(id, name, serverId, image, newState, health, labels, at);
+    }
+
+    ContainerState withHealth(String newHealth, Instant at) {
+        return new ContainerState(id, name, serverId, image, state, newHealth, labels, at);
+    }
+}
@@ -0,0 +1,16 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+public record ContainerStateChange(ContainerState previous, ContainerState current) {
+
+    public String containerId() {
+        return current != null ? current.id() : previous.id();
+    }
+
+    public String serverId() {
+        return current != null ? current.serverId() : previous.serverId();
+    }
+
+    public boolean removed() {
+        return current == null;
+    }
+}
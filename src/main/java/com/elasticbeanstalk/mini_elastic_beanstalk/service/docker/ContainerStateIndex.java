@@ -0,0 +1,336 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class ContainerStateIndex implements SmartLifecycle {
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final DockerGateway dockerGateway;
+    private final boolean enabled;
+    private final Duration initialBackoff;
+    // escritos só sob o lock de apply/replaceAll, byServer antes de byId: quem vê
+    // um container em byId já o encontra na lista do servidor
+    private final Map<String, ContainerState> byId = new ConcurrentHashMap<>();
+    private final Map<String, List<ContainerState>> byServer = new ConcurrentHashMap<>();
+    private final List<Consumer<ContainerStateChange>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter events;
+    private final Counter resyncs;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService listenerExecutor;
+    private volatile Closeable subscription;
+    private volatile boolean running;
+    private volatile boolean synced;
+    private Duration backoff;
+
+    public ContainerStateIndex(
+            DockerGateway dockerGateway,
+            MeterRegistry meterRegistry,
+            @Value("${app.docker.state-index.enabled:true}") boolean enabled,
+            @Value("${app.docker.state-index.reconnect-backoff:1s}") Duration initialBackoff
+    ) {
+        this.dockerGateway = dockerGateway;
+        this.enabled = enabled;
+        this.initialBackoff = initialBackoff;
+        this.backoff = initialBackoff;
+        this.events = Counter.builder("docker.state-index.events").register(meterRegistry);
+        this.resyncs = Counter.builder("docker.state-index.resyncs").register(meterRegistry);
+        Gauge.builder("docker.state-index.containers", byId, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Optional<ContainerState> get(String containerId) {
+        return Optional.ofNullable(byId.get(containerId));
+    }
+
+    public List<ContainerState> byServer(String serverId) {
+        return byServer.getOrDefault(serverId, List.of());
+    }
+
+    public Collection<ContainerState> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public void addListener(Consumer<ContainerStateChange> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "container-state-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // listeners fazem I/O (attach de logs, probes): rodam fora do lock e da thread de eventos,
+        // numa única thread para manter a ordem das mudanças
+        listenerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "container-state-listeners");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        scheduler.execute(this::resync);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeSubscription();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (listenerExecutor != null) {
+            listenerExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void resync() {
+        if (!running) {
+            return;
+        }
+        closeSubscription();
+        synced = false;
+        // "since" antes do list: eventos que acontecerem durante a listagem são reaplicados
+        long since = Instant.now().getEpochSecond() - 1;
+        try {
+            List<Container> containers = dockerGateway.listManagedContainers();
+            replaceAll(containers);
+            subscribe(since);
+            synced = true;
+            backoff = initialBackoff;
+            resyncs.increment();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao sincronizar estado dos containers, nova tentativa em {}: {}", backoff, e.getMessage());
+            scheduleResync();
+        }
+    }
+
+    private void subscribe(long since) {
+        EventsCallback callback = new EventsCallback();
+        subscription = callback;
+        dockerGateway.streamingClient().eventsCmd()
+                .withEventTypeFilter(EventType.CONTAINER)
+                .withLabelFilter(Map.of(DockerLabels.MANAGED, "true"))
+                .withSince(String.valueOf(since))
+                .exec(callback);
+    }
+
+    private class EventsCallback extends ResultCallback.Adapter<Event> {
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        @Override
+        public void onNext(Event event) {
+            events.increment();
+            apply(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (running && subscription == this && ended.compareAndSet(false, true)) {
+                log.warn("Stream de eventos do Docker interrompido: {}", throwable.getMessage());
+                scheduler.execute(ContainerStateIndex.this::scheduleResync);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (running && subscription == this && ended.compareAndSet(false, true)) {
+                scheduler.execute(ContainerStateIndex.this::scheduleResync);
+            }
+        }
+    }
+
+    private void scheduleResync() {
+        synced = false;
+        if (!running || scheduler.isShutdown()) {
+            return;
+        }
+        Duration delay = backoff;
+        backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        scheduler.schedule(this::resync, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void closeSubscription() {
+        Closeable current = subscription;
+        subscription = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("Erro ao fechar stream de eventos", e);
+            }
+        }
+    }
+
+    private synchronized void replaceAll(List<Container> containers) {
+        Instant now = Instant.now();
+        Map<String, ContainerState> listed = new HashMap<>();
+        for (Container container : containers) {
+            Map<String, String> labels = container.getLabels() != null ? container.getLabels() : Map.of();
+            String name = container.getNames() != null && container.getNames().length > 0
+                    ? container.getNames()[0].replaceFirst("^/", "")
+                    : container.getId();
+            listed.put(container.getId(), new ContainerState(
+                    container.getId(), name, labels.get(DockerLabels.SERVER_ID), container.getImage(),
+                    container.getState(), null, Map.copyOf(labels), now));
+        }
+
+        Map<String, List<ContainerState>> servers = new HashMap<>();
+        for (ContainerState current : listed.values()) {
+            if (current.serverId() != null) {
+                servers.computeIfAbsent(current.serverId(), k -> new ArrayList<>()).add(current);
+            }
+        }
+        servers.forEach((serverId, states) -> byServer.put(serverId, List.copyOf(states)));
+        byServer.keySet().retainAll(servers.keySet());
+
+        for (ContainerState current : listed.values()) {
+            ContainerState before = byId.put(current.id(), current);
+            if (before == null || !Objects.equals(before.state(), current.state())) {
+                publish(new ContainerStateChange(before, current));
+            }
+        }
+        for (Iterator<ContainerState> it = byId.values().iterator(); it.hasNext(); ) {
+            ContainerState before = it.next();
+            if (!listed.containsKey(before.id())) {
+                it.remove();
+                publish(new ContainerStateChange(before, null));
+            }
+        }
+    }
+
+    synchronized void apply(Event event) {
+        if (event.getActor() == null || event.getAction() == null) {
+            return;
+        }
+        String id = event.getActor().getId();
+        Map<String, String> attributes = event.getActor().getAttributes() != null
+                ? event.getActor().getAttributes()
+                : Map.of();
+        Instant at = event.getTime() != null ? Instant.ofEpochSecond(event.getTime()) : Instant.now();
+
+        ContainerState before = byId.get(id);
+        ContainerState after = transition(before, id, event.getAction(), attributes, at);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        // só as listas dos servidores envolvidos são copiadas, não o índice inteiro
+        String previousServer = before != null ? before.serverId() : null;
+        String nextServer = after != null ? after.serverId() : null;
+        if (previousServer != null) {
+            reindex(previousServer, id, after);
+        }
+        if (nextServer != null && !nextServer.equals(previousServer)) {
+            reindex(nextServer, id, after);
+        }
+        if (after == null) {
+            byId.remove(id);
+        } else {
+            byId.put(id, after);
+        }
+        publish(new ContainerStateChange(before, after));
+    }
+
+    private void reindex(String serverId, String id, ContainerState after) {
+        byServer.compute(serverId, (key, states) -> {
+            List<ContainerState> updated = new ArrayList<>(states != null ? states : List.of());
+            updated.removeIf(state -> state.id().equals(id));
+            if (after != null && serverId.equals(after.serverId())) {
+                updated.add(after);
+            }
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    private static ContainerState transition(ContainerState before, String id, String action,
+                                             Map<String, String> attributes, Instant at) {
+        if (action.equals("destroy")) {
+            return null;
+        }
+        if (action.startsWith("health_status")) {
+            String health = action.substring(action.indexOf(':') + 1).trim();
+            return before != null ? before.withHealth(health, at) : null;
+        }
+
+        String state = switch (action) {
+            case "create" -> "created";
+            case "start", "restart", "unpause" -> "running";
+            case "die", "stop", "kill", "oom" -> "exited";
+            case "pause" -> "paused";
+            default -> null;
+        };
+        if (state == null) {
+            return before;
+        }
+        if (before != null) {
+            return before.withState(state, at);
+        }
+
+        Map<String, String> labels = new HashMap<>(attributes);
+        String name = labels.remove("name");
+        String image = labels.remove("image");
+        return new ContainerState(id, name, labels.get(DockerLabels.SERVER_ID), image, state, null,
+                Map.copyOf(labels), at);
+    }
+
+    private void publish(ContainerStateChange change) {
+        try {
+            listenerExecutor.execute(() -> notifyListeners(change));
+        } catch (RejectedExecutionException e) {
+            log.debug("Índice parado, mudança de estado descartada: {}", change.containerId());
+        }
+    }
+
+    private void notifyListeners(ContainerStateChange change) {
+        for (Consumer<ContainerStateChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                log.warn("Listener de estado de container falhou", e);
+            }
+        }
+    }
+}
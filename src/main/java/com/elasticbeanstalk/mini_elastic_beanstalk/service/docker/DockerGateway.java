@@ -0,0 +1,136 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DockerUnavailableException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.util.RequestCoalescer;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class DockerGateway {
+
+    private final DockerClient dockerClient;
+    private final DockerClient streamingClient;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final RequestCoalescer<String, InspectContainerResponse> inspects;
+    private final RequestCoalescer<ListKey, List<Container>> lists;
+
+    public DockerGateway(
+            DockerClient dockerClient,
+            @Qualifier("streamingDockerClient") DockerClient streamingClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.docker.max-concurrent-requests:32}") int maxConcurrentRequests,
+            @Value("${app.docker.acquire-timeout:5s}") Duration acquireTimeout
+    ) {
+        this.dockerClient = dockerClient;
+        this.streamingClient = streamingClient;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.acquireTimeout = acquireTimeout;
+
+        Counter coalescedInspects = coalescedCounter("inspect");
+        Counter coalescedLists = coalescedCounter("list");
+        this.inspects = new RequestCoalescer<>(coalescedInspects::increment);
+        this.lists = new RequestCoalescer<>(coalescedLists::increment);
+
+        Gauge.builder("docker.requests.active", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("docker.requests.waiting", permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    public InspectContainerResponse inspectContainer(String containerId) {
+        return inspects.execute(containerId,
+                () -> execute("inspect", () -> dockerClient.inspectContainerCmd(containerId).exec()));
+    }
+
+    public List<Container> listContainers(Map<String, String> labels, boolean all) {
+        ListKey key = new ListKey(new TreeMap<>(labels), all);
+        return lists.execute(key, () -> execute("list", () -> dockerClient.listContainersCmd()
+                .withLabelFilter(labels)
+                .withShowAll(all)
+                .exec()));
+    }
+
+    public List<Container> listServerContainers(String serverId) {
+        return listContainers(Map.of(DockerLabels.SERVER_ID, serverId), true);
+    }
+
+    public List<Container> listManagedContainers() {
+        return listContainers(Map.of(DockerLabels.MANAGED, "true"), true);
+    }
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        acquire(operation);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            permits.release();
+            sample.stop(Timer.builder("docker.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void run(String operation, Runnable call) {
+        execute(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // Chamadas curtas fora do semáforo (criação de réplicas, inspeção de imagens).
+    public DockerClient client() {
+        return dockerClient;
+    }
+
+    // Para streams longos (eventos, logs, pulls): não passam pelo semáforo
+    // porque ocupariam uma permissão enquanto durarem, e usam o cliente sem
+    // response timeout.
+    public DockerClient streamingClient() {
+        return streamingClient;
+    }
+
+    private void acquire(String operation) {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new DockerUnavailableException("Daemon Docker sobrecarregado (" + operation + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DockerUnavailableException("Interrompido aguardando o daemon Docker", e);
+        }
+    }
+
+    private Counter coalescedCounter(String operation) {
+        return Counter.builder("docker.requests.coalesced")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private record ListKey(Map<String, String> labels, boolean all) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+public final class DockerLabels {
+
+    public static final String SERVER_ID = "com.elasticbeanstalk.server-id";
+    public static final String MANAGED = "com.elasticbeanstalk.managed";
+    // health check do app: com path vira HTTP GET, sem path só TCP connect
+    public static final String HEALTH_PATH = "com.elasticbeanstalk.health.path";
+    public static final String HEALTH_PORT = "com.elasticbeanstalk.health.port";
+    // porta do container que recebe o tráfego do proxy; sem ela, a menor porta TCP exposta
+    public static final String PROXY_PORT = "com.elasticbeanstalk.proxy.port";
+
+    // postos pelo docker compose
+    public static final String COMPOSE_PROJECT = "com.docker.compose.project";
+    public static final String COMPOSE_SERVICE = "com.docker.compose.service";
+    public static final String COMPOSE_CONTAINER_NUMBER = "com.docker.compose.container-number";
+    public static final String COMPOSE_ONEOFF = "com.docker.compose.oneoff";
+
+    private DockerLabels() {
+    }
+}
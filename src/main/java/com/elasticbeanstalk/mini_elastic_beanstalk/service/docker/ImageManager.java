@@ -0,0 +1,187 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.PullResponseItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pulls de imagem com no máximo um pull em voo por referência e cache do
+ * digest resolvido: dentro do TTL, um redeploy da mesma tag não vai ao registry.
+ */
+@Slf4j
+@Service
+public class ImageManager {
+
+    private final DockerGateway dockerGateway;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, ResolvedImage> digests;
+    private final ConcurrentHashMap<String, ImagePull> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter cached;
+
+    public ImageManager(
+            DockerGateway dockerGateway,
+            MeterRegistry meterRegistry,
+            @Value("${app.images.digest-ttl:10m}") Duration digestTtl
+    ) {
+        this.dockerGateway = dockerGateway;
+        this.meterRegistry = meterRegistry;
+        this.digests = Caffeine.newBuilder()
+                .expireAfterWrite(digestTtl)
+                .maximumSize(10_000)
+                .recordStats()
+                .build();
+        this.coalesced = meterRegistry.counter("images.pulls.coalesced");
+        this.cached = meterRegistry.counter("images.pulls.skipped");
+        CaffeineCacheMetrics.monitor(meterRegistry, digests, "images.digests");
+        Gauge.builder("images.pulls.in-flight", inFlight, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public CompletableFuture<ResolvedImage> ensure(String reference) {
+        ResolvedImage resolved = digests.getIfPresent(reference);
+        if (resolved != null) {
+            cached.increment();
+            return CompletableFuture.completedFuture(resolved);
+        }
+        return pull(reference, false).result();
+    }
+
+    public CompletableFuture<Void> ensureAll(Collection<String> references) {
+        return CompletableFuture.allOf(references.stream().distinct().map(this::ensure)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    public boolean isFresh(String reference) {
+        return digests.getIfPresent(reference) != null;
+    }
+
+    public ImagePull pull(String reference, boolean prefetch) {
+        boolean[] created = new boolean[1];
+        ImagePull pull = inFlight.compute(reference, (ref, existing) -> {
+            if (existing != null) {
+                existing.join();
+                return existing;
+            }
+            created[0] = true;
+            return new ImagePull(ref, prefetch);
+        });
+        if (created[0]) {
+            start(pull);
+        } else {
+            coalesced.increment();
+        }
+        return pull;
+    }
+
+    public List<ImagePull> inFlight() {
+        return List.copyOf(inFlight.values());
+    }
+
+    public long foregroundPulls() {
+        return inFlight.values().stream().filter(pull -> !pull.isPrefetch()).count();
+    }
+
+    private void start(ImagePull pull) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ImageReference reference = ImageReference.parse(pull.reference());
+
+        // stream longo: fora do semáforo do gateway, como logs e eventos
+        try {
+            dockerGateway.streamingClient().pullImageCmd(reference.repository())
+                    .withTag(reference.tag())
+                    .exec(new ResultCallback.Adapter<PullResponseItem>() {
+                        @Override
+                        public void onNext(PullResponseItem item) {
+                            pull.update(item);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                            finish(pull, sample, throwable);
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            finish(pull, sample, null);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            finish(pull, sample, e);
+        }
+    }
+
+    private void finish(ImagePull pull, Timer.Sample sample, Throwable error) {
+        String outcome = "success";
+        try {
+            if (error != null) {
+                outcome = "error";
+                pull.result().completeExceptionally(error);
+                return;
+            }
+            ResolvedImage resolved = new ResolvedImage(pull.reference(), resolveDigest(pull.reference()), Instant.now());
+            digests.put(pull.reference(), resolved);
+            pull.result().complete(resolved);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            pull.result().completeExceptionally(e);
+        } finally {
+            inFlight.remove(pull.reference(), pull);
+            sample.stop(meterRegistry.timer("images.pulls", "outcome", outcome,
+                    "kind", pull.isPrefetch() ? "prefetch" : "deploy"));
+            if (pull.isPrefetch() && error == null) {
+                meterRegistry.counter("images.prefetch.bytes").increment(pull.totalBytes());
+            }
+        }
+    }
+
+    private String resolveDigest(String reference) {
+        try {
+            InspectImageResponse image = dockerGateway.execute("inspect-image",
+                    () -> dockerGateway.client().inspectImageCmd(reference).exec());
+            String repository = ImageReference.parse(reference).repository();
+            if (image.getRepoDigests() != null) {
+                for (String repoDigest : image.getRepoDigests()) {
+                    if (repoDigest.startsWith(repository + "@")) {
+                        return repoDigest.substring(repository.length() + 1);
+                    }
+                }
+            }
+            return image.getId();
+        } catch (NotFoundException e) {
+            throw new IllegalStateException("Imagem não encontrada após o pull: " + reference, e);
+        }
+    }
+
+    record ImageReference(String repository, String tag) {
+
+        static ImageReference parse(String reference) {
+            int digest = reference.indexOf('@');
+            if (digest >= 0) {
+                return new ImageReference(reference.substring(0, digest), reference.substring(digest + 1));
+            }
+            int colon = reference.lastIndexOf(':');
+            if (colon > reference.lastIndexOf('/')) {
+                return new ImageReference(reference.substring(0, colon), reference.substring(colon + 1));
+            }
+            return new ImageReference(reference, "latest");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.DeploymentStatus;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.DeployOrchestrator;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.DeploymentFinishedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Renova em segundo plano as imagens dos deploys recentes cujo digest saiu do
+ * cache, para o próximo redeploy não esperar o registry. Só roda com o
+ * orquestrador ocioso e respeita limites de concorrência e de banda.
+ */
+@Slf4j
+@Component
+public class ImagePrefetcher {
+
+    private final ImageManager imageManager;
+    private final DeployOrchestrator deployOrchestrator;
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final long bytesPerSecond;
+    private final Cache<String, Instant> recentImages;
+    private volatile long budgetAvailableAt;
+
+    public ImagePrefetcher(
+            ImageManager imageManager,
+            DeployOrchestrator deployOrchestrator,
+            @Value("${app.images.prefetch.enabled:true}") boolean enabled,
+            @Value("${app.images.prefetch.max-concurrent:2}") int maxConcurrent,
+            @Value("${app.images.prefetch.bandwidth:20MB}") DataSize bandwidthPerSecond,
+            @Value("${app.images.prefetch.recent-window:7d}") Duration recentWindow,
+            @Value("${app.images.prefetch.max-images:200}") long maxImages
+    ) {
+        this.imageManager = imageManager;
+        this.deployOrchestrator = deployOrchestrator;
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrent);
+        this.bytesPerSecond = Math.max(1, bandwidthPerSecond.toBytes());
+        this.recentImages = Caffeine.newBuilder()
+                .expireAfterWrite(recentWindow)
+                .maximumSize(maxImages)
+                .build();
+        this.budgetAvailableAt = System.nanoTime();
+    }
+
+    @EventListener
+    public void onDeploymentFinished(DeploymentFinishedEvent event) {
+        if (event.deployment().getStatus() == DeploymentStatus.SUCCEEDED) {
+            Instant now = Instant.now();
+            event.deployment().getImages().forEach(image -> recentImages.put(image, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.images.prefetch.interval:PT1M}", initialDelayString = "${app.images.prefetch.interval:PT1M}")
+    public void prefetch() {
+        if (!enabled) {
+            return;
+        }
+        List<String> candidates = recentImages.asMap().entrySet().stream()
+                .sorted(Map.Entry.<String, Instant>comparingByValue(Comparator.reverseOrder()))
+                .map(Map.Entry::getKey)
+                .filter(image -> !imageManager.isFresh(image))
+                .toList();
+
+        for (String image : candidates) {
+            if (!isIdle() || System.nanoTime() - budgetAvailableAt < 0 || !permits.tryAcquire()) {
+                return;
+            }
+            ImagePull pull = imageManager.pull(image, true);
+            pull.result().whenComplete((resolved, error) -> {
+                permits.release();
+                charge(pull.downloadedBytes());
+                if (error != null) {
+                    log.debug("Prefetch de {} falhou: {}", image, error.getMessage());
+                }
+            });
+        }
+    }
+
+    private boolean isIdle() {
+        return deployOrchestrator.activeDeployments() == 0 && imageManager.foregroundPulls() == 0;
+    }
+
+    /**
+     * O daemon não aceita limite de banda por pull; o orçamento é aplicado na
+     * média, adiando o próximo prefetch pelo tempo que os bytes baixados
+     * levariam na taxa configurada.
+     */
+    private synchronized void charge(long bytes) {
+        long delay = Duration.ofSeconds(bytes / bytesPerSecond).toNanos()
+                + (bytes % bytesPerSecond) * 1_000_000_000L / bytesPerSecond;
+        long now = System.nanoTime();
+        budgetAvailableAt = (now - budgetAvailableAt > 0 ? now : budgetAvailableAt) + delay;
+    }
+}
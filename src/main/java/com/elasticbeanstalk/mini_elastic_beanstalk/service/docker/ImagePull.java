@@ -0,0 +1,90 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.dockerjava.api.model.PullResponseItem;
+import com.github.dockerjava.api.model.ResponseItem;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Um pull em andamento, compartilhado por todos que pediram a mesma
+ * referência. O progresso é atualizado pela thread do stream do daemon.
+ */
+public class ImagePull {
+
+    private final String reference;
+    private final boolean prefetch;
+    private final Instant startedAt = Instant.now();
+    private final CompletableFuture<ResolvedImage> result = new CompletableFuture<>();
+    private final Map<String, LayerProgress> layers = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger(1);
+    private volatile String status = "Iniciando";
+
+    ImagePull(String reference, boolean prefetch) {
+        this.reference = reference;
+        this.prefetch = prefetch;
+    }
+
+    public String reference() {
+        return reference;
+    }
+
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    public CompletableFuture<ResolvedImage> result() {
+        return result;
+    }
+
+    public String status() {
+        return status;
+    }
+
+    public int waiters() {
+        return waiters.get();
+    }
+
+    public long downloadedBytes() {
+        return layers.values().stream().mapToLong(LayerProgress::current).sum();
+    }
+
+    public long totalBytes() {
+        return layers.values().stream().mapToLong(LayerProgress::total).sum();
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    void join() {
+        waiters.incrementAndGet();
+    }
+
+    void update(PullResponseItem item) {
+        if (item.getStatus() != null) {
+            status = item.getStatus();
+        }
+        String layer = item.getId();
+        ResponseItem.ProgressDetail detail = item.getProgressDetail();
+        if (layer == null || detail == null || detail.getTotal() == null || detail.getTotal() <= 0) {
+            return;
+        }
+        // o daemon manda progresso de download e depois de extração; só o download conta
+        if ("Downloading".equals(item.getStatus())) {
+            layers.put(layer, new LayerProgress(detail.getCurrent() != null ? detail.getCurrent() : 0, detail.getTotal()));
+        } else if ("Download complete".equals(item.getStatus()) || "Pull complete".equals(item.getStatus())) {
+            layers.computeIfPresent(layer, (id, progress) -> new LayerProgress(progress.total(), progress.total()));
+        }
+    }
+
+    private record LayerProgress(long current, long total) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import java.time.Instant;
+
+public record ResolvedImage(String reference, String digest, Instant resolvedAt) {
+}
@@ -0,0 +1,78 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expõe no Actuator a saúde de cada servidor ({@code /actuator/health/apps/containers/<serverId>}),
+ * lida do último resultado dos probes, sem fazer I/O. Fica só no grupo
+ * {@code apps}: nem a raiz nem os grupos de liveness/readiness incluem este
+ * contribuidor.
+ */
+@Component("containers")
+@ConditionalOnProperty(name = "app.health.enabled", havingValue = "true", matchIfMissing = true)
+public class ContainerHealthContributor implements CompositeHealthContributor {
+
+    private static final int MAX_FAILING_DETAILS = 20;
+
+    private final HealthProber healthProber;
+
+    public ContainerHealthContributor(HealthProber healthProber) {
+        this.healthProber = healthProber;
+    }
+
+    @Override
+    public HealthContributor getContributor(String serverId) {
+        return healthProber.servers().contains(serverId) ? indicator(serverId) : null;
+    }
+
+    @Override
+    public Iterator<NamedContributor<HealthContributor>> iterator() {
+        return healthProber.servers().stream()
+                .sorted()
+                .map(serverId -> NamedContributor.of(serverId, (HealthContributor) indicator(serverId)))
+                .iterator();
+    }
+
+    private HealthIndicator indicator(String serverId) {
+        return () -> health(healthProber.snapshot(serverId));
+    }
+
+    static Health health(List<TargetHealth> targets) {
+        int up = 0;
+        int unknown = 0;
+        List<Map<String, Object>> failing = new ArrayList<>();
+        for (TargetHealth target : targets) {
+            switch (target.status()) {
+                case HEALTHY -> up++;
+                case UNKNOWN -> unknown++;
+                case UNHEALTHY -> {
+                    if (failing.size() < MAX_FAILING_DETAILS) {
+                        failing.add(Map.of(
+                                "container", target.target().name(),
+                                "endpoint", target.target().endpoint(),
+                                "error", String.valueOf(target.error()),
+                                "since", target.changedAt().toString()));
+                    }
+                }
+            }
+        }
+        int down = targets.size() - up - unknown;
+        Health.Builder builder = down > 0 ? Health.down() : up > 0 ? Health.up() : Health.unknown();
+        builder.withDetail("up", up).withDetail("down", down).withDetail("unknown", unknown);
+        if (!failing.isEmpty()) {
+            builder.withDetail("failing", failing);
+        }
+        return builder.build();
+    }
+}
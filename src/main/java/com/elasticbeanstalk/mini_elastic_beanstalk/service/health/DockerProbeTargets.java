@@ -0,0 +1,87 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.HealthProbeProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerEndpoint;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mantém os alvos do {@link HealthProber} em sincronia com os containers
+ * rodando. O endereço vem do inspect, via {@link ContainerEndpoint}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.health.enabled", havingValue = "true", matchIfMissing = true)
+public class DockerProbeTargets {
+
+    @Autowired
+    private ContainerStateIndex containerStateIndex;
+    @Autowired
+    private DockerGateway dockerGateway;
+    @Autowired
+    private HealthProber healthProber;
+    @Autowired
+    private HealthProbeProperties properties;
+
+    // o listener roda na thread de eventos do Docker; o inspect não pode bloqueá-la
+    private ExecutorService resolver;
+
+    @PostConstruct
+    public void register() {
+        resolver = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "health-targets");
+            thread.setDaemon(true);
+            return thread;
+        });
+        containerStateIndex.addListener(this::onChange);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resolver.shutdownNow();
+    }
+
+    private void onChange(ContainerStateChange change) {
+        ContainerState current = change.current();
+        if (current != null && current.isRunning() && current.serverId() != null) {
+            resolver.execute(() -> resolve(current));
+        } else {
+            healthProber.unregister(change.containerId());
+        }
+    }
+
+    private void resolve(ContainerState container) {
+        try {
+            InspectContainerResponse inspect = dockerGateway.inspectContainer(container.id());
+            target(container, inspect).ifPresentOrElse(healthProber::register,
+                    () -> log.debug("Container {} sem porta TCP para health check", container.name()));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao resolver alvo de health check de {}: {}", container.name(), e.getMessage());
+        }
+    }
+
+    private Optional<ProbeTarget> target(ContainerState container, InspectContainerResponse inspect) {
+        Map<String, String> labels = container.labels();
+        String path = labels.get(DockerLabels.HEALTH_PATH);
+        ProbeKind kind = path != null && !path.isBlank() ? ProbeKind.HTTP : ProbeKind.TCP;
+        return ContainerEndpoint.resolve(inspect, ContainerEndpoint.port(labels.get(DockerLabels.HEALTH_PORT)),
+                        properties.publishedHost())
+                .map(endpoint -> new ProbeTarget(container.id(), container.serverId(), container.name(), kind,
+                        endpoint.host(), endpoint.port(), path));
+    }
+}
@@ -0,0 +1,147 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer em roda (hashed timing wheel): agendar e cancelar são O(1), e a cada
+ * tick só o balde da vez é percorrido. Troca precisão (no máximo um tick de
+ * atraso) por custo constante com dezenas de milhares de timeouts pendentes.
+ * As tarefas vencidas rodam no executor, nunca na thread da roda.
+ */
+@Slf4j
+final class HashedWheelTimer implements AutoCloseable {
+
+    // limite por tick para uma rajada de agendamentos não atrasar a roda
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final ArrayList<Timeout>[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(2, ticksPerWheel - 1)) << 1;
+        this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        this.wheel = new ArrayList[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay)));
+        if (!running) {
+            timeout.cancel();
+            return timeout;
+        }
+        scheduled.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    int scheduled() {
+        return scheduled.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startNanos);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.cancelled) {
+                scheduled.decrementAndGet();
+                continue;
+            }
+            long expiresAt = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiresAt - tick) / wheel.length;
+            // já vencido: vai para o balde atual, que é processado em seguida
+            wheel[(int) (Math.max(expiresAt, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayList<Timeout> bucket) {
+        int i = 0;
+        while (i < bucket.size()) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.cancelled || timeout.remainingRounds <= 0) {
+                // remove trocando com o último: ordem dentro do balde não importa
+                bucket.set(i, bucket.getLast());
+                bucket.removeLast();
+                scheduled.decrementAndGet();
+                if (!timeout.cancelled) {
+                    fire(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+                i++;
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Tarefa do timer rejeitada: {}", e.getMessage());
+        }
+    }
+
+    static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
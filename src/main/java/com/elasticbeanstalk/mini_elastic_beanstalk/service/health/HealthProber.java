@@ -0,0 +1,331 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.HealthProbeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de health check dos containers. Cada alvo tem um único timeout
+ * pendente na roda ({@link HashedWheelTimer}); o probe é assíncrono (HttpClient
+ * compartilhado ou connect não bloqueante) e, ao terminar, reagenda o próximo
+ * com intervalo adaptativo e jitter. Poucas threads atendem milhares de alvos.
+ */
+@Slf4j
+@Service
+public class HealthProber implements SmartLifecycle {
+
+    private final HealthProbeProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Probe> probes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, Probe>> byServer = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Counter skipped;
+
+    private volatile boolean started;
+    private ExecutorService executor;
+    private HashedWheelTimer timer;
+    private HttpClient httpClient;
+    private AsynchronousChannelGroup channelGroup;
+
+    public HealthProber(HealthProbeProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(Math.max(1, properties.maxInFlight()));
+        this.skipped = meterRegistry.counter("health.probe.deferred");
+        Gauge.builder("health.probe.targets", probes, Map::size).register(meterRegistry);
+        Gauge.builder("health.probe.in-flight", running, AtomicInteger::get).register(meterRegistry);
+        for (TargetStatus status : TargetStatus.values()) {
+            Gauge.builder("health.targets", this, prober -> prober.count(status))
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void register(ProbeTarget target) {
+        Probe probe = new Probe(target);
+        Probe previous = probes.put(target.containerId(), probe);
+        if (previous != null) {
+            previous.cancel();
+            remove(previous);
+        }
+        byServer.computeIfAbsent(target.serverId(), id -> new ConcurrentHashMap<>()).put(target.containerId(), probe);
+        if (started) {
+            // primeiro probe espalhado no intervalo inteiro: um redeploy grande não vira rajada
+            probe.schedule(ThreadLocalRandom.current().nextLong(Math.max(1, properties.interval().toNanos())));
+        }
+    }
+
+    public void unregister(String containerId) {
+        Probe probe = probes.remove(containerId);
+        if (probe != null) {
+            probe.cancel();
+            remove(probe);
+        }
+    }
+
+    public List<TargetHealth> snapshot(String serverId) {
+        Map<String, Probe> server = byServer.get(serverId);
+        if (server == null) {
+            return List.of();
+        }
+        List<TargetHealth> result = new ArrayList<>(server.size());
+        for (Probe probe : server.values()) {
+            result.add(probe.health);
+        }
+        result.sort(Comparator.comparing(health -> health.target().name()));
+        return result;
+    }
+
+    public Set<String> servers() {
+        return Collections.unmodifiableSet(byServer.keySet());
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, properties.threads()), runnable -> {
+            Thread thread = new Thread(runnable, "health-probe-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            channelGroup = AsynchronousChannelGroup.withThreadPool(executor);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao criar grupo de canais dos probes", e);
+        }
+        httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(properties.timeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        timer = new HashedWheelTimer("health-probe-wheel", properties.tick().toNanos(), TimeUnit.NANOSECONDS,
+                512, executor);
+        started = true;
+        long spread = Math.max(1, properties.interval().toNanos());
+        for (Probe probe : probes.values()) {
+            probe.schedule(ThreadLocalRandom.current().nextLong(spread));
+        }
+        log.info("Health probes ativos para {} alvos", probes.size());
+    }
+
+    @Override
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        timer.close();
+        httpClient.shutdownNow();
+        channelGroup.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    private void remove(Probe probe) {
+        Map<String, Probe> server = byServer.get(probe.target.serverId());
+        if (server != null) {
+            server.remove(probe.target.containerId(), probe);
+            if (server.isEmpty()) {
+                byServer.computeIfPresent(probe.target.serverId(), (id, map) -> map.isEmpty() ? null : map);
+            }
+        }
+    }
+
+    private long count(TargetStatus status) {
+        long count = 0;
+        for (Probe probe : probes.values()) {
+            if (probe.health.status() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long jittered(long nanos) {
+        double jitter = Math.clamp(properties.jitter(), 0, 0.9);
+        return (long) (nanos * (1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private CompletableFuture<Void> probeHttp(ProbeTarget target) {
+        HttpRequest request = HttpRequest.newBuilder(target.uri())
+                .timeout(properties.timeout())
+                .header("User-Agent", "mini-elastic-beanstalk-health")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() < 200 || response.statusCode() >= 400) {
+                        throw new CompletionException(new IOException("HTTP " + response.statusCode()));
+                    }
+                });
+    }
+
+    private CompletableFuture<Void> probeTcp(ProbeTarget target) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(channelGroup);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HashedWheelTimer.Timeout deadline = timer.schedule(
+                () -> result.completeExceptionally(new TimeoutException("timeout de " + properties.timeout())),
+                properties.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        channel.connect(new InetSocketAddress(target.host(), target.port()), null, new CompletionHandler<Void, Void>() {
+            @Override
+            public void completed(Void ignored, Void attachment) {
+                result.complete(null);
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result.whenComplete((ignored, error) -> {
+            deadline.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.trace("Erro ao fechar canal do probe", e);
+            }
+        });
+    }
+
+    private final class Probe {
+
+        private final ProbeTarget target;
+        private volatile TargetHealth health;
+        private volatile HashedWheelTimer.Timeout next;
+        private volatile boolean cancelled;
+        // só alterados por quem conclui o probe; há no máximo um probe por alvo em andamento
+        private int successes;
+        private int failures;
+        private long intervalNanos;
+
+        private Probe(ProbeTarget target) {
+            this.target = target;
+            this.intervalNanos = properties.interval().toNanos();
+            this.health = TargetHealth.unknown(target, properties.interval());
+        }
+
+        private void schedule(long delayNanos) {
+            if (!cancelled && started) {
+                next = timer.schedule(this::run, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            HashedWheelTimer.Timeout current = next;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void run() {
+            if (cancelled) {
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                // saturado: adia um pouco em vez de enfileirar conexões
+                skipped.increment();
+                schedule(jittered(properties.minInterval().toNanos()));
+                return;
+            }
+            running.incrementAndGet();
+            long start = System.nanoTime();
+            CompletableFuture<Void> probe;
+            try {
+                probe = target.kind() == ProbeKind.HTTP ? probeHttp(target) : probeTcp(target);
+            } catch (RuntimeException e) {
+                probe = CompletableFuture.failedFuture(e);
+            }
+            probe.whenComplete((ignored, error) -> {
+                running.decrementAndGet();
+                inFlight.release();
+                complete(error, System.nanoTime() - start);
+            });
+        }
+
+        private void complete(Throwable error, long latencyNanos) {
+            boolean ok = error == null;
+            meterRegistry.timer("health.probe.latency", "kind", target.kind().name().toLowerCase(),
+                    "outcome", ok ? "success" : "failure").record(latencyNanos, TimeUnit.NANOSECONDS);
+
+            TargetHealth previous = health;
+            TargetStatus status = previous.status();
+            if (ok) {
+                successes++;
+                failures = 0;
+                if (successes >= properties.healthyThreshold()) {
+                    status = TargetStatus.HEALTHY;
+                }
+            } else {
+                failures++;
+                successes = 0;
+                if (failures >= properties.unhealthyThreshold()) {
+                    status = TargetStatus.UNHEALTHY;
+                }
+            }
+
+            // saudável e estável: espaça até maxInterval; qualquer dúvida volta ao mínimo
+            if (ok && status == TargetStatus.HEALTHY) {
+                long base = Math.max(intervalNanos, properties.interval().toNanos());
+                intervalNanos = Math.min(properties.maxInterval().toNanos(), base + base / 2);
+            } else {
+                intervalNanos = properties.minInterval().toNanos();
+            }
+
+            Instant now = Instant.now();
+            Instant changedAt = previous.changedAt();
+            if (status != previous.status()) {
+                changedAt = now;
+                meterRegistry.counter("health.probe.transitions", "to", status.name().toLowerCase()).increment();
+                log.info("Container {} ({}) agora {}{}", target.name(), target.serverId(), status,
+                        ok ? "" : ": " + message(error));
+            }
+            health = new TargetHealth(target, status, failures, Duration.ofNanos(latencyNanos),
+                    ok ? null : message(error), now, changedAt, Duration.ofNanos(intervalNanos));
+            schedule(jittered(intervalNanos));
+        }
+    }
+
+    private static String message(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String message = cause.getMessage();
+        return message != null ? message : cause.getClass().getSimpleName();
+    }
+}
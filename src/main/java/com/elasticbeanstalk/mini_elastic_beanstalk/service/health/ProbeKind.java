@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+public enum ProbeKind {
+    HTTP,
+    TCP
+}
@@ -0,0 +1,20 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import java.net.URI;
+
+public record ProbeTarget(String containerId,
+                          String serverId,
+                          String name,
+                          ProbeKind kind,
+                          String host,
+                          int port,
+                          String path) {
+
+    public String endpoint() {
+        return kind == ProbeKind.HTTP ? uri().toString() : "tcp://" + host + ":" + port;
+    }
+
+    URI uri() {
+        return URI.create("http://" + host + ":" + port + (path.startsWith("/") ? path : "/" + path));
+    }
+}
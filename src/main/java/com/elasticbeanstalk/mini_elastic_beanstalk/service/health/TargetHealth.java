@@ -0,0 +1,19 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record TargetHealth(ProbeTarget target,
+                           TargetStatus status,
+                           int consecutiveFailures,
+                           Duration latency,
+                           String error,
+                           Instant checkedAt,
+                           Instant changedAt,
+                           Duration interval) {
+
+    static TargetHealth unknown(ProbeTarget target, Duration interval) {
+        Instant now = Instant.now();
+        return new TargetHealth(target, TargetStatus.UNKNOWN, 0, null, null, null, now, interval);
+    }
+}
@@ -0,0 +1,7 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+public enum TargetStatus {
+    UNKNOWN,
+    HEALTHY,
+    UNHEALTHY
+}
@@ -0,0 +1,277 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Diário write-behind. Quem registra só faz um offer sem lock numa fila
+ * limitada; se ela estiver cheia o evento é descartado e contado, nunca
+ * espera. Uma única thread drena em lotes e grava no banco; se a gravação
+ * passar do flush-timeout, falhar ou o banco estiver em backoff, os lotes vão
+ * para o arquivo de transbordo e são reaplicados quando o banco voltar.
+ */
+@Slf4j
+@Component
+public class EventJournal implements SmartLifecycle {
+
+    private final JournalSink sink;
+    private final JournalSpill spill;
+    private final MpscArrayQueue<JournalEntry> queue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration flushTimeout;
+    private final long retryBackoffNanos;
+    private final Duration shutdownTimeout;
+
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter written;
+    private final Counter replayed;
+    private final DistributionSummary batchSizes;
+    private final Timer flushLatency;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+    private ExecutorService database;
+    // só a thread do writer altera
+    private Future<?> inFlight;
+    private volatile long retryAtNanos = System.nanoTime();
+
+    public EventJournal(
+            JournalSink sink,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.journal.enabled:true}") boolean enabled,
+            @Value("${app.journal.capacity:65536}") int capacity,
+            @Value("${app.journal.batch-size:500}") int batchSize,
+            @Value("${app.journal.flush-interval:200ms}") Duration flushInterval,
+            @Value("${app.journal.flush-timeout:2s}") Duration flushTimeout,
+            @Value("${app.journal.retry-backoff:10s}") Duration retryBackoff,
+            @Value("${app.journal.shutdown-timeout:10s}") Duration shutdownTimeout,
+            @Value("${app.journal.spill-path:/data/journal}") Path spillPath
+    ) {
+        this.sink = sink;
+        this.spill = new JournalSpill(spillPath, objectMapper, meterRegistry.counter("journal.spill.corrupt"));
+        this.queue = new MpscArrayQueue<>(capacity);
+        this.enabled = enabled;
+        // 7 parâmetros por linha; o PostgreSQL aceita até 65535 por instrução
+        this.batchSize = Math.clamp(batchSize, 1, 9000);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flushTimeout = flushTimeout;
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.dropped = meterRegistry.counter("journal.dropped");
+        this.spilled = meterRegistry.counter("journal.spilled");
+        this.written = meterRegistry.counter("journal.written");
+        this.replayed = meterRegistry.counter("journal.replayed");
+        this.batchSizes = DistributionSummary.builder("journal.batch.size").register(meterRegistry);
+        this.flushLatency = Timer.builder("journal.flush.latency").register(meterRegistry);
+        Gauge.builder("journal.queue.depth", queue, MpscArrayQueue::size).register(meterRegistry);
+        Gauge.builder("journal.spill.bytes", spill, JournalSpill::bytes).register(meterRegistry);
+    }
+
+    public boolean append(JournalCategory category, String action, String actor,
+                          String serverId, String reference, String detail) {
+        return append(new JournalEntry(category, action, actor, serverId, reference, detail, Instant.now()));
+    }
+
+    /**
+     * Nunca bloqueia: retorna false se o evento foi descartado.
+     */
+    public boolean append(JournalEntry entry) {
+        if (!enabled) {
+            return false;
+        }
+        if (!queue.offer(entry)) {
+            dropped.increment();
+            return false;
+        }
+        if (queue.size() >= batchSize) {
+            Thread current = writer;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        database = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-journal-db");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        Thread thread = new Thread(this::drain, "event-journal-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Drena o que ainda estiver na fila antes de parar. Roda depois do
+     * servidor web ter parado (ver getPhase), então ninguém mais registra.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Diário não terminou de drenar em {}; {} eventos pendentes", shutdownTimeout, queue.size());
+        }
+        database.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // menor que a do desligamento gracioso do servidor web: para depois dele
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            batch.clear();
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                if (running) {
+                    replayIfIdle();
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+                continue;
+            }
+            flush(List.copyOf(batch));
+        }
+        awaitInFlight();
+    }
+
+    private void flush(List<JournalEntry> batch) {
+        batchSizes.record(batch.size());
+        if (!databaseAvailable()) {
+            spill(batch);
+            return;
+        }
+        Future<?> write = database.submit(() -> write(batch));
+        try {
+            write.get(flushTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // segue gravando no banco; enquanto não termina, os próximos lotes vão para o arquivo
+            inFlight = write;
+            log.debug("Gravação do diário passou de {}; desviando para o arquivo", flushTimeout);
+        } catch (ExecutionException e) {
+            log.warn("Falha inesperada no diário: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            spill(batch);
+        }
+    }
+
+    private void write(List<JournalEntry> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            retryAtNanos = System.nanoTime() + retryBackoffNanos;
+            log.warn("Banco indisponível para o diário ({}); {} eventos no arquivo", e.getMessage(), batch.size());
+            spill(batch);
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(List<JournalEntry> batch) {
+        try {
+            spill.append(batch);
+            spilled.increment(batch.size());
+        } catch (RuntimeException e) {
+            dropped.increment(batch.size());
+            log.error("Falha ao gravar {} eventos no arquivo do diário: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    // reaplica o arquivo só com a fila vazia e o banco livre, sem esperar pelo resultado
+    private void replayIfIdle() {
+        if (!databaseAvailable() || !spill.hasPending()) {
+            return;
+        }
+        inFlight = database.submit(() -> {
+            try {
+                int count = spill.replay(sink, batchSize);
+                if (count > 0) {
+                    replayed.increment(count);
+                    written.increment(count);
+                    log.info("{} eventos do arquivo do diário reaplicados", count);
+                }
+            } catch (RuntimeException e) {
+                retryAtNanos = System.nanoTime() + retryBackoffNanos;
+                log.warn("Falha ao reaplicar o arquivo do diário: {}", e.getMessage());
+            }
+        });
+    }
+
+    private boolean databaseAvailable() {
+        if (inFlight != null) {
+            if (!inFlight.isDone()) {
+                return false;
+            }
+            inFlight = null;
+        }
+        return System.nanoTime() - retryAtNanos >= 0;
+    }
+
+    private void awaitInFlight() {
+        if (inFlight == null) {
+            return;
+        }
+        try {
+            inFlight.get(flushTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Gravação do diário ainda pendente no desligamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Um INSERT multi-valores por lote: uma ida ao banco e um único plano,
+ * em vez de uma instrução por evento.
+ */
+@Component
+public class JdbcJournalSink implements JournalSink {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO journal_events (category, action, actor, server_id, reference, detail, occurred_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int DETAIL_MAX_LENGTH = 2048;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcJournalSink(DataSource dataSource,
+                           @Value("${app.journal.statement-timeout:5s}") Duration statementTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, statementTimeout.toSeconds()));
+    }
+
+    @Override
+    public void write(List<JournalEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(batch.size() * 7);
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            JournalEntry entry = batch.get(i);
+            args.add(entry.category().name());
+            args.add(entry.action());
+            args.add(entry.actor());
+            args.add(entry.serverId());
+            args.add(entry.reference());
+            args.add(truncate(entry.detail()));
+            args.add(Timestamp.from(entry.occurredAt()));
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static String truncate(String detail) {
+        if (detail == null || detail.length() <= DETAIL_MAX_LENGTH) {
+            return detail;
+        }
+        return detail.substring(0, DETAIL_MAX_LENGTH);
+    }
+}
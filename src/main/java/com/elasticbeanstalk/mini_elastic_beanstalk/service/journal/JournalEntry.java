@@ -0,0 +1,18 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+
+import java.time.Instant;
+
+/**
+ * @param actor     quem causou (e-mail, "system")
+ * @param reference id do objeto afetado (deploy, container)
+ */
+public record JournalEntry(JournalCategory category,
+                           String action,
+                           String actor,
+                           String serverId,
+                           String reference,
+                           String detail,
+                           Instant occurredAt) {
+}
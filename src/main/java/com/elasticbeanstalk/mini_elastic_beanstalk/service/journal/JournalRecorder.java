@@ -0,0 +1,52 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Registra no diário as mudanças de estado e de health dos containers
+ * gerenciados. Roda na thread de eventos do Docker, por isso só faz append.
+ */
+@Component
+public class JournalRecorder {
+
+    @Autowired
+    private ContainerStateIndex containerStateIndex;
+    @Autowired
+    private EventJournal journal;
+
+    @PostConstruct
+    public void register() {
+        containerStateIndex.addListener(this::onChange);
+    }
+
+    private void onChange(ContainerStateChange change) {
+        if (change.serverId() == null) {
+            return;
+        }
+        ContainerState previous = change.previous();
+        ContainerState current = change.current();
+        String action;
+        String detail;
+        if (current == null) {
+            action = "REMOVED";
+            detail = previous.state();
+        } else if (previous == null || !Objects.equals(previous.state(), current.state())) {
+            action = "STATE";
+            detail = current.state();
+        } else if (!Objects.equals(previous.health(), current.health())) {
+            action = "HEALTH";
+            detail = current.health();
+        } else {
+            return;
+        }
+        journal.append(JournalCategory.CONTAINER, action, null, change.serverId(), change.containerId(), detail);
+    }
+}
@@ -0,0 +1,11 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import java.util.List;
+
+public interface JournalSink {
+
+    /**
+     * Grava o lote inteiro ou lança exceção; chamado por uma thread por vez.
+     */
+    void write(List<JournalEntry> batch);
+}
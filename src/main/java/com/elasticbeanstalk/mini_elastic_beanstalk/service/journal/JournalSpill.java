@@ -0,0 +1,185 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arquivo local só de acréscimo (um JSON por linha) para quando o banco está
+ * lento ou fora. Na reaplicação o arquivo é renomeado antes de ser lido, e
+ * novos lotes vão para um arquivo novo. Cada lote gravado avança um marcador
+ * com as linhas já consumidas, e uma nova tentativa continua dali; só o lote
+ * em andamento numa queda pode ser gravado duas vezes. Linhas ilegíveis (a
+ * última linha cortada por uma queda no meio do append, por exemplo) vão para
+ * um arquivo à parte em vez de travar a reaplicação.
+ */
+@Slf4j
+final class JournalSpill {
+
+    private static final String ACTIVE = "journal-spill.jsonl";
+    private static final String REPLAYING = "journal-spill.replaying.jsonl";
+    private static final String PROGRESS = "journal-spill.replaying.offset";
+    private static final String CORRUPT = "journal-spill.corrupt.jsonl";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Counter corrupt;
+
+    JournalSpill(Path directory, ObjectMapper objectMapper, Counter corrupt) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.corrupt = corrupt;
+    }
+
+    synchronized void append(List<JournalEntry> batch) {
+        try {
+            Files.createDirectories(directory);
+            Path active = directory.resolve(ACTIVE);
+            boolean tornTail = endsWithoutNewline(active);
+            try (BufferedWriter writer = Files.newBufferedWriter(active,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (tornTail) {
+                    // sobra de um append interrompido: isola para não emendar com a próxima linha
+                    writer.newLine();
+                }
+                for (JournalEntry entry : batch) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    boolean hasPending() {
+        return size(directory.resolve(REPLAYING)) > 0 || size(directory.resolve(ACTIVE)) > 0;
+    }
+
+    long bytes() {
+        return size(directory.resolve(REPLAYING)) + size(directory.resolve(ACTIVE));
+    }
+
+    /**
+     * Reenvia o que estiver no arquivo ao sink, em lotes, a partir da última
+     * linha confirmada. Retorna quantas entradas foram gravadas; em caso de
+     * falha o restante fica para a próxima.
+     */
+    int replay(JournalSink sink, int batchSize) {
+        Path replaying = directory.resolve(REPLAYING);
+        Path progress = directory.resolve(PROGRESS);
+        try {
+            if (!Files.exists(replaying)) {
+                synchronized (this) {
+                    Path active = directory.resolve(ACTIVE);
+                    if (!Files.exists(active)) {
+                        return 0;
+                    }
+                    Files.deleteIfExists(progress);
+                    Files.move(active, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            long consumed = readProgress(progress);
+            long line = 0;
+            int replayed = 0;
+            List<JournalEntry> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replaying)) {
+                String text;
+                while ((text = reader.readLine()) != null) {
+                    if (++line <= consumed || text.isBlank()) {
+                        continue;
+                    }
+                    JournalEntry entry;
+                    try {
+                        entry = objectMapper.readValue(text, JournalEntry.class);
+                    } catch (JsonProcessingException e) {
+                        // confirma o lote anterior antes, para a linha não ser isolada duas vezes
+                        if (!batch.isEmpty()) {
+                            sink.write(batch);
+                            replayed += batch.size();
+                            batch.clear();
+                        }
+                        quarantine(text);
+                        writeProgress(progress, line);
+                        continue;
+                    }
+                    batch.add(entry);
+                    if (batch.size() == batchSize) {
+                        sink.write(batch);
+                        replayed += batch.size();
+                        batch.clear();
+                        writeProgress(progress, line);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.write(batch);
+                replayed += batch.size();
+            }
+            // marcador primeiro: sem ele, uma queda aqui só regrava o arquivo
+            Files.deleteIfExists(progress);
+            Files.delete(replaying);
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void quarantine(String text) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(CORRUPT),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(text);
+            writer.newLine();
+        }
+        corrupt.increment();
+        log.warn("Linha ilegível do arquivo do diário movida para {}", CORRUPT);
+    }
+
+    private static long readProgress(Path progress) {
+        try {
+            return Files.exists(progress) ? Long.parseLong(Files.readString(progress).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            // marcador ilegível: recomeça do início, ao custo de regravar
+            return 0;
+        }
+    }
+
+    private void writeProgress(Path progress, long line) throws IOException {
+        Path temp = directory.resolve(PROGRESS + ".tmp");
+        Files.writeString(temp, Long.toString(line));
+        Files.move(temp, progress, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean endsWithoutNewline(Path file) throws IOException {
+        if (size(file) == 0) {
+            return false;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) != '\n';
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila limitada, sem lock, para vários produtores e um único consumidor.
+ * Produtores reservam uma posição com CAS no índice de produção e publicam o
+ * elemento com escrita release; o consumidor lê com acquire e libera a
+ * posição. Uma posição reservada e ainda não publicada aparece como vazia:
+ * o consumidor para ali e retoma na próxima drenagem.
+ */
+final class MpscArrayQueue<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    MpscArrayQueue(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Retorna false, sem esperar, se a fila estiver cheia.
+     */
+    boolean offer(E element) {
+        long limit = consumerIndex.get() + capacity();
+        while (true) {
+            long index = producerIndex.get();
+            if (index >= limit) {
+                // releitura: o consumidor pode ter avançado desde a primeira leitura
+                limit = consumerIndex.get() + capacity();
+                if (index >= limit) {
+                    return false;
+                }
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                buffer.setRelease((int) (index & mask), element);
+                return true;
+            }
+        }
+    }
+
+    // só a thread consumidora
+    int drainTo(List<E> target, int max) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (index & mask);
+            E element = buffer.getAcquire(slot);
+            if (element == null) {
+                break;
+            }
+            buffer.setPlain(slot, null);
+            target.add(element);
+            index++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumerIndex.setRelease(index);
+        }
+        return drained;
+    }
+
+    int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+}
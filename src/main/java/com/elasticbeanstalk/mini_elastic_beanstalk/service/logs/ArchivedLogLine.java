@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import java.time.Instant;
+
+public record ArchivedLogLine(Instant timestamp, LogStreamType stream, String text) {
+}
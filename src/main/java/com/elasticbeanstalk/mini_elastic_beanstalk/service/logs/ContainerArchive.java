@@ -0,0 +1,176 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Segmentos de um container, com timestamps em nanossegundos. Escrita
+ * serializada pelo monitor; leituras usam a lista copy-on-write e não
+ * bloqueiam o escritor.
+ */
+final class ContainerArchive {
+
+    private final Path directory;
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    private LogSegment active;
+    private long activeCreatedAt;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private int linesAtLastTimestamp;
+    // depois de um attach pelo tail, descarta a repetição até o ponto já arquivado
+    private boolean resuming;
+    private int replayedToSkip;
+    private ByteBuffer record = ByteBuffer.allocate(1024);
+
+    private ContainerArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    static ContainerArchive load(Path directory) throws IOException {
+        ContainerArchive archive = new ContainerArchive(directory);
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(LogSegment::isSegmentFile).sorted().toList()) {
+                    archive.segments.add(LogSegment.load(file));
+                }
+            }
+            if (!archive.segments.isEmpty()) {
+                LogSegment.Tail tail = archive.segments.getLast().tail();
+                archive.lastTimestamp = tail.timestamp();
+                archive.linesAtLastTimestamp = tail.lines();
+                archive.resume();
+            }
+        }
+        return archive;
+    }
+
+    synchronized void append(LogStreamType stream, long timestamp, String line, long maxLineBytes,
+                             long maxSegmentBytes, long maxSegmentAgeMillis, int indexInterval) throws IOException {
+        if (resuming) {
+            if (timestamp < lastTimestamp) {
+                return;
+            }
+            if (timestamp == lastTimestamp && replayedToSkip > 0) {
+                replayedToSkip--;
+                return;
+            }
+            resuming = false;
+        }
+        // linhas distintas com o mesmo timestamp são comuns em rajadas: todas entram
+        if (timestamp == lastTimestamp) {
+            linesAtLastTimestamp++;
+        } else if (timestamp > lastTimestamp) {
+            lastTimestamp = timestamp;
+            linesAtLastTimestamp = 1;
+        }
+
+        byte[] text = line.getBytes(StandardCharsets.UTF_8);
+        int length = (int) Math.min(text.length, maxLineBytes);
+        int recordBytes = LogSegment.HEADER_BYTES + length;
+
+        long now = System.currentTimeMillis();
+        if (active == null
+                || active.size() + recordBytes > maxSegmentBytes
+                || now - activeCreatedAt > maxSegmentAgeMillis) {
+            roll(timestamp, now);
+        }
+
+        if (record.capacity() < recordBytes) {
+            record = ByteBuffer.allocate(Integer.highestOneBit(recordBytes) << 1);
+        }
+        record.clear();
+        record.putInt(length).putLong(timestamp).put((byte) (stream == LogStreamType.STDERR ? 1 : 0))
+                .put(text, 0, length)
+                .flip();
+        active.append(record, timestamp, indexInterval);
+    }
+
+    /**
+     * O próximo attach começa pelo tail: linhas anteriores ao último timestamp
+     * arquivado, e as já arquivadas nesse mesmo timestamp, são repetição.
+     */
+    synchronized void resume() {
+        resuming = lastTimestamp != Long.MIN_VALUE;
+        replayedToSkip = linesAtLastTimestamp;
+    }
+
+    List<ArchivedLogLine> query(long from, long to, byte[] needle, int limit) throws IOException {
+        List<LogSegment> snapshot = List.copyOf(segments);
+        List<ArchivedLogLine> lines = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            LogSegment segment = snapshot.get(i);
+            boolean coversFrom = i + 1 == snapshot.size() || snapshot.get(i + 1).firstTimestamp() > from;
+            if (!coversFrom) {
+                continue;
+            }
+            if (segment.firstTimestamp() > to || !segment.scan(from, to, needle, limit, lines)) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Remove segmentos inteiramente anteriores ao corte. O fim de um segmento é
+     * o início do próximo ou, para o último, a última modificação do arquivo.
+     */
+    synchronized int purge(long cutoff) throws IOException {
+        List<LogSegment> snapshot = List.copyOf(segments);
+        int removed = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            LogSegment segment = snapshot.get(i);
+            long end = i + 1 < snapshot.size()
+                    ? snapshot.get(i + 1).firstTimestamp()
+                    : lastModified(segment.file()) * 1_000_000;
+            if (end >= cutoff) {
+                break;
+            }
+            segments.remove(segment);
+            if (segment == active) {
+                active = null;
+            }
+            segment.delete();
+            removed++;
+        }
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    synchronized void close() throws IOException {
+        if (active != null) {
+            active.seal();
+            active = null;
+        }
+    }
+
+    private void roll(long timestamp, long now) throws IOException {
+        if (active != null) {
+            active.seal();
+        }
+        Files.createDirectories(directory);
+        long first = segments.isEmpty() ? timestamp : Math.max(timestamp, segments.getLast().firstTimestamp() + 1);
+        active = LogSegment.create(directory, first);
+        activeCreatedAt = now;
+        segments.add(active);
+        segments.sort(Comparator.comparingLong(LogSegment::firstTimestamp));
+    }
+
+    private static long lastModified(Path file) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out de um único attach de logs para N sessões. Cada linha vira um
+ * TextMessage compartilhado por todos os assinantes; cada assinante guarda só
+ * o seu cursor no ring.
+ */
+@Slf4j
+public class ContainerLogStream {
+
+    private final String containerId;
+    private final String serverId;
+    private final LogRing ring;
+    private final int backlogLines;
+    private final int coalesceThreshold;
+    private final int maxBatchLines;
+    private final Executor executor;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final Counter publishedLines;
+    private final Counter droppedLines;
+    private final Counter coalescedLines;
+
+    private volatile Closeable source;
+    private volatile boolean finished;
+    private volatile boolean retained;
+
+    // Ponto de retomada do attach; só o callback do attach corrente mexe nestes campos.
+    private Instant lastTimestamp;
+    private int linesAtLastTimestamp;
+    private Instant resumeFrom;
+    private int replayedToSkip;
+    private int reattachAttempts;
+
+    public ContainerLogStream(String containerId, String serverId, int capacity, int backlogLines, int coalesceThreshold,
+                              int maxBatchLines, Executor executor, MeterRegistry meterRegistry) {
+        this.containerId = containerId;
+        this.serverId = serverId;
+        this.ring = new LogRing(capacity);
+        this.backlogLines = Math.min(backlogLines, capacity - 1);
+        this.coalesceThreshold = coalesceThreshold;
+        this.maxBatchLines = maxBatchLines;
+        this.executor = executor;
+        this.publishedLines = meterRegistry.counter("logs.lines.published");
+        this.droppedLines = meterRegistry.counter("logs.lines.dropped");
+        this.coalescedLines = meterRegistry.counter("logs.lines.coalesced");
+    }
+
+    public String containerId() {
+        return containerId;
+    }
+
+    public String serverId() {
+        return serverId;
+    }
+
+    public void publish(LogStreamType stream, Instant timestamp, String line) {
+        ring.append(new TextMessage(encodeLine(stream, timestamp, line)));
+        publishedLines.increment();
+        signalAll();
+    }
+
+    public void finish() {
+        finished = true;
+        ring.append(new TextMessage("{\"type\":\"eof\"}"));
+        signalAll();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void subscribe(WebSocketSession session) {
+        Subscriber subscriber = new Subscriber(session, Math.max(ring.oldest(), ring.published() - backlogLines));
+        subscribers.put(session.getId(), subscriber);
+        subscriber.signal();
+    }
+
+    public void unsubscribe(WebSocketSession session) {
+        subscribers.remove(session.getId());
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    // mantém o attach aberto sem sessões, para quem consome as linhas fora do WebSocket
+    public boolean isRetained() {
+        return retained;
+    }
+
+    void setRetained(boolean retained) {
+        this.retained = retained;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Registra o timestamp da linha e diz se ela é nova. Depois de um
+     * {@link #resume()}, descarta o que o daemon reenvia até o ponto em que o
+     * attach anterior parou, inclusive linhas distintas com o mesmo timestamp.
+     */
+    boolean accept(Instant timestamp) {
+        if (resumeFrom != null) {
+            int order = timestamp.compareTo(resumeFrom);
+            if (order < 0) {
+                return false;
+            }
+            if (order == 0 && replayedToSkip > 0) {
+                replayedToSkip--;
+                return false;
+            }
+            resumeFrom = null;
+        }
+        if (timestamp.equals(lastTimestamp)) {
+            linesAtLastTimestamp++;
+        } else {
+            lastTimestamp = timestamp;
+            linesAtLastTimestamp = 1;
+        }
+        reattachAttempts = 0;
+        return true;
+    }
+
+    /** Prepara um novo attach; devolve o {@code since} em segundos, ou null para usar o tail. */
+    Integer resume() {
+        if (lastTimestamp == null) {
+            return null;
+        }
+        resumeFrom = lastTimestamp;
+        replayedToSkip = linesAtLastTimestamp;
+        return (int) lastTimestamp.getEpochSecond();
+    }
+
+    int nextReattachAttempt() {
+        return reattachAttempts++;
+    }
+
+    void attach(Closeable source) {
+        this.source = source;
+    }
+
+    void close() {
+        Closeable current = source;
+        source = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("Erro ao encerrar attach de logs de {}", containerId, e);
+            }
+        }
+    }
+
+    private void signalAll() {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.signal();
+        }
+    }
+
+    private static String encodeLine(LogStreamType stream, Instant timestamp, String line) {
+        StringBuilder json = new StringBuilder(line.length() + 64)
+                .append("{\"type\":\"line\",\"stream\":\"").append(stream.wireName())
+                .append("\",\"ts\":").append(timestamp.toEpochMilli())
+                .append(",\"text\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(line, json);
+        return json.append("\"}").toString();
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final WebSocketSession session;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private long cursor;
+
+        Subscriber(WebSocketSession session, long cursor) {
+            this.session = session;
+            this.cursor = cursor;
+        }
+
+        void signal() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        // só uma drenagem por sessão de cada vez: o WebSocketSession não aceita envios concorrentes
+        @Override
+        public void run() {
+            try {
+                do {
+                    pump();
+                    scheduled.set(false);
+                } while (cursor < ring.published() && session.isOpen() && scheduled.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Assinante {} de {} removido: {}", session.getId(), containerId, e.getMessage());
+                subscribers.remove(session.getId());
+                scheduled.set(false);
+            }
+        }
+
+        private void pump() throws IOException {
+            long published = ring.published();
+            while (cursor < published && session.isOpen()) {
+                long oldest = ring.oldest();
+                if (cursor < oldest) {
+                    long dropped = oldest - cursor;
+                    droppedLines.increment(dropped);
+                    session.sendMessage(new TextMessage("{\"type\":\"dropped\",\"count\":" + dropped + "}"));
+                    cursor = oldest;
+                } else if (published - cursor > coalesceThreshold) {
+                    sendBatch(published);
+                } else {
+                    TextMessage message = ring.get(cursor);
+                    if (message != null) {
+                        session.sendMessage(message);
+                        cursor++;
+                    }
+                }
+                published = ring.published();
+            }
+        }
+
+        // cliente atrasado: várias linhas num único frame, sem reserializar o conteúdo
+        private void sendBatch(long published) throws IOException {
+            long end = Math.min(published, cursor + maxBatchLines);
+            StringBuilder batch = new StringBuilder(64 * (int) (end - cursor)).append("{\"type\":\"batch\",\"frames\":[");
+            long sequence = cursor;
+            for (; sequence < end; sequence++) {
+                TextMessage message = ring.get(sequence);
+                if (message == null) {
+                    break;
+                }
+                if (sequence > cursor) {
+                    batch.append(',');
+                }
+                batch.append(message.getPayload());
+            }
+            if (sequence == cursor) {
+                return;
+            }
+            session.sendMessage(new TextMessage(batch.append("]}").toString()));
+            coalescedLines.increment(sequence - cursor);
+            cursor = sequence;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidLogQueryException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class LogArchive implements LogSink {
+
+    private static final Pattern ID = Pattern.compile("[a-zA-Z0-9][a-zA-Z0-9_.-]{0,127}");
+
+    private final boolean enabled;
+    private final Path basePath;
+    private final long maxSegmentBytes;
+    private final long maxSegmentAgeMillis;
+    private final Duration retention;
+    private final int indexInterval;
+    private final long maxLineBytes;
+    private final Map<Path, ContainerArchive> archives = new ConcurrentHashMap<>();
+    private final Counter writeFailures;
+    private final Timer queries;
+
+    public LogArchive(
+            MeterRegistry meterRegistry,
+            @Value("${app.logs.archive.enabled:true}") boolean enabled,
+            @Value("${app.logs.archive.path:/data/logs}") String basePath,
+            @Value("${app.logs.archive.segment-size:64MB}") DataSize segmentSize,
+            @Value("${app.logs.archive.segment-age:1h}") Duration segmentAge,
+            @Value("${app.logs.archive.retention:7d}") Duration retention,
+            @Value("${app.logs.archive.index-interval:64KB}") DataSize indexInterval,
+            @Value("${app.logs.archive.max-line-size:16KB}") DataSize maxLineSize
+    ) {
+        this.enabled = enabled;
+        this.basePath = Path.of(basePath).toAbsolutePath().normalize();
+        // leitura via mmap indexada por int
+        this.maxSegmentBytes = Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.maxSegmentAgeMillis = segmentAge.toMillis();
+        this.retention = retention;
+        this.indexInterval = (int) indexInterval.toBytes();
+        this.maxLineBytes = maxLineSize.toBytes();
+        this.writeFailures = meterRegistry.counter("logs.archive.write.failures");
+        this.queries = meterRegistry.timer("logs.archive.queries");
+    }
+
+    @Override
+    public void append(String serverId, String containerId, LogStreamType stream, Instant timestamp, String line) {
+        if (!enabled || !isValid(serverId) || !isValid(containerId)) {
+            return;
+        }
+        try {
+            archive(directory(serverId, containerId)).append(stream, toNanos(timestamp), line,
+                    maxLineBytes, maxSegmentBytes, maxSegmentAgeMillis, indexInterval);
+        } catch (IOException | UncheckedIOException e) {
+            writeFailures.increment();
+            log.warn("Falha ao arquivar log de {}/{}: {}", serverId, containerId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void attached(String serverId, String containerId) {
+        if (!enabled || !isValid(serverId) || !isValid(containerId)) {
+            return;
+        }
+        try {
+            archive(directory(serverId, containerId)).resume();
+        } catch (UncheckedIOException e) {
+            writeFailures.increment();
+            log.warn("Falha ao abrir o arquivo de logs de {}/{}: {}", serverId, containerId, e.getMessage());
+        }
+    }
+
+    public List<ArchivedLogLine> query(String serverId, String containerId, Instant from, Instant to,
+                                       String contains, int limit) {
+        if (!isValid(serverId) || !isValid(containerId)) {
+            throw new InvalidLogQueryException("serverId ou containerId inválido");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidLogQueryException("Intervalo inválido: 'from' é posterior a 'to'");
+        }
+        Path directory = directory(serverId, containerId);
+        if (!archives.containsKey(directory) && !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        byte[] needle = contains == null || contains.isEmpty() ? null : contains.getBytes(StandardCharsets.UTF_8);
+        return queries.record(() -> {
+            try {
+                return archive(directory).query(toNanos(from), toNanos(to), needle, limit);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public List<String> containers(String serverId) {
+        if (!isValid(serverId)) {
+            throw new InvalidLogQueryException("serverId inválido: " + serverId);
+        }
+        Path directory = basePath.resolve(serverId);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.filter(Files::isDirectory).map(path -> path.getFileName().toString()).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.logs.archive.retention-check-interval:PT10M}")
+    public void purgeExpired() {
+        if (!Files.isDirectory(basePath)) {
+            return;
+        }
+        long cutoff = toNanos(Instant.now().minus(retention));
+        int removed = 0;
+        try (Stream<Path> servers = Files.list(basePath)) {
+            for (Path server : servers.filter(Files::isDirectory).toList()) {
+                try (Stream<Path> containers = Files.list(server)) {
+                    for (Path container : containers.filter(Files::isDirectory).toList()) {
+                        ContainerArchive archive = archive(container);
+                        removed += archive.purge(cutoff);
+                        if (archive.isEmpty()) {
+                            archives.remove(container, archive);
+                            deleteIfEmpty(container);
+                        }
+                    }
+                }
+                deleteIfEmpty(server);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao aplicar retenção do arquivo de logs: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Retenção do arquivo de logs removeu {} segmentos", removed);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (ContainerArchive archive : archives.values()) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                log.debug("Erro ao fechar segmento de log", e);
+            }
+        }
+        archives.clear();
+    }
+
+    private ContainerArchive archive(Path directory) {
+        return archives.computeIfAbsent(directory, path -> {
+            try {
+                return ContainerArchive.load(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Path directory(String serverId, String containerId) {
+        return basePath.resolve(serverId).resolve(containerId);
+    }
+
+    private static boolean isValid(String id) {
+        return id != null && ID.matcher(id).matches();
+    }
+
+    private static void deleteIfEmpty(Path directory) throws IOException {
+        try {
+            Files.deleteIfExists(directory);
+        } catch (DirectoryNotEmptyException ignored) {
+        }
+    }
+
+    // satura nos extremos: consultas com intervalos abertos não estouram
+    static long toNanos(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        if (seconds >= Long.MAX_VALUE / 1_000_000_000L) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1_000_000_000L) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,37 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém o attach de logs aberto enquanto o container roda, mesmo sem
+ * ninguém assistindo, para que o LogArchive receba todas as linhas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.logs.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class LogArchiveRecorder {
+
+    @Autowired
+    private ContainerStateIndex containerStateIndex;
+    @Autowired
+    private LogStreamHub logStreamHub;
+
+    @PostConstruct
+    public void register() {
+        containerStateIndex.addListener(this::onChange);
+    }
+
+    private void onChange(ContainerStateChange change) {
+        ContainerState current = change.current();
+        if (current != null && current.isRunning() && current.serverId() != null) {
+            logStreamHub.retain(current.id());
+        } else if (current == null || !current.isRunning()) {
+            logStreamHub.release(change.containerId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Buffer circular de escritor único. Leitores validam a leitura relendo o
+ * contador publicado (estilo seqlock), então nunca bloqueiam o escritor.
+ */
+final class LogRing {
+
+    private final TextMessage[] slots;
+    private final int mask;
+    private volatile long published;
+
+    LogRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do ring deve ser potência de 2: " + capacity);
+        }
+        this.slots = new TextMessage[capacity];
+        this.mask = capacity - 1;
+    }
+
+    void append(TextMessage message) {
+        long sequence = published;
+        slots[(int) (sequence & mask)] = message;
+        published = sequence + 1;
+    }
+
+    long published() {
+        return published;
+    }
+
+    // um slot fica de guarda: é o que o escritor pode estar sobrescrevendo agora
+    long oldest() {
+        return Math.max(0, published - slots.length + 1);
+    }
+
+    TextMessage get(long sequence) {
+        TextMessage message = slots[(int) (sequence & mask)];
+        return sequence >= oldest() ? message : null;
+    }
+}
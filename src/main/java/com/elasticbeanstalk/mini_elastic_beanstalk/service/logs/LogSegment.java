@@ -0,0 +1,249 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Segmento append-only: registros [int tamanho][long timestamp][byte stream][utf-8],
+ * com timestamp em nanossegundos desde a época. O arquivo .idx ao lado guarda
+ * pares (timestamp, offset) esparsos.
+ */
+final class LogSegment {
+
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+    static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + 1;
+    private static final int INDEX_ENTRY_BYTES = 2 * Long.BYTES;
+
+    private final Path file;
+    private final Path indexFile;
+    private final long firstTimestamp;
+
+    private long[] indexTimestamps = new long[64];
+    private long[] indexOffsets = new long[64];
+    private int indexCount;
+
+    private FileChannel channel;
+    private FileChannel indexChannel;
+    private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+    private long lastIndexedOffset = Long.MIN_VALUE;
+    private volatile long size;
+
+    private LogSegment(Path file, long firstTimestamp) {
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName().toString()
+                .replace(SEGMENT_SUFFIX, INDEX_SUFFIX));
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    static LogSegment create(Path directory, long firstTimestamp) throws IOException {
+        LogSegment segment = new LogSegment(directory.resolve(fileName(firstTimestamp)), firstTimestamp);
+        segment.channel = FileChannel.open(segment.file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segment.indexChannel = FileChannel.open(segment.indexFile,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return segment;
+    }
+
+    // segmentos de execuções anteriores são só leitura; um registro parcial no fim é ignorado na leitura
+    static LogSegment load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        LogSegment segment = new LogSegment(file,
+                Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+        segment.size = Files.size(file);
+        if (Files.exists(segment.indexFile)) {
+            ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(segment.indexFile));
+            while (entries.remaining() >= INDEX_ENTRY_BYTES) {
+                segment.addIndexEntry(entries.getLong(), entries.getLong());
+            }
+        }
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(SEGMENT_SUFFIX) && name.length() == 20 + SEGMENT_SUFFIX.length();
+    }
+
+    private static String fileName(long firstTimestamp) {
+        return String.format("%020d%s", firstTimestamp, SEGMENT_SUFFIX);
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long size() {
+        return size;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    void append(ByteBuffer record, long timestamp, int indexInterval) throws IOException {
+        long offset = size;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        if (offset - lastIndexedOffset >= indexInterval) {
+            indexEntry.clear();
+            indexEntry.putLong(timestamp).putLong(offset).flip();
+            indexChannel.write(indexEntry);
+            addIndexEntry(timestamp, offset);
+            lastIndexedOffset = offset;
+        }
+        size = offset + record.limit();
+    }
+
+    void seal() throws IOException {
+        if (channel != null) {
+            channel.close();
+            indexChannel.close();
+            channel = null;
+            indexChannel = null;
+        }
+    }
+
+    void delete() throws IOException {
+        seal();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(indexFile);
+    }
+
+    /**
+     * Percorre os registros em [from, to] a partir da entrada de índice anterior a from.
+     * Retorna false quando encontrou um registro depois de to (não há nada mais adiante).
+     */
+    boolean scan(long from, long to, byte[] needle, int limit, List<ArchivedLogLine> out) throws IOException {
+        long end = size;
+        if (end == 0) {
+            return true;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = reader.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+
+        int position = (int) floorOffset(from);
+        while (position + HEADER_BYTES <= end) {
+            int length = buffer.getInt(position);
+            long timestamp = buffer.getLong(position + Integer.BYTES);
+            int payload = position + HEADER_BYTES;
+            if (length < 0 || payload + (long) length > end) {
+                break;
+            }
+            if (timestamp > to) {
+                return false;
+            }
+            if (timestamp >= from && (needle == null || contains(buffer, payload, length, needle))) {
+                if (out.size() >= limit) {
+                    return false;
+                }
+                byte[] text = new byte[length];
+                buffer.get(payload, text);
+                out.add(new ArchivedLogLine(Instant.ofEpochSecond(0, timestamp),
+                        buffer.get(position + Integer.BYTES + Long.BYTES) == 1 ? LogStreamType.STDERR : LogStreamType.STDOUT,
+                        new String(text, StandardCharsets.UTF_8)));
+            }
+            position = payload + length;
+        }
+        return true;
+    }
+
+    /** Último timestamp gravado e quantas linhas o compartilham neste segmento. */
+    Tail tail() throws IOException {
+        long end = size;
+        if (end == 0) {
+            return new Tail(firstTimestamp, 0);
+        }
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = reader.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            long lastTimestamp = firstTimestamp;
+            int position = (int) floorOffset(Long.MAX_VALUE);
+            while (position + HEADER_BYTES <= end) {
+                int length = buffer.getInt(position);
+                if (length < 0 || position + HEADER_BYTES + (long) length > end) {
+                    break;
+                }
+                lastTimestamp = buffer.getLong(position + Integer.BYTES);
+                position += HEADER_BYTES + length;
+            }
+
+            // uma rajada no mesmo timestamp pode atravessar entradas do índice
+            int lines = 0;
+            position = (int) floorOffset(lastTimestamp);
+            while (position + HEADER_BYTES <= end) {
+                int length = buffer.getInt(position);
+                if (length < 0 || position + HEADER_BYTES + (long) length > end) {
+                    break;
+                }
+                if (buffer.getLong(position + Integer.BYTES) == lastTimestamp) {
+                    lines++;
+                }
+                position += HEADER_BYTES + length;
+            }
+            return new Tail(lastTimestamp, lines);
+        }
+    }
+
+    private synchronized void addIndexEntry(long timestamp, long offset) {
+        if (indexCount == indexTimestamps.length) {
+            indexTimestamps = Arrays.copyOf(indexTimestamps, indexCount * 2);
+            indexOffsets = Arrays.copyOf(indexOffsets, indexCount * 2);
+        }
+        indexTimestamps[indexCount] = timestamp;
+        indexOffsets[indexCount] = offset;
+        indexCount++;
+    }
+
+    // maior offset indexado cujo timestamp é estritamente menor que from (timestamps iguais podem cruzar entradas)
+    private synchronized long floorOffset(long from) {
+        int low = 0;
+        int high = indexCount - 1;
+        long offset = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] < from) {
+                offset = indexOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return offset;
+    }
+
+    private static boolean contains(ByteBuffer buffer, int start, int length, byte[] needle) {
+        int last = start + length - needle.length;
+        byte first = needle[0];
+        for (int i = start; i <= last; i++) {
+            if (buffer.get(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < needle.length && buffer.get(i + j) == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    record Tail(long timestamp, int lines) {
+    }
+}
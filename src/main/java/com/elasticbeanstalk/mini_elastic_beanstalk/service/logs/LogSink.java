@@ -0,0 +1,15 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import java.time.Instant;
+
+public interface LogSink {
+
+    void append(String serverId, String containerId, LogStreamType stream, Instant timestamp, String line);
+
+    /**
+     * Um novo attach começou pelo tail: as primeiras linhas podem repetir o
+     * que já foi entregue antes, até o ponto em que o attach anterior parou.
+     */
+    default void attached(String serverId, String containerId) {
+    }
+}
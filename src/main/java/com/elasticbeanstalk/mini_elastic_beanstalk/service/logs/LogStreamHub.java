@@ -0,0 +1,258 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.ContainerNotFoundException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.LogContainerCmd;
+import com.github.dockerjava.api.model.Frame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class LogStreamHub {
+
+    private final DockerGateway dockerGateway;
+    private final ContainerStateIndex containerStateIndex;
+    private final List<LogSink> sinks;
+    private final MeterRegistry meterRegistry;
+    private final int ringCapacity;
+    private final int backlogLines;
+    private final int coalesceThreshold;
+    private final int maxBatchLines;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("log-sender-", 0).factory());
+    private final ScheduledExecutorService reattacher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("log-reattach").daemon().factory());
+    private final Map<String, ContainerLogStream> streams = new ConcurrentHashMap<>();
+    private final Duration reattachDelay;
+    private final Counter reattached;
+    private volatile boolean running = true;
+
+    public LogStreamHub(
+            DockerGateway dockerGateway,
+            ContainerStateIndex containerStateIndex,
+            List<LogSink> sinks,
+            MeterRegistry meterRegistry,
+            @Value("${app.logs.ring-capacity:4096}") int ringCapacity,
+            @Value("${app.logs.backlog-lines:200}") int backlogLines,
+            @Value("${app.logs.coalesce-threshold:64}") int coalesceThreshold,
+            @Value("${app.logs.max-batch-lines:256}") int maxBatchLines,
+            @Value("${app.logs.reattach-delay:1s}") Duration reattachDelay
+    ) {
+        this.dockerGateway = dockerGateway;
+        this.containerStateIndex = containerStateIndex;
+        this.sinks = List.copyOf(sinks);
+        this.meterRegistry = meterRegistry;
+        this.ringCapacity = ringCapacity;
+        this.backlogLines = backlogLines;
+        this.coalesceThreshold = coalesceThreshold;
+        this.maxBatchLines = maxBatchLines;
+        this.reattachDelay = reattachDelay;
+        this.reattached = meterRegistry.counter("logs.streams.reattached");
+
+        Gauge.builder("logs.streams.attached", streams, Map::size).register(meterRegistry);
+        Gauge.builder("logs.subscribers", streams,
+                s -> s.values().stream().mapToInt(ContainerLogStream::subscriberCount).sum())
+                .register(meterRegistry);
+    }
+
+    /** Só containers do índice com serverId, ou seja, criados pela plataforma para um servidor. */
+    public boolean isManaged(String containerId) {
+        return containerStateIndex.get(containerId).map(ContainerState::serverId).isPresent();
+    }
+
+    public void subscribe(String containerId, WebSocketSession session) {
+        streams.compute(containerId, (id, existing) -> {
+            ContainerLogStream stream = reopenIfFinished(id, existing);
+            stream.subscribe(session);
+            return stream;
+        });
+    }
+
+    public void unsubscribe(String containerId, WebSocketSession session) {
+        streams.computeIfPresent(containerId, (id, stream) -> {
+            stream.unsubscribe(session);
+            return closeIfIdle(stream);
+        });
+    }
+
+    public void retain(String containerId) {
+        streams.compute(containerId, (id, existing) -> {
+            ContainerLogStream stream = reopenIfFinished(id, existing);
+            stream.setRetained(true);
+            return stream;
+        });
+    }
+
+    // o container parou: o attach termina sozinho depois de entregar as últimas linhas
+    public void release(String containerId) {
+        streams.computeIfPresent(containerId, (id, stream) -> {
+            stream.setRetained(false);
+            return stream.isFinished() && !stream.hasSubscribers() ? null : stream;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        reattacher.shutdownNow();
+        streams.values().forEach(ContainerLogStream::close);
+        streams.clear();
+        senders.shutdownNow();
+    }
+
+    private ContainerLogStream reopenIfFinished(String containerId, ContainerLogStream existing) {
+        if (existing != null && !existing.isFinished()) {
+            return existing;
+        }
+        ContainerLogStream stream = open(containerId);
+        if (existing != null) {
+            stream.setRetained(existing.isRetained());
+        }
+        return stream;
+    }
+
+    private static ContainerLogStream closeIfIdle(ContainerLogStream stream) {
+        if (stream.hasSubscribers() || stream.isRetained()) {
+            return stream;
+        }
+        stream.close();
+        return null;
+    }
+
+    private ContainerLogStream open(String containerId) {
+        // subscribe e retain passam por aqui: nenhum dos dois anexa a um container fora da plataforma
+        String serverId = containerStateIndex.get(containerId).map(ContainerState::serverId)
+                .orElseThrow(() -> new ContainerNotFoundException("Container não gerenciado: " + containerId));
+        ContainerLogStream stream = new ContainerLogStream(containerId, serverId, ringCapacity, backlogLines,
+                coalesceThreshold, maxBatchLines, senders, meterRegistry);
+        attach(stream, null);
+        return stream;
+    }
+
+    private void attach(ContainerLogStream stream, Integer since) {
+        String containerId = stream.containerId();
+        // o attach é um stream longo: não passa pelo semáforo do gateway
+        LogContainerCmd command = dockerGateway.streamingClient().logContainerCmd(containerId)
+                .withFollowStream(true)
+                .withStdOut(true)
+                .withStdErr(true)
+                .withTimestamps(true);
+        if (since == null) {
+            command.withTail(backlogLines);
+            if (stream.serverId() != null) {
+                for (LogSink sink : sinks) {
+                    sink.attached(stream.serverId(), containerId);
+                }
+            }
+        } else {
+            command.withSince(since);
+        }
+        stream.attach(command.exec(new ResultCallback.Adapter<Frame>() {
+            @Override
+            public void onNext(Frame frame) {
+                dispatch(stream, LogStreamType.from(frame.getStreamType()), decode(frame.getPayload()));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.warn("Stream de logs de {} interrompido: {}", containerId, throwable.getMessage());
+                finished(stream);
+            }
+
+            @Override
+            public void onComplete() {
+                finished(stream);
+            }
+        }));
+    }
+
+    private void finished(ContainerLogStream stream) {
+        // o daemon pode encerrar o attach com o container ainda de pé; quem
+        // arquiva precisa do stream de volta, sem EOF para os assinantes
+        if (running && stream.isRetained() && isRunning(stream.containerId())) {
+            long backoff = reattachDelay.toMillis() << Math.min(stream.nextReattachAttempt(), 6);
+            reattacher.schedule(() -> reattach(stream), backoff, TimeUnit.MILLISECONDS);
+            return;
+        }
+        stream.finish();
+        streams.computeIfPresent(stream.containerId(),
+                (id, current) -> current == stream && !current.hasSubscribers() ? null : current);
+    }
+
+    private void reattach(ContainerLogStream stream) {
+        streams.computeIfPresent(stream.containerId(), (id, current) -> {
+            if (current != stream) {
+                return current;
+            }
+            if (running && current.isRetained() && isManaged(id) && isRunning(id)) {
+                try {
+                    attach(current, current.resume());
+                    reattached.increment();
+                    return current;
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao reabrir o stream de logs de {}: {}", id, e.getMessage());
+                }
+            }
+            current.finish();
+            return current.hasSubscribers() ? current : null;
+        });
+    }
+
+    private boolean isRunning(String containerId) {
+        return containerStateIndex.get(containerId).map(ContainerState::isRunning).orElse(false);
+    }
+
+    private void dispatch(ContainerLogStream stream, LogStreamType type, String payload) {
+        // com timestamps=true o daemon prefixa cada linha com RFC 3339 em nanossegundos
+        Instant timestamp;
+        String line;
+        int space = payload.indexOf(' ');
+        try {
+            timestamp = Instant.parse(space > 0 ? payload.substring(0, space) : payload);
+            line = space > 0 ? payload.substring(space + 1) : "";
+            if (!stream.accept(timestamp)) {
+                return;
+            }
+        } catch (DateTimeParseException e) {
+            timestamp = Instant.now();
+            line = payload;
+        }
+
+        stream.publish(type, timestamp, line);
+        if (stream.serverId() != null) {
+            for (LogSink sink : sinks) {
+                sink.append(stream.serverId(), stream.containerId(), type, timestamp, line);
+            }
+        }
+    }
+
+    private static String decode(byte[] payload) {
+        int length = payload.length;
+        while (length > 0 && (payload[length - 1] == '\n' || payload[length - 1] == '\r')) {
+            length--;
+        }
+        return new String(payload, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,22 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.github.dockerjava.api.model.StreamType;
+
+public enum LogStreamType {
+    STDOUT("stdout"),
+    STDERR("stderr");
+
+    private final String wireName;
+
+    LogStreamType(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String wireName() {
+        return wireName;
+    }
+
+    public static LogStreamType from(StreamType streamType) {
+        return streamType == StreamType.STDERR ? STDERR : STDOUT;
+    }
+}
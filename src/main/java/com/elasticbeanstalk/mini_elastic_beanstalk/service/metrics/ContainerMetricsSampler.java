@@ -0,0 +1,236 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.CpuStatsConfig;
+import com.github.dockerjava.api.model.MemoryStatsConfig;
+import com.github.dockerjava.api.model.StatisticNetworksConfig;
+import com.github.dockerjava.api.model.Statistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Coleta docker stats dos containers gerenciados em execução. Cada tick
+ * dispara chamadas assíncronas limitadas pelo semáforo; um container com
+ * coleta pendente é pulado em vez de acumular chamadas. Quando as permissões
+ * acabam, o tick seguinte retoma do primeiro container que ficou de fora.
+ */
+@Slf4j
+@Component
+public class ContainerMetricsSampler {
+
+    private final DockerGateway dockerGateway;
+    private final ContainerStateIndex containerStateIndex;
+    private final boolean enabled;
+    private final List<MetricsResolution> resolutions;
+    private final Semaphore permits;
+    private final Map<String, ContainerSeries> series = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<ContainerSample>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter samples;
+    private final Counter failures;
+    private final Counter skipped;
+    // cursor round-robin entre ticks; os ticks do @Scheduled não se sobrepõem
+    private String resumeFrom;
+
+    public ContainerMetricsSampler(
+            DockerGateway dockerGateway,
+            ContainerStateIndex containerStateIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.metrics.sampler.enabled:true}") boolean enabled,
+            @Value("${app.metrics.sampler.resolutions:1s:10m,1m:24h}") String resolutions,
+            @Value("${app.metrics.sampler.max-concurrent:16}") int maxConcurrent
+    ) {
+        this.dockerGateway = dockerGateway;
+        this.containerStateIndex = containerStateIndex;
+        this.enabled = enabled;
+        this.resolutions = MetricsResolution.parseAll(resolutions);
+        this.permits = new Semaphore(maxConcurrent);
+        this.samples = meterRegistry.counter("containers.stats.samples");
+        this.failures = meterRegistry.counter("containers.stats.failures");
+        this.skipped = meterRegistry.counter("containers.stats.skipped");
+        Gauge.builder("containers.stats.series", series, Map::size).register(meterRegistry);
+        Gauge.builder("containers.stats.in-flight", inFlight, Set::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void register() {
+        containerStateIndex.addListener(this::onChange);
+    }
+
+    // chamado na thread de I/O do docker-java; listeners não devem bloquear
+    public void addListener(Consumer<ContainerSample> listener) {
+        listeners.add(listener);
+    }
+
+    public Optional<MetricsSeries> range(String serverId, String containerId, Instant from, Instant to) {
+        ContainerSeries container = series.get(containerId);
+        if (container == null || !serverId.equals(container.serverId())) {
+            return Optional.empty();
+        }
+        return Optional.of(container.range(from.getEpochSecond(), to.getEpochSecond(), Instant.now().getEpochSecond()));
+    }
+
+    @Scheduled(fixedRateString = "${app.metrics.sampler.interval:PT1S}")
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+        List<ContainerState> running = containerStateIndex.all().stream()
+                .filter(container -> container.isRunning() && container.serverId() != null)
+                .sorted(Comparator.comparing(ContainerState::id))
+                .toList();
+        int start = startIndex(running);
+        for (int i = 0; i < running.size(); i++) {
+            ContainerState container = running.get((start + i) % running.size());
+            if (!inFlight.add(container.id())) {
+                skipped.increment();
+                continue;
+            }
+            if (!permits.tryAcquire()) {
+                // sem permissão: o próximo tick começa por este container, não pelo primeiro da lista
+                inFlight.remove(container.id());
+                skipped.increment(running.size() - i);
+                resumeFrom = container.id();
+                return;
+            }
+            ContainerSeries target = series.computeIfAbsent(container.id(),
+                    id -> new ContainerSeries(container.serverId(), resolutions));
+            collect(container.id(), target);
+        }
+    }
+
+    private int startIndex(List<ContainerState> running) {
+        if (resumeFrom == null) {
+            return 0;
+        }
+        for (int i = 0; i < running.size(); i++) {
+            if (running.get(i).id().compareTo(resumeFrom) >= 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void collect(String containerId, ContainerSeries target) {
+        try {
+            // noStream: o daemon devolve uma amostra com precpu_stats, suficiente para o % de CPU
+            dockerGateway.client().statsCmd(containerId)
+                    .withNoStream(true)
+                    .exec(new ResultCallback.Adapter<Statistics>() {
+                        @Override
+                        public void onNext(Statistics statistics) {
+                            record(containerId, target, statistics);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {
+                            failures.increment();
+                            log.debug("Falha ao coletar stats de {}: {}", containerId, throwable.getMessage());
+                            release(containerId);
+                        }
+
+                        @Override
+                        public void onComplete() {
+                            release(containerId);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            failures.increment();
+            release(containerId);
+        }
+    }
+
+    private void release(String containerId) {
+        if (inFlight.remove(containerId)) {
+            permits.release();
+        }
+    }
+
+    private void record(String containerId, ContainerSeries target, Statistics statistics) {
+        if (statistics.getCpuStats() == null || statistics.getMemoryStats() == null) {
+            return;
+        }
+        long rx = 0;
+        long tx = 0;
+        if (statistics.getNetworks() != null) {
+            for (StatisticNetworksConfig network : statistics.getNetworks().values()) {
+                rx += valueOf(network.getRxBytes());
+                tx += valueOf(network.getTxBytes());
+            }
+        }
+        Instant now = Instant.now();
+        double cpuPercent = cpuPercent(statistics.getCpuStats(), statistics.getPreCpuStats());
+        double memoryBytes = workingSet(statistics.getMemoryStats());
+        target.record(now.getEpochSecond(), System.nanoTime(), cpuPercent, memoryBytes, rx, tx);
+        samples.increment();
+
+        if (!listeners.isEmpty()) {
+            ContainerSample sample = new ContainerSample(containerId, target.serverId(), now, cpuPercent, memoryBytes);
+            for (Consumer<ContainerSample> listener : listeners) {
+                try {
+                    listener.accept(sample);
+                } catch (RuntimeException e) {
+                    log.warn("Listener de amostras falhou: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void onChange(ContainerStateChange change) {
+        if (change.removed()) {
+            series.remove(change.containerId());
+        }
+    }
+
+    // mesma conta do `docker stats`
+    private static double cpuPercent(CpuStatsConfig cpu, CpuStatsConfig previous) {
+        if (previous == null || cpu.getCpuUsage() == null || previous.getCpuUsage() == null) {
+            return 0;
+        }
+        long cpuDelta = valueOf(cpu.getCpuUsage().getTotalUsage()) - valueOf(previous.getCpuUsage().getTotalUsage());
+        long systemDelta = valueOf(cpu.getSystemCpuUsage()) - valueOf(previous.getSystemCpuUsage());
+        if (cpuDelta <= 0 || systemDelta <= 0) {
+            return 0;
+        }
+        long cpus = cpu.getOnlineCpus() != null ? cpu.getOnlineCpus()
+                : cpu.getCpuUsage().getPercpuUsage() != null ? cpu.getCpuUsage().getPercpuUsage().size() : 1;
+        return (double) cpuDelta / systemDelta * cpus * 100.0;
+    }
+
+    // uso sem page cache inativo (cgroup v2: inactive_file, v1: total_inactive_file)
+    private static double workingSet(MemoryStatsConfig memory) {
+        long usage = valueOf(memory.getUsage());
+        long inactive = 0;
+        if (memory.getStats() != null) {
+            inactive = memory.getStats().getInactiveFile() != null
+                    ? memory.getStats().getInactiveFile()
+                    : valueOf(memory.getStats().getTotalInactiveFile());
+        }
+        return Math.max(0, usage - inactive);
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import java.time.Instant;
+
+public record ContainerSample(String containerId,
+                              String serverId,
+                              Instant at,
+                              double cpuPercent,
+                              double memoryBytes) {
+}
@@ -0,0 +1,60 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import java.util.List;
+
+/**
+ * Memória fixa por container: um SampleRing por resolução e os últimos
+ * contadores de rede para calcular taxas.
+ */
+final class ContainerSeries {
+
+    private final String serverId;
+    private final SampleRing[] rings;
+    private long lastReadNanos = Long.MIN_VALUE;
+    private long lastRxBytes;
+    private long lastTxBytes;
+
+    ContainerSeries(String serverId, List<MetricsResolution> resolutions) {
+        this.serverId = serverId;
+        this.rings = resolutions.stream()
+                .map(resolution -> new SampleRing(resolution.step().toSeconds(), resolution.capacity()))
+                .toArray(SampleRing[]::new);
+    }
+
+    String serverId() {
+        return serverId;
+    }
+
+    // chamado por um sampler por vez (ver ContainerMetricsSampler.inFlight)
+    void record(long epochSecond, long readNanos, double cpuPercent, double memoryBytes, long rxBytes, long txBytes) {
+        double rxRate = 0;
+        double txRate = 0;
+        if (lastReadNanos != Long.MIN_VALUE && readNanos > lastReadNanos
+                && rxBytes >= lastRxBytes && txBytes >= lastTxBytes) {
+            double seconds = (readNanos - lastReadNanos) / 1e9;
+            rxRate = (rxBytes - lastRxBytes) / seconds;
+            txRate = (txBytes - lastTxBytes) / seconds;
+        }
+        lastReadNanos = readNanos;
+        lastRxBytes = rxBytes;
+        lastTxBytes = txBytes;
+
+        for (SampleRing ring : rings) {
+            ring.add(epochSecond, cpuPercent, memoryBytes, rxRate, txRate);
+        }
+    }
+
+    /**
+     * Usa a resolução mais fina cuja retenção ainda cobre o início do intervalo.
+     */
+    MetricsSeries range(long fromEpochSecond, long toEpochSecond, long nowEpochSecond) {
+        SampleRing chosen = rings[rings.length - 1];
+        for (SampleRing ring : rings) {
+            if (nowEpochSecond - ring.retentionSeconds() <= fromEpochSecond) {
+                chosen = ring;
+                break;
+            }
+        }
+        return chosen.range(fromEpochSecond, toEpochSecond);
+    }
+}
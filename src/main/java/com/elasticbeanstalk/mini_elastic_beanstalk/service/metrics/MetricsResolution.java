@@ -0,0 +1,40 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolução no formato "passo:retenção", por exemplo "1s:10m" ou "1m:24h".
+ */
+public record MetricsResolution(Duration step, Duration retention) {
+
+    public static List<MetricsResolution> parseAll(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(spec -> !spec.isEmpty())
+                .map(MetricsResolution::parse)
+                .sorted(Comparator.comparing(MetricsResolution::step))
+                .toList();
+    }
+
+    static MetricsResolution parse(String spec) {
+        int separator = spec.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Resolução inválida (esperado passo:retenção): " + spec);
+        }
+        Duration step = DurationStyle.detectAndParse(spec.substring(0, separator).trim());
+        Duration retention = DurationStyle.detectAndParse(spec.substring(separator + 1).trim());
+        if (step.toSeconds() < 1 || retention.compareTo(step) < 0) {
+            throw new IllegalArgumentException("Resolução inválida: " + spec);
+        }
+        return new MetricsResolution(step, retention);
+    }
+
+    int capacity() {
+        return Math.toIntExact(retention.toSeconds() / step.toSeconds());
+    }
+}
@@ -0,0 +1,9 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+public record MetricsSeries(long stepSeconds,
+                            long[] timestamps,
+                            double[] cpuPercent,
+                            double[] memoryBytes,
+                            double[] rxBytesPerSecond,
+                            double[] txBytesPerSecond) {
+}
@@ -0,0 +1,101 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Série de tamanho fixo numa resolução: cada slot agrega (soma e contagem) as
+ * amostras do seu intervalo, então o downsampling acontece na escrita, sem
+ * objeto por amostra. Slots de intervalos antigos são reaproveitados.
+ */
+final class SampleRing {
+
+    private final long stepSeconds;
+    private final long[] buckets;
+    private final int[] counts;
+    private final double[] cpu;
+    private final double[] memory;
+    private final double[] rx;
+    private final double[] tx;
+
+    SampleRing(long stepSeconds, int capacity) {
+        this.stepSeconds = stepSeconds;
+        this.buckets = new long[capacity];
+        this.counts = new int[capacity];
+        this.cpu = new double[capacity];
+        this.memory = new double[capacity];
+        this.rx = new double[capacity];
+        this.tx = new double[capacity];
+        Arrays.fill(buckets, Long.MIN_VALUE);
+    }
+
+    long stepSeconds() {
+        return stepSeconds;
+    }
+
+    long retentionSeconds() {
+        return stepSeconds * buckets.length;
+    }
+
+    synchronized void add(long epochSecond, double cpuPercent, double memoryBytes, double rxRate, double txRate) {
+        long bucket = Math.floorDiv(epochSecond, stepSeconds);
+        int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+        if (buckets[slot] != bucket) {
+            if (buckets[slot] > bucket) {
+                return;
+            }
+            buckets[slot] = bucket;
+            counts[slot] = 0;
+            cpu[slot] = 0;
+            memory[slot] = 0;
+            rx[slot] = 0;
+            tx[slot] = 0;
+        }
+        counts[slot]++;
+        cpu[slot] += cpuPercent;
+        memory[slot] += memoryBytes;
+        rx[slot] += rxRate;
+        tx[slot] += txRate;
+    }
+
+    /**
+     * Pontos com dados em [fromEpochSecond, toEpochSecond], já como médias,
+     * em arrays colunares.
+     */
+    synchronized MetricsSeries range(long fromEpochSecond, long toEpochSecond) {
+        long first = Math.max(Math.floorDiv(fromEpochSecond, stepSeconds),
+                Math.floorDiv(toEpochSecond, stepSeconds) - buckets.length + 1);
+        long last = Math.floorDiv(toEpochSecond, stepSeconds);
+
+        int size = 0;
+        for (long bucket = first; bucket <= last; bucket++) {
+            if (buckets[slot(bucket)] == bucket) {
+                size++;
+            }
+        }
+
+        long[] timestamps = new long[size];
+        double[] cpuOut = new double[size];
+        double[] memoryOut = new double[size];
+        double[] rxOut = new double[size];
+        double[] txOut = new double[size];
+        int i = 0;
+        for (long bucket = first; bucket <= last; bucket++) {
+            int slot = slot(bucket);
+            if (buckets[slot] != bucket) {
+                continue;
+            }
+            double count = counts[slot];
+            timestamps[i] = bucket * stepSeconds;
+            cpuOut[i] = cpu[slot] / count;
+            memoryOut[i] = memory[slot] / count;
+            rxOut[i] = rx[slot] / count;
+            txOut[i] = tx[slot] / count;
+            i++;
+        }
+        return new MetricsSeries(stepSeconds, timestamps, cpuOut, memoryOut, rxOut, txOut);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
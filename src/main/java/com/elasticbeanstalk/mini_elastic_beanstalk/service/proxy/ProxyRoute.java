@@ -0,0 +1,58 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conjunto ativo de um servidor. Imutável: a troca é feita substituindo a
+ * rota inteira na tabela, e quem já escolheu um upstream segue com ele.
+ */
+public final class ProxyRoute {
+
+    private final String serverId;
+    private final List<Upstream> upstreams;
+    private final int[] cumulativeWeights;
+    private final Instant switchedAt;
+
+    ProxyRoute(String serverId, List<Upstream> upstreams, Instant switchedAt) {
+        this.serverId = serverId;
+        this.upstreams = List.copyOf(upstreams);
+        this.cumulativeWeights = new int[upstreams.size()];
+        int total = 0;
+        for (int i = 0; i < upstreams.size(); i++) {
+            total += upstreams.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.switchedAt = switchedAt;
+    }
+
+    public String serverId() {
+        return serverId;
+    }
+
+    public List<Upstream> upstreams() {
+        return upstreams;
+    }
+
+    public Instant switchedAt() {
+        return switchedAt;
+    }
+
+    /**
+     * Sorteio ponderado: com pesos 95/5, um em cada vinte pedidos vai para o canário.
+     */
+    public Upstream choose() {
+        if (upstreams.size() == 1) {
+            return upstreams.getFirst();
+        }
+        int total = cumulativeWeights[cumulativeWeights.length - 1];
+        int point = ThreadLocalRandom.current().nextInt(total);
+        int index = Arrays.binarySearch(cumulativeWeights, point + 1);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return upstreams.get(index);
+    }
+}
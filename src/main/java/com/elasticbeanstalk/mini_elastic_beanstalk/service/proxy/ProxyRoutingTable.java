@@ -0,0 +1,260 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidProxyRouteException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerEndpoint;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.core5.http.HttpHost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rotas do proxy por serverId. Leitura é uma leitura volátil de um mapa
+ * imutável; cada troca copia o mapa e publica a cópia, então o corte de
+ * tráfego nunca bloqueia requisições em andamento.
+ * <p>
+ * Upstreams são sempre containers do próprio servidor, resolvidos pelo
+ * {@link ContainerStateIndex}: quem chama a API nunca escolhe o host. Um
+ * container que para ou some sai das rotas, para que o IP reciclado por
+ * outro container não receba o tráfego.
+ */
+@Component
+public class ProxyRoutingTable {
+
+    private final MeterRegistry meterRegistry;
+    private final ContainerStateIndex containerStateIndex;
+    private final DockerGateway dockerGateway;
+    private final String publishedHost;
+    private final AtomicReference<Map<String, ProxyRoute>> routes = new AtomicReference<>(Map.of());
+
+    /**
+     * @param container id (completo ou curto) ou nome da réplica
+     * @param port      porta do container; nula usa o label {@link DockerLabels#PROXY_PORT}
+     *                  ou a menor porta TCP exposta
+     */
+    public record Target(String container, Integer port, int weight) {
+    }
+
+    private record Resolved(ContainerState container, URI url, int weight) {
+    }
+
+    public ProxyRoutingTable(
+            MeterRegistry meterRegistry,
+            ContainerStateIndex containerStateIndex,
+            DockerGateway dockerGateway,
+            @Value("${app.health.published-host:127.0.0.1}") String publishedHost
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.containerStateIndex = containerStateIndex;
+        this.dockerGateway = dockerGateway;
+        this.publishedHost = publishedHost;
+        Gauge.builder("proxy.routes", routes, r -> r.get().size()).register(meterRegistry);
+        containerStateIndex.addListener(this::onContainerChange);
+    }
+
+    public ProxyRoute route(String serverId) {
+        return routes.get().get(serverId);
+    }
+
+    public Collection<ProxyRoute> all() {
+        return routes.get().values();
+    }
+
+    /**
+     * Publica o novo conjunto do servidor. Upstreams do mesmo container e
+     * endereço mantêm os medidores; os que saíram têm os medidores removidos.
+     */
+    public ProxyRoute switchTo(String serverId, List<Target> targets) {
+        if (targets.isEmpty()) {
+            throw new InvalidProxyRouteException("Rota sem upstreams");
+        }
+        List<Resolved> resolved = new ArrayList<>();
+        Set<URI> urls = new HashSet<>();
+        int totalWeight = 0;
+        for (Target target : targets) {
+            if (target.weight() < 0) {
+                throw new InvalidProxyRouteException("Peso negativo para " + target.container());
+            }
+            ContainerState container = container(serverId, target.container());
+            URI url = url(container, target.port());
+            if (!urls.add(url)) {
+                throw new InvalidProxyRouteException("Upstream repetido: " + target.container());
+            }
+            resolved.add(new Resolved(container, url, target.weight()));
+            totalWeight += target.weight();
+        }
+        if (totalWeight <= 0) {
+            throw new InvalidProxyRouteException("Ao menos um upstream precisa de peso positivo");
+        }
+
+        while (true) {
+            Map<String, ProxyRoute> current = routes.get();
+            ProxyRoute previous = current.get(serverId);
+            List<Upstream> upstreams = new ArrayList<>(resolved.size());
+            for (Resolved target : resolved) {
+                upstreams.add(upstream(serverId, target, previous));
+            }
+            ProxyRoute next = new ProxyRoute(serverId, upstreams, Instant.now());
+            Map<String, ProxyRoute> updated = new HashMap<>(current);
+            updated.put(serverId, next);
+            if (routes.compareAndSet(current, Map.copyOf(updated))) {
+                removeMeters(previous, next);
+                return next;
+            }
+        }
+    }
+
+    public ProxyRoute remove(String serverId) {
+        while (true) {
+            Map<String, ProxyRoute> current = routes.get();
+            ProxyRoute previous = current.get(serverId);
+            if (previous == null) {
+                return null;
+            }
+            Map<String, ProxyRoute> updated = new HashMap<>(current);
+            updated.remove(serverId);
+            if (routes.compareAndSet(current, Map.copyOf(updated))) {
+                removeMeters(previous, null);
+                return previous;
+            }
+        }
+    }
+
+    private ContainerState container(String serverId, String reference) {
+        if (reference == null || reference.isBlank()) {
+            throw new InvalidProxyRouteException("Upstream sem container");
+        }
+        // id curto só a partir de 12 caracteres, como o docker ps mostra
+        List<ContainerState> matches = containerStateIndex.byServer(serverId).stream()
+                .filter(container -> container.id().equals(reference)
+                        || reference.length() >= 12 && container.id().startsWith(reference)
+                        || reference.equals(container.name()))
+                .toList();
+        if (matches.isEmpty()) {
+            throw new InvalidProxyRouteException("Container " + reference + " não pertence ao servidor " + serverId);
+        }
+        if (matches.size() > 1) {
+            throw new InvalidProxyRouteException("Referência ambígua: " + reference);
+        }
+        ContainerState container = matches.getFirst();
+        if (!container.isRunning()) {
+            throw new InvalidProxyRouteException("Container " + container.name() + " não está rodando");
+        }
+        return container;
+    }
+
+    private URI url(ContainerState container, Integer port) {
+        if (port != null && (port < 1 || port > 65535)) {
+            throw new InvalidProxyRouteException("Porta inválida: " + port);
+        }
+        Integer wanted = port != null ? port : ContainerEndpoint.port(container.labels().get(DockerLabels.PROXY_PORT));
+        ContainerEndpoint endpoint = ContainerEndpoint.resolve(dockerGateway.inspectContainer(container.id()), wanted,
+                        publishedHost)
+                .orElseThrow(() -> new InvalidProxyRouteException("Container " + container.name() + " sem porta TCP"));
+        try {
+            return new URI("http", null, endpoint.host(), endpoint.port(), null, null, null);
+        } catch (URISyntaxException e) {
+            throw new InvalidProxyRouteException("Endereço inválido para " + container.name() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tira das rotas o container que parou ou foi removido; rota que fica sem
+     * upstream com peso sai da tabela e passa a responder 404.
+     */
+    private void onContainerChange(ContainerStateChange change) {
+        if (change.current() != null && change.current().isRunning()) {
+            return;
+        }
+        String containerId = change.containerId();
+        while (true) {
+            Map<String, ProxyRoute> current = routes.get();
+            Map<String, ProxyRoute> updated = new HashMap<>(current);
+            for (ProxyRoute route : current.values()) {
+                List<Upstream> remaining = route.upstreams().stream()
+                        .filter(upstream -> !upstream.containerId().equals(containerId))
+                        .toList();
+                if (remaining.size() == route.upstreams().size()) {
+                    continue;
+                }
+                if (remaining.stream().mapToInt(Upstream::weight).sum() <= 0) {
+                    updated.remove(route.serverId());
+                } else {
+                    updated.put(route.serverId(), new ProxyRoute(route.serverId(), remaining, Instant.now()));
+                }
+            }
+            if (updated.equals(current)) {
+                return;
+            }
+            if (routes.compareAndSet(current, Map.copyOf(updated))) {
+                for (ProxyRoute previous : current.values()) {
+                    ProxyRoute next = updated.get(previous.serverId());
+                    if (next != previous) {
+                        removeMeters(previous, next);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private Upstream upstream(String serverId, Resolved target, ProxyRoute previous) {
+        String containerId = target.container().id();
+        if (previous != null) {
+            for (Upstream existing : previous.upstreams()) {
+                if (existing.containerId().equals(containerId) && existing.url().equals(target.url())) {
+                    return new Upstream(containerId, target.url(), existing.host(), target.weight(),
+                            existing.latency(), existing.errors());
+                }
+            }
+        }
+        String tag = target.container().name() + "@" + target.url().getAuthority();
+        Timer latency = Timer.builder("proxy.upstream.latency")
+                .description("Tempo até os cabeçalhos da resposta do upstream")
+                .tag("server", serverId)
+                .tag("upstream", tag)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Counter errors = Counter.builder("proxy.upstream.errors")
+                .tag("server", serverId)
+                .tag("upstream", tag)
+                .register(meterRegistry);
+        return new Upstream(containerId, target.url(), HttpHost.create(target.url()), target.weight(), latency, errors);
+    }
+
+    private void removeMeters(ProxyRoute previous, ProxyRoute next) {
+        if (previous == null) {
+            return;
+        }
+        Set<Timer> kept = new HashSet<>();
+        if (next != null) {
+            next.upstreams().forEach(upstream -> kept.add(upstream.latency()));
+        }
+        for (Upstream upstream : previous.upstreams()) {
+            if (!kept.contains(upstream.latency())) {
+                // quem ainda usa o Upstream antigo grava num medidor desregistrado, sem efeito
+                meterRegistry.remove(upstream.latency());
+                meterRegistry.remove(upstream.errors());
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpHostConnectException;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encaminha a requisição para um upstream do conjunto ativo. As conexões
+ * ficam num pool keep-alive compartilhado entre rotas, então trocar a rota
+ * não derruba conexões nem espera requisições em andamento. Corpos passam
+ * em blocos de tamanho fixo, sem acumular em memória.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.proxy.enabled", havingValue = "true")
+public class ReverseProxy {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    // hop-by-hop (RFC 9110 §7.6.1) e os que o container/cliente recalculam
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "proxy-connection",
+            "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect");
+
+    // credenciais do painel nunca chegam às aplicações
+    private static final Set<String> CREDENTIAL_HEADERS = Set.of("authorization", "cookie");
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+    private final String jwtCookieName;
+
+    public ReverseProxy(
+            MeterRegistry meterRegistry,
+            @Value("${app.proxy.max-connections:512}") int maxConnections,
+            @Value("${app.proxy.max-connections-per-upstream:64}") int maxConnectionsPerUpstream,
+            @Value("${app.proxy.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.proxy.response-timeout:60s}") Duration responseTimeout,
+            @Value("${app.proxy.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${app.security.jwt.cookie-name:auth-token}") String jwtCookieName
+    ) {
+        this.jwtCookieName = jwtCookieName;
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerUpstream)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        this.client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableContentCompression()
+                .disableDefaultUserAgent()
+                .disableConnectionState()
+                .build();
+
+        Gauge.builder("proxy.connections.leased", connectionManager, m -> m.getTotalStats().getLeased())
+                .register(meterRegistry);
+        Gauge.builder("proxy.connections.available", connectionManager, m -> m.getTotalStats().getAvailable())
+                .register(meterRegistry);
+        Gauge.builder("proxy.connections.pending", connectionManager, m -> m.getTotalStats().getPending())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        client.close();
+    }
+
+    public void forward(ProxyRoute route, String pathAndQuery, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        Upstream upstream = route.choose();
+        BasicClassicHttpRequest outbound = new BasicClassicHttpRequest(request.getMethod(), upstream.host(), pathAndQuery);
+        copyRequestHeaders(request, outbound);
+        if (hasBody(request)) {
+            String contentType = request.getContentType();
+            outbound.setEntity(new InputStreamEntity(request.getInputStream(), request.getContentLengthLong(),
+                    contentType != null ? ContentType.parseLenient(contentType) : null));
+        }
+
+        long start = System.nanoTime();
+        ClassicHttpResponse inbound;
+        try {
+            inbound = client.executeOpen(upstream.host(), outbound, null);
+        } catch (ConnectionRequestTimeoutException e) {
+            // pool do upstream esgotado
+            fail(upstream, response, HttpStatus.SERVICE_UNAVAILABLE, e);
+            return;
+        } catch (SocketTimeoutException e) {
+            fail(upstream, response, HttpStatus.GATEWAY_TIMEOUT, e);
+            return;
+        } catch (HttpHostConnectException e) {
+            fail(upstream, response, HttpStatus.BAD_GATEWAY, e);
+            return;
+        } catch (IOException e) {
+            if (!response.isCommitted()) {
+                fail(upstream, response, HttpStatus.BAD_GATEWAY, e);
+                return;
+            }
+            throw e;
+        }
+        upstream.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try (inbound) {
+            response.setStatus(inbound.getCode());
+            for (Header header : inbound.getHeaders()) {
+                if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                    response.addHeader(header.getName(), header.getValue());
+                }
+            }
+            HttpEntity entity = inbound.getEntity();
+            if (entity == null) {
+                return;
+            }
+            if (entity.getContentLength() >= 0) {
+                response.setContentLengthLong(entity.getContentLength());
+            }
+            try (InputStream in = entity.getContent()) {
+                stream(in, response.getOutputStream());
+            }
+        } catch (SocketTimeoutException e) {
+            // resposta já começou: só resta cortar a conexão do cliente
+            upstream.errors().increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Copia em blocos e só faz flush quando o upstream não tem mais nada
+     * pronto, para que streams (SSE, long polling) não fiquem retidos no buffer.
+     */
+    private static void stream(InputStream in, ServletOutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (in.available() == 0) {
+                out.flush();
+            }
+        }
+    }
+
+    private void copyRequestHeaders(HttpServletRequest request, BasicClassicHttpRequest outbound) {
+        for (String name : Collections.list(request.getHeaderNames())) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (SKIPPED_HEADERS.contains(lower) || CREDENTIAL_HEADERS.contains(lower) || lower.startsWith("x-forwarded-")) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                outbound.addHeader(name, value);
+            }
+        }
+        String cookies = withoutPanelCookie(Collections.list(request.getHeaders("Cookie")));
+        if (!cookies.isEmpty()) {
+            outbound.setHeader("Cookie", cookies);
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        outbound.setHeader("X-Forwarded-For", forwardedFor != null
+                ? forwardedFor + ", " + request.getRemoteAddr()
+                : request.getRemoteAddr());
+        outbound.setHeader("X-Forwarded-Proto", request.getScheme());
+        if (request.getHeader("Host") != null) {
+            outbound.setHeader("X-Forwarded-Host", request.getHeader("Host"));
+        }
+    }
+
+    /**
+     * Junta os cabeçalhos Cookie num só, sem o cookie do JWT do painel. Os
+     * demais cookies são do domínio da aplicação e seguem intactos.
+     */
+    String withoutPanelCookie(List<String> headers) {
+        StringJoiner kept = new StringJoiner("; ");
+        for (String header : headers) {
+            for (String pair : header.split(";")) {
+                String trimmed = pair.trim();
+                int equals = trimmed.indexOf('=');
+                String name = equals < 0 ? trimmed : trimmed.substring(0, equals).trim();
+                if (!trimmed.isEmpty() && !name.equals(jwtCookieName)) {
+                    kept.add(trimmed);
+                }
+            }
+        }
+        return kept.toString();
+    }
+
+    private static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader("Transfer-Encoding") != null;
+    }
+
+    private static void fail(Upstream upstream, HttpServletResponse response, HttpStatus status, IOException e)
+            throws IOException {
+        upstream.errors().increment();
+        log.debug("Upstream {} falhou: {}", upstream.url(), e.getMessage());
+        if (!response.isCommitted()) {
+            // sem sendError: o dispatch para /error passaria pela cadeia de segurança
+            response.resetBuffer();
+            response.setStatus(status.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write(status.getReasonPhrase());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Atende antes do Spring MVC e da cadeia de segurança: requisições para
+ * {@code <serverId><host-suffix>} ou {@code <path-prefix>/<serverId>/...} vão
+ * para o conjunto ativo do servidor; o resto segue para a aplicação.
+ */
+public class ReverseProxyFilter extends OncePerRequestFilter {
+
+    private final ReverseProxy reverseProxy;
+    private final ProxyRoutingTable routingTable;
+    private final String hostSuffix;
+    private final String pathPrefix;
+
+    public ReverseProxyFilter(ReverseProxy reverseProxy, ProxyRoutingTable routingTable,
+                              String hostSuffix, String pathPrefix) {
+        this.reverseProxy = reverseProxy;
+        this.routingTable = routingTable;
+        this.hostSuffix = hostSuffix.isBlank() ? null : hostSuffix.toLowerCase(Locale.ROOT);
+        this.pathPrefix = pathPrefix.isBlank() ? null : stripTrailingSlash(pathPrefix) + "/";
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String serverId = null;
+        String upstreamPath = path;
+
+        String host = hostSuffix != null ? request.getServerName().toLowerCase(Locale.ROOT) : null;
+        if (host != null && host.endsWith(hostSuffix) && host.length() > hostSuffix.length()) {
+            serverId = host.substring(0, host.length() - hostSuffix.length());
+        } else if (pathPrefix != null && path.startsWith(pathPrefix)) {
+            int end = path.indexOf('/', pathPrefix.length());
+            serverId = path.substring(pathPrefix.length(), end < 0 ? path.length() : end);
+            upstreamPath = end < 0 ? "/" : path.substring(end);
+        }
+        if (serverId == null || serverId.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ProxyRoute route = routingTable.route(serverId);
+        if (route == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Nenhuma rota ativa para " + serverId);
+            return;
+        }
+        String query = request.getQueryString();
+        reverseProxy.forward(route, query != null ? upstreamPath + "?" + query : upstreamPath, request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return true;
+    }
+
+    private static String stripTrailingSlash(String value) {
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,14 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.core5.http.HttpHost;
+
+import java.net.URI;
+
+/**
+ * Destino de uma rota com os medidores já resolvidos, para não buscar no
+ * MeterRegistry a cada requisição.
+ */
+public record Upstream(String containerId, URI url, HttpHost host, int weight, Timer latency, Counter errors) {
+}
@@ -0,0 +1,391 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.ScalingProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ScalingDecision;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ScalingDirection;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ScalingDecisionRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy.DeployOrchestrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Laço de controle de réplicas. Cada amostra de carga atualiza o agregado do
+ * serviço e o classifica numa faixa (acima, dentro ou abaixo do alvo ±
+ * tolerância); só serviços fora da faixa, ou cujas réplicas mudaram, entram
+ * no conjunto sujo avaliado no tick. Serviços estáveis não custam nada por tick.
+ * As ações de escala rodam num pool limitado, uma por serviço.
+ */
+@Slf4j
+@Component
+public class AutoScaler {
+
+    private static final int ERROR_MAX_LENGTH = 1024;
+
+    private final ScalingProperties properties;
+    private final LoadSignalSource loadSignals;
+    private final ReplicaBackend replicaBackend;
+    private final ScalingDecisionRepository decisionRepository;
+    private final Predicate<String> deploying;
+    private final Executor actions;
+    private final ExecutorService ownedExecutor;
+
+    private final Map<ServiceKey, ServiceLoad> services = new ConcurrentHashMap<>();
+    private final Set<ServiceKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<ServiceKey> acting = ConcurrentHashMap.newKeySet();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter evaluated;
+    private final Timer evaluation;
+
+    @Autowired
+    public AutoScaler(ScalingProperties properties,
+                      LoadSignalSource loadSignals,
+                      ReplicaBackend replicaBackend,
+                      ScalingDecisionRepository decisionRepository,
+                      DeployOrchestrator deployOrchestrator,
+                      MeterRegistry meterRegistry) {
+        this(properties, loadSignals, replicaBackend, decisionRepository, deployOrchestrator::isDeploying, meterRegistry,
+                Executors.newFixedThreadPool(properties.maxConcurrentActions(), runnable -> {
+                    Thread thread = new Thread(runnable, "autoscaler-action");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    AutoScaler(ScalingProperties properties,
+               LoadSignalSource loadSignals,
+               ReplicaBackend replicaBackend,
+               ScalingDecisionRepository decisionRepository,
+               Predicate<String> deploying,
+               MeterRegistry meterRegistry,
+               Executor actions) {
+        this.properties = properties;
+        this.loadSignals = loadSignals;
+        this.replicaBackend = replicaBackend;
+        this.decisionRepository = decisionRepository;
+        this.deploying = deploying;
+        this.meterRegistry = meterRegistry;
+        this.actions = actions;
+        this.ownedExecutor = actions instanceof ExecutorService executorService ? executorService : null;
+        this.evaluated = meterRegistry.counter("autoscaler.evaluated");
+        this.evaluation = meterRegistry.timer("autoscaler.evaluation");
+        Gauge.builder("autoscaler.services", services, Map::size).register(meterRegistry);
+        Gauge.builder("autoscaler.dirty", dirty, Set::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!properties.enabled()) {
+            return;
+        }
+        loadSignals.addListener(this::onSample);
+        replicaBackend.addListener(dirty::add);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.scaling.interval:PT5S}")
+    public void evaluate() {
+        if (properties.enabled()) {
+            evaluate(Instant.now());
+        }
+    }
+
+    void evaluate(Instant now) {
+        evaluation.record(() -> {
+            Iterator<ServiceKey> pending = dirty.iterator();
+            while (pending.hasNext()) {
+                ServiceKey key = pending.next();
+                pending.remove();
+                if (acting.contains(key)) {
+                    // reavaliado quando a ação terminar
+                    continue;
+                }
+                evaluated.increment();
+                evaluate(key, now);
+            }
+        });
+    }
+
+    void onSample(LoadSample sample) {
+        ScalingProperties.Policy policy = properties.policyFor(sample.service().serverId()).orElse(null);
+        if (policy == null) {
+            return;
+        }
+        ServiceLoad load = services.computeIfAbsent(sample.service(), key -> new ServiceLoad());
+        boolean changed;
+        synchronized (load) {
+            changed = load.record(sample, policy, properties.sampleTtl());
+        }
+        if (changed || load.band != Band.STEADY) {
+            dirty.add(sample.service());
+        }
+    }
+
+    private void evaluate(ServiceKey key, Instant now) {
+        ScalingProperties.Policy policy = properties.policyFor(key.serverId()).orElse(null);
+        List<Replica> replicas = policy != null ? replicaBackend.replicas(key) : List.of();
+        if (replicas.isEmpty()) {
+            services.remove(key);
+            return;
+        }
+        // o deploy recria os containers; a contagem no meio dele não vale, e
+        // uma ação de escala brigaria com o compose. A troca de réplicas ao fim
+        // do deploy marca o serviço de novo.
+        if (deploying.test(key.serverId())) {
+            return;
+        }
+        // réplica nova ainda subindo: a carga das outras não representa o serviço
+        if (replicas.stream().anyMatch(Replica::isStarting)) {
+            return;
+        }
+        int current = (int) replicas.stream().filter(Replica::isRunning).count();
+        if (current == 0) {
+            return;
+        }
+        ServiceLoad load = services.computeIfAbsent(key, k -> new ServiceLoad());
+
+        Decision decision;
+        synchronized (load) {
+            load.retain(replicas, now, properties.sampleTtl());
+            decision = decide(load, policy, current, now);
+            if (decision != null) {
+                load.scaled(now);
+            }
+        }
+        if (decision == null) {
+            return;
+        }
+
+        acting.add(key);
+        ScalingDecision.ScalingDecisionBuilder record = ScalingDecision.builder()
+                .serverId(key.serverId())
+                .service(key.service())
+                .direction(decision.to() > current ? ScalingDirection.UP : ScalingDirection.DOWN)
+                .fromReplicas(current)
+                .toReplicas(decision.to())
+                .cpuPercent(finite(decision.cpuPercent()))
+                .memoryBytes(finite(decision.memoryBytes()))
+                .requestRate(finite(decision.requestRate()))
+                .reason(decision.reason())
+                .decidedAt(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+        try {
+            actions.execute(() -> act(key, record, current, decision));
+        } catch (RuntimeException e) {
+            acting.remove(key);
+            dirty.add(key);
+            log.warn("Ação de escala de {}/{} recusada: {}", key.serverId(), key.service(), e.getMessage());
+        }
+    }
+
+    private void act(ServiceKey key, ScalingDecision.ScalingDecisionBuilder record, int current, Decision decision) {
+        String outcome = "success";
+        try {
+            replicaBackend.scale(key, decision.to());
+            record.succeeded(true);
+            log.info("{}/{} escalado de {} para {} réplicas ({})",
+                    key.serverId(), key.service(), current, decision.to(), decision.reason());
+        } catch (RuntimeException e) {
+            outcome = "error";
+            record.succeeded(false).error(truncate(e.getMessage()));
+            log.warn("Falha ao escalar {}/{} para {}: {}", key.serverId(), key.service(), decision.to(), e.getMessage());
+        } finally {
+            acting.remove(key);
+            dirty.add(key);
+        }
+        meterRegistry.counter("autoscaler.decisions",
+                "direction", decision.to() > current ? "up" : "down", "outcome", outcome).increment();
+        try {
+            decisionRepository.save(record.build());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao registrar decisão de escala de {}/{}: {}", key.serverId(), key.service(), e.getMessage());
+        }
+    }
+
+    private static Decision decide(ServiceLoad load, ScalingProperties.Policy policy, int current, Instant now) {
+        // o cooldown também vale aqui: segura a repetição enquanto o índice
+        // ainda não viu as réplicas da última ação (ou se ela falhou)
+        if (current < policy.minReplicas() && elapsed(load.lastScaled, now, policy.scaleUpCooldown())) {
+            return load.decision(policy.minReplicas(), "abaixo do mínimo");
+        }
+        if (current > policy.maxReplicas() && elapsed(load.lastScaled, now, policy.scaleUpCooldown())) {
+            return load.decision(policy.maxReplicas(), "acima do máximo");
+        }
+        if (load.band == Band.HIGH
+                && elapsed(load.bandSince, now, policy.scaleUpWindow())
+                && elapsed(load.lastScaled, now, policy.scaleUpCooldown())
+                && current < policy.maxReplicas()) {
+            // proporcional, como o HPA: réplicas suficientes para voltar ao alvo
+            int proportional = (int) Math.ceil(current * load.ratio);
+            int target = Math.min(current + Math.max(1, policy.maxScaleUpStep()), Math.max(current + 1, proportional));
+            return load.decision(Math.min(policy.maxReplicas(), target), "carga acima do alvo");
+        }
+        if (load.band == Band.LOW
+                && elapsed(load.bandSince, now, policy.scaleDownWindow())
+                && elapsed(load.lastScaled, now, policy.scaleDownCooldown())
+                && current > policy.minReplicas()) {
+            // reduz de uma em uma; a carga das restantes sobe e é reavaliada
+            return load.decision(current - 1, "carga abaixo do alvo");
+        }
+        return null;
+    }
+
+    private static boolean elapsed(Instant since, Instant now, Duration window) {
+        return since == null || !since.plus(window).isAfter(now);
+    }
+
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MAX_LENGTH) {
+            return message;
+        }
+        return message.substring(0, ERROR_MAX_LENGTH);
+    }
+
+    private enum Band {
+        LOW,
+        STEADY,
+        HIGH
+    }
+
+    private record Decision(int to, String reason, double cpuPercent, double memoryBytes, double requestRate) {
+    }
+
+    private record Signal(Instant at, double cpuPercent, double memoryBytes, double requestRate) {
+    }
+
+    /**
+     * Última amostra de cada réplica e a faixa do agregado. Acesso sob o
+     * monitor da própria instância.
+     */
+    private static final class ServiceLoad {
+
+        private final Map<String, Signal> byContainer = new HashMap<>();
+        private Band band = Band.STEADY;
+        private Instant bandSince;
+        private Instant lastScaled;
+        private double ratio = Double.NaN;
+        private double cpuPercent;
+        private double memoryBytes;
+        private double requestRate;
+
+        /**
+         * Retorna true se a faixa mudou.
+         */
+        boolean record(LoadSample sample, ScalingProperties.Policy policy, Duration ttl) {
+            byContainer.put(sample.containerId(),
+                    new Signal(sample.at(), sample.cpuPercent(), sample.memoryBytes(), sample.requestRate()));
+            return classify(policy, sample.at(), ttl);
+        }
+
+        void retain(List<Replica> replicas, Instant now, Duration ttl) {
+            Set<String> ready = new HashSet<>();
+            for (Replica replica : replicas) {
+                if (replica.isReady()) {
+                    ready.add(replica.containerId());
+                }
+            }
+            byContainer.keySet().retainAll(ready);
+            byContainer.values().removeIf(signal -> signal.at().plus(ttl).isBefore(now));
+        }
+
+        void scaled(Instant now) {
+            lastScaled = now;
+            // a janela recomeça: a próxima decisão olha a carga já com as novas réplicas
+            bandSince = now;
+        }
+
+        Decision decision(int to, String reason) {
+            return new Decision(to, reason, cpuPercent, memoryBytes, requestRate);
+        }
+
+        private boolean classify(ScalingProperties.Policy policy, Instant now, Duration ttl) {
+            double cpu = 0;
+            double memory = 0;
+            double rate = 0;
+            int count = 0;
+            int rated = 0;
+            for (Signal signal : byContainer.values()) {
+                if (signal.at().plus(ttl).isBefore(now)) {
+                    continue;
+                }
+                cpu += signal.cpuPercent();
+                memory += signal.memoryBytes();
+                if (!Double.isNaN(signal.requestRate())) {
+                    rate += signal.requestRate();
+                    rated++;
+                }
+                count++;
+            }
+            if (count == 0) {
+                return false;
+            }
+            cpuPercent = cpu / count;
+            memoryBytes = memory / count;
+            requestRate = rated > 0 ? rate / rated : Double.NaN;
+
+            // o sinal mais pressionado decide
+            double worst = Double.NaN;
+            if (policy.targetCpuPercent() > 0) {
+                worst = cpuPercent / policy.targetCpuPercent();
+            }
+            long targetMemory = policy.targetMemory().toBytes();
+            if (targetMemory > 0) {
+                worst = max(worst, memoryBytes / targetMemory);
+            }
+            if (policy.targetRequestRate() > 0 && rated > 0) {
+                worst = max(worst, requestRate / policy.targetRequestRate());
+            }
+            if (Double.isNaN(worst)) {
+                return false;
+            }
+            ratio = worst;
+
+            Band next = ratio > 1 + policy.tolerance() ? Band.HIGH
+                    : ratio < 1 - policy.tolerance() ? Band.LOW
+                    : Band.STEADY;
+            if (next == band) {
+                return false;
+            }
+            band = next;
+            bandSince = now;
+            return true;
+        }
+
+        private static double max(double current, double candidate) {
+            return Double.isNaN(current) ? candidate : Math.max(current, candidate);
+        }
+    }
+}
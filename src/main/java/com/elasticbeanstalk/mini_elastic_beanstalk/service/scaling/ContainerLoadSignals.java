@@ -0,0 +1,39 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics.ContainerMetricsSampler;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Repassa as amostras do ContainerMetricsSampler com o serviço do compose
+ * de cada container. Taxa de requisições ainda não é medida por container.
+ */
+@Component
+public class ContainerLoadSignals implements LoadSignalSource {
+
+    private final ContainerMetricsSampler sampler;
+    private final ContainerStateIndex containerStateIndex;
+
+    public ContainerLoadSignals(ContainerMetricsSampler sampler, ContainerStateIndex containerStateIndex) {
+        this.sampler = sampler;
+        this.containerStateIndex = containerStateIndex;
+    }
+
+    @Override
+    public void addListener(Consumer<LoadSample> listener) {
+        sampler.addListener(sample -> {
+            String service = containerStateIndex.get(sample.containerId())
+                    .map(ContainerState::labels)
+                    .map(labels -> labels.get(DockerLabels.COMPOSE_SERVICE))
+                    .orElse(null);
+            if (service != null) {
+                listener.accept(new LoadSample(new ServiceKey(sample.serverId(), service), sample.containerId(),
+                        sample.at(), sample.cpuPercent(), sample.memoryBytes(), Double.NaN));
+            }
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.exception.NotModifiedException;
+import com.github.dockerjava.api.model.ContainerConfig;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import com.github.dockerjava.api.model.HostConfig;
+import com.github.dockerjava.api.model.Ports;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Escala serviços do compose direto pela API do Docker: novas réplicas são
+ * clones de uma réplica em execução, com o próximo container-number e os
+ * mesmos labels, para que o compose as reconheça no próximo deploy. Na
+ * redução saem as de número mais alto, como no `compose up --scale`.
+ */
+@Slf4j
+@Component
+public class DockerReplicaBackend implements ReplicaBackend {
+
+    private static final int STOP_TIMEOUT_SECONDS = 10;
+
+    private final DockerGateway dockerGateway;
+    private final ContainerStateIndex containerStateIndex;
+
+    public DockerReplicaBackend(DockerGateway dockerGateway, ContainerStateIndex containerStateIndex) {
+        this.dockerGateway = dockerGateway;
+        this.containerStateIndex = containerStateIndex;
+    }
+
+    @Override
+    public List<Replica> replicas(ServiceKey service) {
+        return containers(service).stream()
+                .map(container -> new Replica(container.id(), container.state(), container.health()))
+                .toList();
+    }
+
+    @Override
+    public void scale(ServiceKey service, int desired) {
+        List<ContainerState> running = containers(service).stream()
+                .filter(ContainerState::isRunning)
+                .sorted(Comparator.comparingInt(DockerReplicaBackend::containerNumber))
+                .toList();
+        if (running.isEmpty()) {
+            throw new IllegalStateException("Nenhuma réplica em execução de " + service.service() + " para clonar");
+        }
+        if (desired > running.size()) {
+            InspectContainerResponse template = dockerGateway.inspectContainer(running.getFirst().id());
+            int next = containers(service).stream().mapToInt(DockerReplicaBackend::containerNumber).max().orElse(0) + 1;
+            for (int i = running.size(); i < desired; i++) {
+                createReplica(service, template, next++);
+            }
+        } else {
+            for (ContainerState container : running.subList(desired, running.size()).reversed()) {
+                removeReplica(container.id());
+            }
+        }
+    }
+
+    @Override
+    public void addListener(Consumer<ServiceKey> listener) {
+        containerStateIndex.addListener(change -> {
+            ServiceKey service = serviceOf(change);
+            if (service != null) {
+                listener.accept(service);
+            }
+        });
+    }
+
+    private List<ContainerState> containers(ServiceKey service) {
+        return containerStateIndex.byServer(service.serverId()).stream()
+                .filter(container -> service.service().equals(container.labels().get(DockerLabels.COMPOSE_SERVICE)))
+                .filter(container -> !"True".equalsIgnoreCase(container.labels().get(DockerLabels.COMPOSE_ONEOFF)))
+                .toList();
+    }
+
+    private void createReplica(ServiceKey service, InspectContainerResponse template, int number) {
+        ContainerConfig config = template.getConfig();
+        Map<String, String> labels = new HashMap<>(config.getLabels());
+        labels.put(DockerLabels.COMPOSE_CONTAINER_NUMBER, Integer.toString(number));
+        String name = labels.getOrDefault(DockerLabels.COMPOSE_PROJECT, service.serverId())
+                + "-" + service.service() + "-" + number;
+
+        DockerClient client = dockerGateway.client();
+        CreateContainerCmd create = client.createContainerCmd(config.getImage())
+                .withName(name)
+                .withLabels(labels)
+                .withHostConfig(withDynamicPorts(template.getHostConfig()))
+                .withAliases(service.service());
+        if (config.getEnv() != null) {
+            create.withEnv(config.getEnv());
+        }
+        if (config.getCmd() != null) {
+            create.withCmd(config.getCmd());
+        }
+        if (config.getEntrypoint() != null) {
+            create.withEntrypoint(config.getEntrypoint());
+        }
+        if (config.getExposedPorts() != null) {
+            create.withExposedPorts(config.getExposedPorts());
+        }
+        if (config.getWorkingDir() != null && !config.getWorkingDir().isEmpty()) {
+            create.withWorkingDir(config.getWorkingDir());
+        }
+        if (config.getUser() != null && !config.getUser().isEmpty()) {
+            create.withUser(config.getUser());
+        }
+        if (config.getHealthcheck() != null) {
+            create.withHealthcheck(config.getHealthcheck());
+        }
+
+        String id = dockerGateway.execute("scale-create", create::exec).getId();
+        String primaryNetwork = template.getHostConfig().getNetworkMode();
+        Map<String, ContainerNetwork> networks = template.getNetworkSettings() != null
+                ? template.getNetworkSettings().getNetworks() : Map.of();
+        for (String network : networks.keySet()) {
+            if (!network.equals(primaryNetwork)) {
+                dockerGateway.run("scale-connect", () -> client.connectToNetworkCmd()
+                        .withNetworkId(network)
+                        .withContainerId(id)
+                        .withContainerNetwork(new ContainerNetwork().withAliases(service.service()))
+                        .exec());
+            }
+        }
+        dockerGateway.run("scale-start", () -> client.startContainerCmd(id).exec());
+        log.info("Réplica {} criada para {}/{}", name, service.serverId(), service.service());
+    }
+
+    private void removeReplica(String containerId) {
+        DockerClient client = dockerGateway.client();
+        try {
+            dockerGateway.run("scale-stop", () -> client.stopContainerCmd(containerId)
+                    .withTimeout(STOP_TIMEOUT_SECONDS)
+                    .exec());
+        } catch (NotModifiedException e) {
+            // já parado
+        }
+        try {
+            dockerGateway.run("scale-remove", () -> client.removeContainerCmd(containerId).exec());
+        } catch (NotFoundException e) {
+            // removido por fora
+        }
+    }
+
+    // porta fixa no host colidiria com a réplica original; publica numa porta livre
+    private static HostConfig withDynamicPorts(HostConfig hostConfig) {
+        Ports ports = hostConfig.getPortBindings();
+        if (ports == null || ports.getBindings().isEmpty()) {
+            return hostConfig;
+        }
+        Ports dynamic = new Ports();
+        ports.getBindings().forEach((exposed, bindings) -> {
+            if (bindings == null) {
+                return;
+            }
+            for (Ports.Binding binding : bindings) {
+                dynamic.bind(exposed, new Ports.Binding(binding.getHostIp(), null));
+            }
+        });
+        return hostConfig.withPortBindings(dynamic);
+    }
+
+    private static int containerNumber(ContainerState container) {
+        try {
+            return Integer.parseInt(container.labels().getOrDefault(DockerLabels.COMPOSE_CONTAINER_NUMBER, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static ServiceKey serviceOf(ContainerStateChange change) {
+        ContainerState container = change.current() != null ? change.current() : change.previous();
+        String service = container.labels().get(DockerLabels.COMPOSE_SERVICE);
+        if (service == null || container.serverId() == null) {
+            return null;
+        }
+        return new ServiceKey(container.serverId(), service);
+    }
+}
@@ -0,0 +1,15 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import java.time.Instant;
+
+/**
+ * Carga de uma réplica num instante. requestRate é NaN quando a fonte não
+ * conhece a taxa de requisições.
+ */
+public record LoadSample(ServiceKey service,
+                         String containerId,
+                         Instant at,
+                         double cpuPercent,
+                         double memoryBytes,
+                         double requestRate) {
+}
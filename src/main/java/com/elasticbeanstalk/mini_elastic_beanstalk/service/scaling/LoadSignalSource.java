@@ -0,0 +1,8 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import java.util.function.Consumer;
+
+public interface LoadSignalSource {
+
+    void addListener(Consumer<LoadSample> listener);
+}
@@ -0,0 +1,17 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+public record Replica(String containerId, String state, String health) {
+
+    public boolean isRunning() {
+        return "running".equals(state);
+    }
+
+    // sem healthcheck conta como pronta
+    public boolean isReady() {
+        return isRunning() && (health == null || "healthy".equals(health));
+    }
+
+    public boolean isStarting() {
+        return isRunning() && "starting".equals(health);
+    }
+}
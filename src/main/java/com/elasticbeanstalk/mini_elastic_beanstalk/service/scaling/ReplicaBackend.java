@@ -0,0 +1,19 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ReplicaBackend {
+
+    List<Replica> replicas(ServiceKey service);
+
+    /**
+     * Leva o serviço a {@code desired} réplicas; bloqueia até concluir.
+     */
+    void scale(ServiceKey service, int desired);
+
+    /**
+     * Avisado quando uma réplica do serviço muda de estado, surge ou some.
+     */
+    void addListener(Consumer<ServiceKey> listener);
+}
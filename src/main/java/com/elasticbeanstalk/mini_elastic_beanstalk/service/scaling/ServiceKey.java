@@ -0,0 +1,4 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+public record ServiceKey(String serverId, String service) {
+}
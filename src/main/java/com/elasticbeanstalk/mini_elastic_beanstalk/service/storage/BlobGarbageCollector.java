@@ -0,0 +1,56 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.storage;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ArtifactBlob;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ArtifactBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+public class BlobGarbageCollector {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private ArtifactBlobRepository blobRepository;
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.storage.blobs.gc-grace-period:24h}")
+    private Duration gracePeriod;
+
+    @Scheduled(fixedDelayString = "${app.storage.blobs.gc-interval:PT1H}", initialDelayString = "${app.storage.blobs.gc-interval:PT1H}")
+    public void collect() {
+        LocalDateTime before = LocalDateTime.now().minus(gracePeriod);
+        int removed = 0;
+
+        List<ArtifactBlob> candidates;
+        do {
+            candidates = blobRepository.findUnreferencedBefore(before, PageRequest.of(0, BATCH_SIZE));
+            for (ArtifactBlob blob : candidates) {
+                try {
+                    if (blobStore.deleteIfUnleased(blob.getKind(), blob.getHash(),
+                            () -> blobRepository.deleteIfUnreferenced(blob.getHash()) > 0)) {
+                        removed++;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    // contador defasado: ainda há workspace apontando para o blob
+                    blobRepository.adjustRefCount(blob.getHash(), 0);
+                }
+            }
+        } while (candidates.size() == BATCH_SIZE);
+
+        if (removed > 0) {
+            log.info("GC de blobs removeu {} blobs sem referência", removed);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.storage;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.WorkspaceFile;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.WorkspaceFileId;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ArtifactBlobRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.WorkspaceFileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class BlobReferenceService {
+
+    @Autowired
+    private ArtifactBlobRepository blobRepository;
+    @Autowired
+    private WorkspaceFileRepository workspaceFileRepository;
+
+    public void registerChunk(StoredBlob chunk) {
+        blobRepository.insertIfAbsent(chunk.hash(), chunk.kind().name(), chunk.size());
+    }
+
+    /**
+     * Registra, sem referência, blobs gravados por um deploy que falhou: sem a
+     * linha na tabela o GC nunca os encontraria.
+     */
+    public void registerUnreferenced(Collection<StoredBlob> blobs) {
+        blobs.stream()
+                .distinct()
+                .forEach(blob -> blobRepository.insertIfAbsent(blob.hash(), blob.kind().name(), blob.size()));
+    }
+
+    @Transactional
+    public void replaceWorkspace(String serverId, Map<String, StoredBlob> files) {
+        // sem o lock, dois deploys leem as mesmas linhas antigas e decrementam os contadores duas vezes
+        workspaceFileRepository.lockServer(serverId);
+
+        // TreeMap: atualiza os contadores sempre na mesma ordem para evitar deadlock entre deploys
+        Map<String, Integer> deltas = new TreeMap<>();
+        Map<String, StoredBlob> blobs = new TreeMap<>();
+
+        for (WorkspaceFile previous : workspaceFileRepository.findByIdServerIdOrderByIdPath(serverId)) {
+            deltas.merge(previous.getBlobHash(), -1, Integer::sum);
+        }
+        files.values().forEach(blob -> {
+            deltas.merge(blob.hash(), 1, Integer::sum);
+            blobs.putIfAbsent(blob.hash(), blob);
+        });
+
+        blobs.values().forEach(blob -> blobRepository.insertIfAbsent(blob.hash(), blob.kind().name(), blob.size()));
+        deltas.forEach((hash, delta) -> {
+            if (delta != 0) {
+                blobRepository.adjustRefCount(hash, delta);
+            }
+        });
+
+        workspaceFileRepository.deleteByServerId(serverId);
+        workspaceFileRepository.saveAll(files.entrySet().stream()
+                .map(entry -> WorkspaceFile.builder()
+                        .id(new WorkspaceFileId(serverId, entry.getKey()))
+                        .blobHash(entry.getValue().hash())
+                        .build())
+                .toList());
+    }
+
+    public List<WorkspaceFile> workspaceFiles(String serverId) {
+        return workspaceFileRepository.findByIdServerIdOrderByIdPath(serverId);
+    }
+}
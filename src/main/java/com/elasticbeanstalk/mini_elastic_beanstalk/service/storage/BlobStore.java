@@ -0,0 +1,238 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.storage;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+@Service
+public class BlobStore {
+
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmp;
+    // hash -> montagens em andamento que dependem do blob; o GC não apaga blobs arrendados
+    private final Map<String, Integer> leases = new HashMap<>();
+
+    @Autowired
+    public BlobStore(WorkspaceService workspaceService) {
+        this.root = workspaceService.getBasePath().resolve(".blobs");
+        this.tmp = root.resolve("tmp");
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && SHA_256.matcher(hash).matches();
+    }
+
+    public boolean exists(BlobKind kind, String hash) {
+        return isValidHash(hash) && Files.isRegularFile(path(kind, hash));
+    }
+
+    public List<String> missing(BlobKind kind, Collection<String> hashes) {
+        return hashes.stream()
+                .distinct()
+                .filter(hash -> !exists(kind, hash))
+                .toList();
+    }
+
+    public BlobWriter open(BlobKind kind) {
+        try {
+            Files.createDirectories(tmp);
+            Path file = tmp.resolve(UUID.randomUUID().toString());
+            return new BlobWriter(kind, file, FileChannel.open(file,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public StoredBlob assemble(List<String> chunkHashes, String expectedHash) {
+        try (BlobWriter writer = open(BlobKind.FILE)) {
+            for (String chunk : chunkHashes) {
+                if (!exists(BlobKind.CHUNK, chunk)) {
+                    throw new InvalidArtifactException("Chunk inexistente: " + chunk);
+                }
+                writer.append(path(BlobKind.CHUNK, chunk));
+            }
+            return writer.commit(expectedHash);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void link(String hash, Path target) throws IOException {
+        Path blob = path(BlobKind.FILE, hash);
+        try {
+            Files.createLink(target, blob);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // sistemas de arquivos sem hard link (ou outro volume): cai para cópia
+            Files.copy(blob, target);
+        }
+    }
+
+    /**
+     * Protege os hashes contra o GC até o fechamento do lease. Quem monta um
+     * workspace deve arrendar antes de checar a existência dos blobs.
+     */
+    public Lease lease(Collection<String> hashes) {
+        Set<String> held = new HashSet<>(hashes);
+        synchronized (leases) {
+            held.forEach(hash -> leases.merge(hash, 1, Integer::sum));
+        }
+        return () -> {
+            synchronized (leases) {
+                held.forEach(hash -> leases.computeIfPresent(hash, (key, count) -> count == 1 ? null : count - 1));
+            }
+        };
+    }
+
+    /**
+     * Apaga o blob se ninguém o arrendou e se {@code unreferenced} confirmar a
+     * remoção do registro; as duas etapas rodam sob o mesmo lock dos leases.
+     */
+    public boolean deleteIfUnleased(BlobKind kind, String hash, BooleanSupplier unreferenced) {
+        synchronized (leases) {
+            if (leases.containsKey(hash) || !unreferenced.getAsBoolean()) {
+                return false;
+            }
+            delete(kind, hash);
+            return true;
+        }
+    }
+
+    public void delete(BlobKind kind, String hash) {
+        try {
+            Files.deleteIfExists(path(kind, hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path path(BlobKind kind, String hash) {
+        return root.resolve(kind.name().toLowerCase(Locale.ROOT))
+                .resolve(hash.substring(0, 2))
+                .resolve(hash);
+    }
+
+    public interface Lease extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    public final class BlobWriter implements Closeable {
+
+        private final BlobKind kind;
+        private final Path file;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private long size;
+        private boolean committed;
+
+        private BlobWriter(BlobKind kind, Path file, FileChannel channel) {
+            this.kind = kind;
+            this.file = file;
+            this.channel = channel;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            digest.update(buffer, offset, length);
+            ByteBuffer chunk = ByteBuffer.wrap(buffer, offset, length);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+            size += length;
+        }
+
+        void append(Path source) throws IOException {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                long length = in.size();
+                if (length > 0) {
+                    MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                    digest.update(mapped);
+                }
+                long position = 0;
+                while (position < length) {
+                    position += in.transferTo(position, length - position, channel);
+                }
+                size += length;
+            }
+        }
+
+        public StoredBlob commit(String expectedHash) throws IOException {
+            return commit(expectedHash, null);
+        }
+
+        /**
+         * Como {@link #commit(String)}, mas arrenda o hash antes de checar se o
+         * blob já existe e guarda o lease em {@code held}: o GC não apaga o blob
+         * existente entre o commit e o link. Quem passa {@code held} fecha os
+         * leases depois de registrar as referências.
+         */
+        public StoredBlob commit(String expectedHash, Collection<Lease> held) throws IOException {
+            channel.close();
+            String hash = HexFormat.of().formatHex(digest.digest());
+            if (expectedHash != null && !expectedHash.equals(hash)) {
+                throw new InvalidArtifactException("Hash divergente: esperado " + expectedHash + ", recebido " + hash);
+            }
+            if (held != null) {
+                held.add(lease(List.of(hash)));
+            }
+
+            Path target = path(kind, hash);
+            if (Files.exists(target)) {
+                Files.delete(file);
+            } else {
+                Files.createDirectories(target.getParent());
+                makeReadOnly(file);
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            committed = true;
+            return new StoredBlob(hash, kind, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void makeReadOnly(Path path) throws IOException {
+            try {
+                Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("r--r--r--"));
+            } catch (UnsupportedOperationException e) {
+                path.toFile().setReadOnly();
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.storage;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+
+public record StoredBlob(String hash, BlobKind kind, long size) {
+}
@@ -0,0 +1,149 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.storage;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class WorkspaceService {
+
+    private static final Pattern SERVER_ID = Pattern.compile("[a-zA-Z0-9][a-zA-Z0-9_-]{0,63}");
+    private static final String CURRENT = "current";
+
+    private final Path basePath;
+    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public WorkspaceService(@Value("${app.storage.base-path}") String basePath) {
+        this.basePath = Path.of(basePath).toAbsolutePath().normalize();
+    }
+
+    public Path getBasePath() {
+        return basePath;
+    }
+
+    public Path workspace(String serverId) {
+        if (serverId == null || !SERVER_ID.matcher(serverId).matches()) {
+            throw new InvalidArtifactException("serverId inválido: " + serverId);
+        }
+        return basePath.resolve(serverId);
+    }
+
+    public Path current(String serverId) {
+        return workspace(serverId).resolve(CURRENT);
+    }
+
+    public Path createStaging(String serverId) {
+        try {
+            Path workspace = Files.createDirectories(workspace(serverId));
+            return Files.createDirectory(workspace.resolve(".staging-" + UUID.randomUUID()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Troca o workspace atual pelo staging e roda {@code register} sob o mesmo
+     * lock: a troca e o registro dos arquivos formam uma unidade, e dois uploads
+     * do mesmo servidor não intercalam diretório e contadores de referência. Se
+     * o registro falhar, o workspace anterior volta e o novo retorna ao staging.
+     */
+    public void promote(String serverId, Path staging, Runnable register) {
+        Path current = current(serverId);
+        Path previous = workspace(serverId).resolve(".previous-" + UUID.randomUUID());
+
+        ReentrantLock lock = locks.computeIfAbsent(serverId, id -> new ReentrantLock());
+        lock.lock();
+        try {
+            boolean replaced = Files.exists(current);
+            if (replaced) {
+                Files.move(current, previous, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(staging, current, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                register.run();
+            } catch (RuntimeException e) {
+                rollback(current, staging, replaced ? previous : null, e);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        delete(previous);
+    }
+
+    private static void rollback(Path current, Path staging, Path previous, RuntimeException cause) {
+        try {
+            Files.move(current, staging, StandardCopyOption.ATOMIC_MOVE);
+            if (previous != null) {
+                Files.move(previous, current, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Copia o workspace atual para target via hard links, sob o mesmo lock do
+     * promote: um upload concorrente não troca o diretório no meio da cópia.
+     */
+    public boolean snapshot(String serverId, Path target) {
+        Path current = current(serverId);
+        ReentrantLock lock = locks.computeIfAbsent(serverId, id -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (!Files.isDirectory(current)) {
+                return false;
+            }
+            try (Stream<Path> paths = Files.walk(current)) {
+                for (Path source : (Iterable<Path>) paths::iterator) {
+                    Path destination = target.resolve(current.relativize(source).toString());
+                    if (Files.isDirectory(source)) {
+                        Files.createDirectories(destination);
+                    } else {
+                        try {
+                            Files.createLink(destination, source);
+                        } catch (UnsupportedOperationException | FileSystemException e) {
+                            Files.copy(source, destination);
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void delete(Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path resolveEntry(Path root, String entryName) {
+        Path target = root.resolve(entryName).normalize();
+        if (!target.startsWith(root)) {
+            throw new InvalidArtifactException("Entrada inválida no artefato: " + entryName);
+        }
+        return target;
+    }
+}
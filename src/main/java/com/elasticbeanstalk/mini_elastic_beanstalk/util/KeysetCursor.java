@@ -0,0 +1,34 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.util;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição opaca de paginação por (created_at, id): o cliente devolve o
+ * cursor da página anterior e a consulta continua do ponto exato, sem OFFSET.
+ */
+public record KeysetCursor(LocalDateTime createdAt, long id) {
+
+    public static String encode(LocalDateTime createdAt, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Runnable onCoalesced;
+
+    public RequestCoalescer() {
+        this(() -> {
+        });
+    }
+
+    public RequestCoalescer(Runnable onCoalesced) {
+        this.onCoalesced = onCoalesced;
+    }
+
+    // Quem chega enquanto a mesma chave está em andamento espera o resultado
+    // da chamada original em vez de disparar outra.
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            onCoalesced.run();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
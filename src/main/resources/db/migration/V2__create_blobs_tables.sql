@@ -0,0 +1,19 @@
+CREATE TABLE blobs (
+    hash VARCHAR(64) PRIMARY KEY,
+    kind VARCHAR(16) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_referenced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_blobs_unreferenced ON blobs (last_referenced_at) WHERE ref_count <= 0;
+
+CREATE TABLE workspace_files (
+    server_id VARCHAR(64) NOT NULL,
+    path VARCHAR(1024) NOT NULL,
+    blob_hash VARCHAR(64) NOT NULL REFERENCES blobs (hash),
+    PRIMARY KEY (server_id, path)
+);
+
+CREATE INDEX idx_workspace_files_blob_hash ON workspace_files (blob_hash);
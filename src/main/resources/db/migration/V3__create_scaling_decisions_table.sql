@@ -0,0 +1,17 @@
+CREATE TABLE scaling_decisions (
+    id BIGSERIAL PRIMARY KEY,
+    server_id VARCHAR(64) NOT NULL,
+    service VARCHAR(255) NOT NULL,
+    direction VARCHAR(8) NOT NULL,
+    from_replicas INTEGER NOT NULL,
+    to_replicas INTEGER NOT NULL,
+    cpu_percent DOUBLE PRECISION,
+    memory_bytes DOUBLE PRECISION,
+    request_rate DOUBLE PRECISION,
+    reason VARCHAR(255) NOT NULL,
+    succeeded BOOLEAN NOT NULL,
+    error VARCHAR(1024),
+    decided_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_scaling_decisions_server_decided ON scaling_decisions (server_id, decided_at DESC);
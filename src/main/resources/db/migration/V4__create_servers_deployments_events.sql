@@ -0,0 +1,45 @@
+-- ids por sequência com INCREMENT 50, casando com o allocationSize das
+-- entidades: o Hibernate reserva blocos e consegue agrupar os INSERTs
+CREATE SEQUENCE servers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE deployments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE deployment_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE servers (
+    id BIGINT PRIMARY KEY,
+    server_id VARCHAR(64) NOT NULL UNIQUE,
+    last_status VARCHAR(16),
+    last_deployed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE deployments (
+    id BIGINT PRIMARY KEY,
+    public_id UUID NOT NULL UNIQUE,
+    server_id VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    last_stage VARCHAR(16),
+    requested_by VARCHAR(255),
+    images TEXT,
+    error VARCHAR(2048),
+    superseded_by UUID,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- "últimos deploys do servidor" e a paginação por (created_at, id)
+CREATE INDEX idx_deployments_server_created ON deployments (server_id, created_at DESC, id DESC);
+
+CREATE TABLE deployment_events (
+    id BIGINT PRIMARY KEY,
+    deployment_id BIGINT NOT NULL REFERENCES deployments (id) ON DELETE CASCADE,
+    server_id VARCHAR(64) NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    stage VARCHAR(16),
+    message VARCHAR(2048),
+    occurred_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_deployment_events_deployment ON deployment_events (deployment_id, id);
+-- tabela só de inserção, ordenada pelo tempo: BRIN é minúsculo e basta para a retenção
+CREATE INDEX idx_deployment_events_occurred_brin ON deployment_events USING BRIN (occurred_at);
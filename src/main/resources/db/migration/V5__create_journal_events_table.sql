@@ -0,0 +1,14 @@
+CREATE TABLE journal_events (
+    id BIGSERIAL PRIMARY KEY,
+    category VARCHAR(16) NOT NULL,
+    action VARCHAR(64) NOT NULL,
+    actor VARCHAR(255),
+    server_id VARCHAR(64),
+    reference VARCHAR(255),
+    detail VARCHAR(2048),
+    occurred_at TIMESTAMP NOT NULL
+);
+
+-- só inserção, em ordem de tempo
+CREATE INDEX idx_journal_events_occurred_brin ON journal_events USING BRIN (occurred_at);
+CREATE INDEX idx_journal_events_server ON journal_events (server_id, occurred_at DESC) WHERE server_id IS NOT NULL;
@@ -0,0 +1,6 @@
+-- hash dos scripts de migração do último migrate (ver FlywayConfig); com ele igual, a validação é pulada
+CREATE TABLE schema_fingerprint (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    fingerprint VARCHAR(64) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,89 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.request.LoginRequest;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.dto.response.AuthResponse;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.AuthService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.PasswordHasher;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.journal.EventJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AuthServiceLoginBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"4", "8", "10", "12"})
+    private int bcryptCost;
+
+    private AuthService authService;
+    private PasswordHasher passwordHasher;
+    private EventJournal journal;
+    private LoginRequest request;
+    private ExecutorService taskExecutor;
+
+    @Setup
+    public void setup() throws IOException {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptCost);
+        int threads = Runtime.getRuntime().availableProcessors();
+        passwordHasher = new PasswordHasher(encoder, new SimpleMeterRegistry(), threads, 1024);
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository",
+                StubUserRepository.returning(StubUserRepository.benchmarkUser(encoder.encode(PASSWORD))));
+        ReflectionTestUtils.setField(authService, "passwordHasher", passwordHasher);
+        ReflectionTestUtils.setField(authService, "jwtService", JwtServiceBenchmark.jwtService(false));
+        ReflectionTestUtils.setField(authService, "eventPublisher", (ApplicationEventPublisher) event -> {
+        });
+        // diário real com sink vazio: o custo do append entra na medição
+        journal = new EventJournal(entries -> {
+        }, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), true, 65536, 500,
+                Duration.ofMillis(200), Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofSeconds(10),
+                Files.createTempDirectory("journal-bench"));
+        journal.start();
+        ReflectionTestUtils.setField(authService, "journal", journal);
+        taskExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ReflectionTestUtils.setField(authService, "taskExecutor", taskExecutor);
+
+        request = new LoginRequest("bench@elasticbeanstalk.com", PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+        taskExecutor.shutdown();
+        journal.stop();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return authService.login(request).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthServiceLoginBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.JwtAuthenticationFilter;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.PrincipalMode;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.PrincipalResolver;
+import com.elasticbeanstalk.mini_elastic_beanstalk.security.UserDetailsCache;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.JwtService;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"DATABASE", "CACHED", "CLAIMS"})
+    private PrincipalMode mode;
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private Cookie cookie;
+
+    @Setup
+    public void setup() {
+        User user = StubUserRepository.benchmarkUser();
+        UserRepository userRepository = StubUserRepository.returning(user);
+        JwtService jwtService = JwtServiceBenchmark.jwtService(tokenCache);
+
+        UserDetailsCache userDetailsCache = new UserDetailsCache(10_000, Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(userDetailsCache, "userRepository", userRepository);
+
+        PrincipalResolver principalResolver = new PrincipalResolver();
+        ReflectionTestUtils.setField(principalResolver, "userRepository", userRepository);
+        ReflectionTestUtils.setField(principalResolver, "userDetailsCache", userDetailsCache);
+        ReflectionTestUtils.setField(principalResolver, "mode", mode);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "principalResolver", principalResolver);
+        ReflectionTestUtils.setField(filter, "cookieName", "auth-token");
+
+        cookie = new Cookie("auth-token", jwtService.generateToken(user));
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/servers");
+        request.setCookies(cookie);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.JwtService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.VerifiedToken;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.auth.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1zZWNyZXQtd2l0aC0yNTYtYml0cyE=";
+
+    private JwtService jwtService;
+    private JwtService cachedJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = jwtService(false);
+        cachedJwtService = jwtService(true);
+
+        user = StubUserRepository.benchmarkUser();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachedJwtService.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacyPerCallParsing() {
+        String username = legacyClaim(token, Claims::getSubject);
+        String usernameAgain = legacyClaim(token, Claims::getSubject);
+        Date expiration = legacyClaim(token, Claims::getExpiration);
+        return username.equals(usernameAgain) && !expiration.before(new Date());
+    }
+
+    static JwtService jwtService(boolean cacheEnabled) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "verifiedTokenCache",
+                new VerifiedTokenCache(new SimpleMeterRegistry(), cacheEnabled, 10_000, 86_400_000L));
+        return service;
+    }
+
+    private <T> T legacyClaim(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.ContainerLogStream;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.logs.LogStreamType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicação de uma linha com N sessões assistindo. O gc.alloc.rate.norm deve
+ * ficar constante com o número de assinantes: a mensagem é compartilhada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogFanOutBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int subscribers;
+
+    private ContainerLogStream stream;
+    private String line;
+    private Instant timestamp;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        stream = new ContainerLogStream("bench", "srv", 4096, 200, 64, 256, Runnable::run, new SimpleMeterRegistry());
+        for (int i = 0; i < subscribers; i++) {
+            stream.subscribe(session("session-" + i, blackhole));
+        }
+        timestamp = Instant.parse("2025-01-01T00:00:00Z");
+        line = "2025-01-01T00:00:00Z INFO  [http-nio-8080-exec-1] GET /api/orders 200 12ms";
+    }
+
+    @Benchmark
+    public void publish() {
+        stream.publish(LogStreamType.STDOUT, timestamp, line);
+    }
+
+    private static WebSocketSession session(String id, Blackhole blackhole) {
+        return (WebSocketSession) Proxy.newProxyInstance(
+                WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> id;
+                    case "isOpen" -> true;
+                    case "sendMessage" -> {
+                        blackhole.consume((WebSocketMessage<?>) args[0]);
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LogFanOutBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
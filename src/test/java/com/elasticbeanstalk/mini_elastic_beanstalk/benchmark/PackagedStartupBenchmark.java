@@ -0,0 +1,126 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Subida do jar extraído pelo profile Maven {@code aot}, num processo novo por
+ * medição, até o readiness responder: sem AOT, com o código AOT do Spring e
+ * com ele mais o cache AOT da JVM. O {@link StartupBenchmark} roda no processo
+ * do JMH e não enxerga nenhum dos dois. Precisa de {@code mvn -Paot -DskipTests
+ * package} antes e do PostgreSQL das variáveis DB_*.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PackagedStartupBenchmark {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"jar", "aot", "aot-cache"})
+    private String mode;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private Path appDir;
+    private Path jar;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void locate() throws IOException {
+        appDir = Path.of(System.getProperty("benchmark.app-dir", "target/app")).toAbsolutePath();
+        try (Stream<Path> files = Files.list(appDir)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Sem jar em " + appDir + ": rode mvn -Paot -DskipTests package"));
+        }
+        if (mode.equals("aot-cache") && !Files.isRegularFile(appDir.resolve("app.aot"))) {
+            throw new IllegalStateException("Sem cache AOT em " + appDir.resolve("app.aot"));
+        }
+    }
+
+    @Benchmark
+    public int start() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (mode.equals("aot-cache")) {
+            command.add("-XX:AOTCache=" + appDir.resolve("app.aot"));
+        }
+        if (!mode.equals("jar")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of("-Dspring.profiles.active=prod", "-Dserver.port=" + port,
+                "-Dspring.main.banner-mode=off", "-jar", jar.toString()));
+
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(appDir.resolve("startup-" + mode + ".log").toFile())
+                .start();
+        return awaitReady(port);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private int awaitReady(int port) throws Exception {
+        URI readiness = URI.create("http://127.0.0.1:" + port + "/actuator/health/readiness");
+        HttpRequest request = HttpRequest.newBuilder(readiness)
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Aplicação saiu com código " + process.exitValue()
+                        + ", ver " + appDir.resolve("startup-" + mode + ".log"));
+            }
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException e) {
+                // porta ainda fechada ou conexão derrubada durante a subida
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Readiness não respondeu em " + READY_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PackagedStartupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.StageTimingProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.RequestStage;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimingRecorder;
+import com.elasticbeanstalk.mini_elastic_beanstalk.monitoring.StageTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da medição por etapas numa requisição simulada (JWT, conexão,
+ * repositório e hash, cada um com um pouco de CPU). Com sampleRate 0 nada é
+ * medido; a diferença para 1.0 é o overhead, e o gc.alloc.rate.norm deve ser 0.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageTimingBenchmark {
+
+    private static final long WORK_TOKENS = 200;
+
+    @Param({"0.0", "1.0"})
+    public double sampleRate;
+
+    private StageTimingRecorder recorder;
+
+    @Setup
+    public void setup() {
+        StageTimingProperties properties = new StageTimingProperties(true, sampleRate, Duration.ofSeconds(10),
+                List.of(Duration.ofMillis(1), Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1)), 256);
+        recorder = new StageTimingRecorder(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void request() {
+        StageTimings timings = recorder.begin();
+        StageTimings previous = timings != null ? StageTimings.attach(timings) : null;
+        try {
+            stage(RequestStage.JWT_VERIFY);
+            stage(RequestStage.CONNECTION_WAIT);
+            stage(RequestStage.REPOSITORY);
+            stage(RequestStage.HASH);
+        } finally {
+            if (timings != null) {
+                StageTimings.restore(previous);
+                recorder.finish(timings, "POST", "/auth/login", 200);
+            }
+        }
+    }
+
+    private static void stage(RequestStage stage) {
+        long start = StageTimings.start();
+        try {
+            Blackhole.consumeCPU(WORK_TOKENS);
+        } finally {
+            StageTimings.stop(stage, start);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StageTimingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.MiniElasticBeanstalkApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de subida da aplicação inteira, do run() até o contexto pronto, em JVM
+ * nova a cada fork (SingleShotTime sem warmup = partida a frio). Compara o
+ * perfil padrão com o prod (ver application-prod.yaml). Precisa do PostgreSQL
+ * das variáveis DB_*; o Docker pode estar fora, o índice de estado só reconecta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"dev", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(MiniElasticBeanstalkApplication.class)
+                .profiles(profile)
+                .applicationStartup(new BufferingApplicationStartup(4096))
+                .properties("server.port=0", "spring.main.keep-alive=false", "spring.main.banner-mode=off")
+                .run();
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,43 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.benchmark;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.User;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.UserRole;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+final class StubUserRepository {
+
+    private StubUserRepository() {
+    }
+
+    static User benchmarkUser() {
+        return benchmarkUser(null);
+    }
+
+    static User benchmarkUser(String encodedPassword) {
+        return User.builder()
+                .id(42L)
+                .email("bench@elasticbeanstalk.com")
+                .password(encodedPassword)
+                .role(UserRole.USER)
+                .build();
+    }
+
+    static UserRepository returning(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail", "findById" -> Optional.of(user);
+                    case "existsByEmail" -> false;
+                    case "updatePassword" -> 1;
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.monitoring;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.StageTimingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimingRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StageTimingRecorder recorder = new StageTimingRecorder(
+            new StageTimingProperties(true, 1.0, Duration.ofSeconds(10), List.of(Duration.ofMillis(1)), 1),
+            meterRegistry);
+
+    @Test
+    void recordsAsyncStagesThatFinishedBeforeTheRequest() {
+        StageTimings timings = recorder.begin();
+        AsyncStage hash = timings.async(RequestStage.HASH_QUEUE, RequestStage.HASH);
+        hash.started();
+        hash.finished();
+
+        recorder.finish(timings, "POST", "/api/auth/login", 200);
+
+        assertThat(stageCount("/api/auth/login", RequestStage.HASH_QUEUE)).isEqualTo(1);
+        assertThat(stageCount("/api/auth/login", RequestStage.HASH)).isEqualTo(1);
+    }
+
+    @Test
+    void lateAsyncStagesDoNotLeakIntoTheNextRequestOfThePooledObject() {
+        StageTimings first = recorder.begin();
+        AsyncStage late = first.async(RequestStage.HASH_QUEUE, RequestStage.HASH);
+        // timeout: a requisição acaba com o hash ainda na fila
+        recorder.finish(first, "POST", "/api/auth/login", 503);
+
+        StageTimings second = recorder.begin();
+        assertThat(second).isSameAs(first);
+        late.started();
+        late.finished();
+        recorder.finish(second, "GET", "/api/servers", 200);
+
+        assertThat(meterRegistry.find("http.server.stage").tag("uri", "/api/servers")
+                .tag("stage", RequestStage.HASH.tag()).timer().count()).isZero();
+        assertThat(second.count(RequestStage.HASH)).isZero();
+    }
+
+    private long stageCount(String uri, RequestStage stage) {
+        return meterRegistry.get("http.server.stage").tag("uri", uri).tag("stage", stage.tag()).timer().count();
+    }
+}
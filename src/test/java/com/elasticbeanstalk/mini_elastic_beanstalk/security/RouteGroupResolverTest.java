@@ -0,0 +1,53 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.security;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.RateLimitProperties;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteGroupResolverTest {
+
+    // os grupos reais do application.yaml: o teste quebra se a configuração abrir uma brecha
+    private final RouteGroupResolver resolver = new RouteGroupResolver(properties());
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+            "POST, /auth/login, auth",
+            "GET, /auth/login, auth",
+            "PUT, /auth/login, auth",
+            "POST, /auth/register, auth",
+            "POST, /auth/logout, -",
+            "POST, /api/servers/srv1/deployments, deploy",
+            "GET, /api/servers/srv1/deployments, -",
+            "GET, /ws/containers/c1/logs, logs"
+    })
+    void resolvesTheConfiguredGroup(String method, String path, String group) {
+        RateLimitProperties.Group resolved = resolver.resolve(new MockHttpServletRequest(method, path));
+
+        assertThat(resolved == null ? null : resolved.name()).isEqualTo(group);
+    }
+
+    private static RateLimitProperties properties() {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                    .load("application", new ClassPathResource("application.yaml"));
+            return new Binder(ConfigurationPropertySources.from(sources), new PropertySourcesPlaceholdersResolver(sources))
+                    .bind("app.rate-limit", RateLimitProperties.class)
+                    .get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.BlobKind;
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.ArtifactTooLargeException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobReferenceService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobStore;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.StoredBlob;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArtifactDeltaServiceTest {
+
+    @TempDir
+    Path base;
+
+    private final List<StoredBlob> registered = new CopyOnWriteArrayList<>();
+    private BlobStore blobStore;
+    private ArtifactDeltaService service;
+
+    @BeforeEach
+    void setUp() {
+        WorkspaceService workspaceService = new WorkspaceService(base.toString());
+        blobStore = new BlobStore(workspaceService);
+        service = new ArtifactDeltaService();
+        ReflectionTestUtils.setField(service, "workspaceService", workspaceService);
+        ReflectionTestUtils.setField(service, "blobStore", blobStore);
+        ReflectionTestUtils.setField(service, "blobReferenceService", new BlobReferenceService() {
+            @Override
+            public void registerChunk(StoredBlob chunk) {
+                registered.add(chunk);
+            }
+        });
+        ReflectionTestUtils.setField(service, "maxChunkSize", DataSize.ofBytes(1024));
+    }
+
+    @Test
+    void storesChunksUpToTheLimit() throws Exception {
+        byte[] content = new byte[1024];
+        String hash = sha256(content);
+
+        service.storeChunk(hash, content.length, new ByteArrayInputStream(content));
+
+        assertThat(blobStore.exists(BlobKind.CHUNK, hash)).isTrue();
+        assertThat(registered).extracting(StoredBlob::hash).containsExactly(hash);
+    }
+
+    @Test
+    void rejectsOversizedChunksByDeclaredLength() throws Exception {
+        byte[] content = new byte[2048];
+
+        assertThatThrownBy(() -> service.storeChunk(sha256(content), content.length, new ByteArrayInputStream(content)))
+                .isInstanceOf(ArtifactTooLargeException.class);
+        assertThat(base.resolve(".blobs")).doesNotExist();
+    }
+
+    @Test
+    void rejectsOversizedChunkBodiesWithoutContentLengthAndDropsTheTempFile() throws Exception {
+        byte[] content = new byte[2048];
+
+        assertThatThrownBy(() -> service.storeChunk(sha256(content), -1, new ByteArrayInputStream(content)))
+                .isInstanceOf(ArtifactTooLargeException.class);
+        assertThat(base.resolve(".blobs/tmp")).isEmptyDirectory();
+        assertThat(registered).isEmpty();
+    }
+
+    @Test
+    void garbageCollectionSkipsLeasedBlobs() throws Exception {
+        byte[] content = {1, 2, 3};
+        String hash = sha256(content);
+        service.storeChunk(hash, content.length, new ByteArrayInputStream(content));
+
+        try (BlobStore.Lease lease = blobStore.lease(List.of(hash))) {
+            assertThat(blobStore.deleteIfUnleased(BlobKind.CHUNK, hash, () -> true)).isFalse();
+            assertThat(blobStore.exists(BlobKind.CHUNK, hash)).isTrue();
+        }
+
+        assertThat(blobStore.deleteIfUnleased(BlobKind.CHUNK, hash, () -> true)).isTrue();
+        assertThat(blobStore.exists(BlobKind.CHUNK, hash)).isFalse();
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
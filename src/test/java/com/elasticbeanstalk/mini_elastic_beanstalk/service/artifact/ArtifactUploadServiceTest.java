@@ -0,0 +1,167 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.artifact;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidArtifactException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobReferenceService;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.BlobStore;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.StoredBlob;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.storage.WorkspaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArtifactUploadServiceTest {
+
+    @TempDir
+    Path base;
+
+    private WorkspaceService workspaceService;
+    private ArtifactUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        workspaceService = new WorkspaceService(base.toString());
+        service = new ArtifactUploadService();
+        ReflectionTestUtils.setField(service, "workspaceService", workspaceService);
+        ReflectionTestUtils.setField(service, "blobStore", new BlobStore(workspaceService));
+        ReflectionTestUtils.setField(service, "blobReferenceService", new BlobReferenceService() {
+            @Override
+            public void replaceWorkspace(String serverId, Map<String, StoredBlob> files) {
+            }
+
+            @Override
+            public void registerUnreferenced(Collection<StoredBlob> blobs) {
+            }
+        });
+        ReflectionTestUtils.setField(service, "maxSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(service, "maxExtractedSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "/", "//"})
+    void rejectsFileNamesWithoutAName(String fileName) {
+        assertThatThrownBy(() -> upload(fileName, "conteúdo".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(InvalidArtifactException.class);
+        assertThat(base.resolve("srv-1")).doesNotExist();
+    }
+
+    @Test
+    void keepsOnlyTheLastPathSegmentOfTheFileName() {
+        service.upload("srv-1", "../../etc/app.jar", 3, new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertThat(workspaceService.current("srv-1").resolve("app.jar")).hasSize(3);
+    }
+
+    @Test
+    void rejectsDuplicateTarEntriesAndKeepsThePreviousWorkspace() throws IOException {
+        upload("app.tar.gz", tarGz("app/index.html", "v1"));
+        byte[] duplicated = tarGz("app/index.html", "v2", "app/index.html", "v3");
+
+        assertThatThrownBy(() -> upload("app.tar.gz", duplicated))
+                .isInstanceOf(InvalidArtifactException.class)
+                .hasMessageContaining("app/index.html");
+
+        assertThat(workspaceService.current("srv-1").resolve("app/index.html")).hasContent("v1");
+        try (Stream<Path> entries = Files.list(workspaceService.workspace("srv-1"))) {
+            assertThat(entries).containsExactly(workspaceService.current("srv-1"));
+        }
+    }
+
+    @Test
+    void rejectsAFileEntryThatCollidesWithADirectory() throws IOException {
+        byte[] conflicting = tarGz("app", "arquivo", "app/index.html", "v1");
+
+        assertThatThrownBy(() -> upload("app.tar.gz", conflicting))
+                .isInstanceOf(InvalidArtifactException.class);
+    }
+
+    @Test
+    void restoresThePreviousWorkspaceWhenRegisteringTheFilesFails() throws IOException {
+        upload("app.tar.gz", tarGz("app/index.html", "v1"));
+        ReflectionTestUtils.setField(service, "blobReferenceService", new BlobReferenceService() {
+            @Override
+            public void replaceWorkspace(String serverId, Map<String, StoredBlob> files) {
+                throw new IllegalStateException("banco indisponível");
+            }
+
+            @Override
+            public void registerUnreferenced(Collection<StoredBlob> blobs) {
+            }
+        });
+
+        assertThatThrownBy(() -> upload("app.tar.gz", tarGz("app/index.html", "v2")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(workspaceService.current("srv-1").resolve("app/index.html")).hasContent("v1");
+        try (Stream<Path> entries = Files.list(workspaceService.workspace("srv-1"))) {
+            assertThat(entries).containsExactly(workspaceService.current("srv-1"));
+        }
+    }
+
+    @Test
+    void keepsTheUploadedBlobsLeasedUntilTheyAreRegistered() {
+        BlobStore blobStore = (BlobStore) ReflectionTestUtils.getField(service, "blobStore");
+        List<Boolean> deleted = new ArrayList<>();
+        ReflectionTestUtils.setField(service, "blobReferenceService", new BlobReferenceService() {
+            @Override
+            public void replaceWorkspace(String serverId, Map<String, StoredBlob> files) {
+                files.values().forEach(blob -> deleted.add(blobStore.deleteIfUnleased(blob.kind(), blob.hash(), () -> true)));
+            }
+        });
+
+        service.upload("srv-1", "app.jar", 3, new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertThat(deleted).containsExactly(false);
+        assertThat(workspaceService.current("srv-1").resolve("app.jar")).hasSize(3);
+    }
+
+    private void upload(String fileName, byte[] content) {
+        service.upload("srv-1", fileName, content.length, new ByteArrayInputStream(content));
+    }
+
+    /** Pares nome/conteúdo, em ordem, como arquivos regulares de um tar.gz. */
+    private static byte[] tarGz(String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                byte[] data = entries[i + 1].getBytes(StandardCharsets.UTF_8);
+                byte[] header = new byte[512];
+                put(header, 0, entries[i]);
+                put(header, 100, "0000644");
+                put(header, 124, String.format("%011o", data.length));
+                header[156] = '0';
+                put(header, 257, "ustar");
+                gzip.write(header);
+                gzip.write(data);
+                gzip.write(new byte[(512 - data.length % 512) % 512]);
+            }
+            gzip.write(new byte[1024]);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] raw = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(raw, 0, header, offset, raw.length);
+    }
+}
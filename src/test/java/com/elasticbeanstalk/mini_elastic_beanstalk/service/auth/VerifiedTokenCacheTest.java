@@ -0,0 +1,86 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.auth;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerifiedTokenCacheTest {
+
+    private static final long ONE_DAY = Duration.ofDays(1).toMillis();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // tokens passados ao verificador, na ordem; cada um vira um usuário próprio
+    private final List<String> verifications = new ArrayList<>();
+
+    @Test
+    void keysEntriesByTheTokenDigest() {
+        VerifiedTokenCache cache = cache(true);
+        Function<String, VerifiedToken> verifier = verifier(Instant.now().plusSeconds(60));
+
+        VerifiedToken first = cache.get("header.alice.sig", verifier);
+        VerifiedToken again = cache.get(new String("header.alice.sig"), verifier);
+        VerifiedToken other = cache.get("header.bob.sig", verifier);
+
+        assertThat(again).isSameAs(first);
+        assertThat(other.username()).isEqualTo("header.bob.sig");
+        assertThat(verifications).containsExactly("header.alice.sig", "header.bob.sig");
+    }
+
+    @Test
+    void verifiesAgainOnceTheTokenReachesItsExp() throws InterruptedException {
+        VerifiedTokenCache cache = cache(true);
+        Function<String, VerifiedToken> verifier = verifier(Instant.now().plusMillis(150));
+
+        cache.get("header.alice.sig", verifier);
+        cache.get("header.alice.sig", verifier);
+        Thread.sleep(200);
+        cache.get("header.alice.sig", verifier);
+
+        assertThat(verifications).hasSize(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void rejectsRevokedTokensWithTheCacheOnOrOff(boolean enabled) {
+        VerifiedTokenCache cache = cache(enabled);
+        Function<String, VerifiedToken> verifier = verifier(Instant.now().plusSeconds(60));
+        cache.get("header.alice.sig", verifier);
+
+        cache.revoke("header.alice.sig", Instant.now().plusSeconds(60));
+
+        assertThatThrownBy(() -> cache.get("header.alice.sig", verifier)).isInstanceOf(RevokedTokenException.class);
+        assertThat(cache.get("header.bob.sig", verifier).username()).isEqualTo("header.bob.sig");
+    }
+
+    @Test
+    void keepsRevocationsOnlyWhileTheTokenCouldStillBeAccepted() {
+        VerifiedTokenCache cache = cache(true);
+
+        cache.revoke("header.expired.sig", Instant.now().minusSeconds(1));
+        cache.revoke("header.alice.sig", Instant.now().plusSeconds(60));
+
+        assertThat(meterRegistry.get("jwt.revoked-tokens.size").gauge().value()).isEqualTo(1);
+    }
+
+    private VerifiedTokenCache cache(boolean enabled) {
+        return new VerifiedTokenCache(meterRegistry, enabled, 1000, ONE_DAY);
+    }
+
+    private Function<String, VerifiedToken> verifier(Instant expiresAt) {
+        return token -> {
+            verifications.add(token);
+            return new VerifiedToken(token, 1L, UserRole.USER, expiresAt);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.deploy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.DeployStageException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ComposeGeneratorTest {
+
+    @TempDir
+    Path release;
+
+    private final ComposeGenerator generator = new ComposeGenerator();
+
+    @Test
+    void acceptsAComposeWithinTheAllowList() throws IOException {
+        compose("""
+                services:
+                  web:
+                    build:
+                      context: ./web
+                    ports: ["8080:80"]
+                    env_file: .env
+                    volumes:
+                      - dados:/var/lib/app
+                      - /tmp/cache
+                      - type: tmpfs
+                        target: /run
+                    deploy:
+                      resources:
+                        limits: {cpus: "0.5", memory: 256M}
+                  worker:
+                    image: app:latest
+                    network_mode: "service:web"
+                volumes:
+                  dados:
+                networks:
+                  interna:
+                    internal: true
+                x-comum: {}
+                """);
+
+        ComposeProject project = generator.generate("srv-1", release);
+
+        assertThat(project.name()).isEqualTo("meb-srv-1");
+        assertThat(project.images()).containsExactly("app:latest");
+        assertThat(release.resolve(ComposeGenerator.GENERATED_FILE)).content()
+                .contains("com.elasticbeanstalk.server-id: srv-1");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "services: {app: {image: x, privileged: true}}",
+            "services: {app: {image: x, network_mode: host}}",
+            "services: {app: {image: x, network_mode: 'container:abc123'}}",
+            "services: {app: {image: x, pid: host}}",
+            "services: {app: {image: x, ipc: host}}",
+            "services: {app: {image: x, cap_add: [SYS_ADMIN]}}",
+            "services: {app: {image: x, devices: ['/dev/sda:/dev/sda']}}",
+            "services: {app: {image: x, security_opt: ['seccomp=unconfined']}}",
+            "services: {app: {image: x, volumes: ['/:/host']}}",
+            "services: {app: {image: x, volumes: ['/var/run/docker.sock:/var/run/docker.sock']}}",
+            "services: {app: {image: x, volumes: ['./:/app']}}",
+            "services: {app: {image: x, volumes: [{type: bind, source: /etc, target: /etc}]}}",
+            "services: {app: {image: x, volumes: ['dados:/d']}}, volumes: {dados: {external: true}}",
+            "services: {app: {image: x, volumes: ['dados:/d']}}, volumes: {dados: {name: meb-outro_dados}}",
+            "services: {app: {image: x}}, volumes: {dados: {driver_opts: {type: none, o: bind, device: /}}}",
+            "services: {app: {image: x}}, networks: {default: {external: true, name: meb-outro_default}}",
+            "services: {app: {image: x}}, networks: {default: {name: meb-outro_default}}",
+            "services: {app: {image: x, volumes_from: ['container:abc123']}}",
+            "services: {app: {image: x, env_file: /etc/shadow}}",
+            "services: {app: {build: ../../}}",
+            "services: {app: {image: x}}, secrets: {chave: {file: /root/.ssh/id_rsa}}",
+            "services: {app: {image: x, deploy: {resources: {reservations: {devices: [{capabilities: [gpu]}]}}}}}",
+            "services: {app: {image: x}}, include: [/etc/compose.yaml]"
+    })
+    void rejectsOptionsThatReachTheHostOrOtherServers(String content) throws IOException {
+        compose("{" + content + "}");
+
+        assertThatThrownBy(() -> generator.generate("srv-1", release))
+                .isInstanceOf(DeployStageException.class)
+                .hasMessageStartingWith("Compose recusado");
+        assertThat(release.resolve(ComposeGenerator.GENERATED_FILE)).doesNotExist();
+    }
+
+    @Test
+    void rejectsServerIdsThatWouldShareAProjectName() throws IOException {
+        compose("services: {app: {image: x}}");
+
+        assertThatThrownBy(() -> generator.generate("App", release))
+                .isInstanceOf(DeployStageException.class);
+        assertThat(generator.generate("app", release).name()).isEqualTo("meb-app");
+    }
+
+    private void compose(String content) throws IOException {
+        Files.writeString(release.resolve("compose.yaml"), content);
+    }
+}
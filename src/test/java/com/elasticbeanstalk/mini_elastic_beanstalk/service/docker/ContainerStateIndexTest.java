@@ -0,0 +1,154 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerStateIndexTest {
+
+    private static final String END_OF_STREAM = "";
+
+    private StubDockerDaemon daemon;
+    private DockerClient dockerClient;
+    private ContainerStateIndex index;
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        daemon = new StubDockerDaemon();
+        DockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost(daemon.dockerHost())
+                .build();
+        dockerClient = DockerClientImpl.getInstance(config, new ApacheDockerHttpClient.Builder()
+                .dockerHost(config.getDockerHost())
+                .maxConnections(16)
+                .build());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DockerGateway gateway = new DockerGateway(dockerClient, dockerClient, meterRegistry, 8, Duration.ofSeconds(5));
+        index = new ContainerStateIndex(gateway, meterRegistry, true, Duration.ofMillis(50));
+
+        daemon.route("GET", "/events", query -> StubDockerDaemon.Response.stream(writer -> {
+            String event;
+            while (!(event = events.take()).equals(END_OF_STREAM)) {
+                writer.chunk(event);
+            }
+        }));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.stop();
+        events.add(END_OF_STREAM);
+        dockerClient.close();
+        daemon.close();
+    }
+
+    @Test
+    void bootstrapsFromListAndAppliesEventsIncrementally() throws Exception {
+        daemon.route("GET", "/containers/json", query -> StubDockerDaemon.Response.json(200, """
+                [{"Id":"c1","Names":["/web"],"Image":"nginx","State":"running",
+                  "Labels":{"com.elasticbeanstalk.server-id":"srv1","com.elasticbeanstalk.managed":"true"}}]
+                """));
+        List<ContainerStateChange> changes = new CopyOnWriteArrayList<>();
+        index.addListener(changes::add);
+
+        index.start();
+        await(index::isSynced);
+        assertThat(index.byServer("srv1")).extracting(ContainerState::name).containsExactly("web");
+
+        events.add(event("c2", "create", "srv1"));
+        events.add(event("c2", "start", "srv1"));
+        events.add(event("c1", "die", "srv1"));
+        await(() -> index.get("c1").map(state -> !state.isRunning()).orElse(false));
+
+        assertThat(index.get("c2")).hasValueSatisfying(state -> {
+            assertThat(state.state()).isEqualTo("running");
+            assertThat(state.name()).isEqualTo("api");
+            assertThat(state.labels()).doesNotContainKeys("name", "image");
+        });
+        assertThat(index.byServer("srv1")).hasSize(2);
+
+        events.add(event("c2", "destroy", "srv1"));
+        await(() -> index.get("c2").isEmpty());
+        await(() -> !changes.isEmpty() && changes.getLast().removed());
+        assertThat(daemon.hits("GET", "/containers/json")).isEqualTo(1);
+    }
+
+    @Test
+    void resyncsFromListWhenEventStreamDrops() throws Exception {
+        daemon.route("GET", "/containers/json", query -> StubDockerDaemon.Response.json(200, "[]"));
+        index.start();
+        await(index::isSynced);
+
+        daemon.route("GET", "/containers/json", query -> StubDockerDaemon.Response.json(200, """
+                [{"Id":"c9","Names":["/worker"],"State":"running",
+                  "Labels":{"com.elasticbeanstalk.server-id":"srv2"}}]
+                """));
+        events.add(END_OF_STREAM);
+
+        await(() -> index.get("c9").isPresent());
+        assertThat(index.byServer("srv2")).extracting(ContainerState::id).containsExactly("c9");
+        assertThat(daemon.hits("GET", "/containers/json")).isEqualTo(2);
+    }
+
+    @Test
+    void keepsApplyingEventsWhileAListenerIsBlocked() throws Exception {
+        daemon.route("GET", "/containers/json", query -> StubDockerDaemon.Response.json(200, "[]"));
+        CountDownLatch release = new CountDownLatch(1);
+        List<ContainerStateChange> changes = new CopyOnWriteArrayList<>();
+        index.addListener(change -> {
+            changes.add(change);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        index.start();
+        await(index::isSynced);
+        events.add(event("c1", "create", "srv1"));
+        events.add(event("c1", "start", "srv1"));
+        events.add(event("c2", "create", "srv1"));
+
+        await(() -> index.byServer("srv1").size() == 2);
+        assertThat(index.get("c1")).hasValueSatisfying(state -> assertThat(state.isRunning()).isTrue());
+        assertThat(changes).hasSize(1);
+
+        release.countDown();
+        await(() -> changes.size() == 3);
+        assertThat(changes).extracting(ContainerStateChange::containerId).containsExactly("c1", "c1", "c2");
+    }
+
+    private static String event(String id, String action, String serverId) {
+        return """
+                {"Type":"container","Action":"%s","time":1700000000,
+                 "Actor":{"ID":"%s","Attributes":{"name":"api","image":"app:latest",
+                 "com.elasticbeanstalk.server-id":"%s","com.elasticbeanstalk.managed":"true"}}}
+                """.formatted(action, id, serverId);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida a tempo").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DockerGatewayTest {
+
+    private StubDockerDaemon daemon;
+    private DockerClient dockerClient;
+    private DockerGateway gateway;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        daemon = new StubDockerDaemon();
+        DockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost(daemon.dockerHost())
+                .build();
+        dockerClient = DockerClientImpl.getInstance(config, new ApacheDockerHttpClient.Builder()
+                .dockerHost(config.getDockerHost())
+                .maxConnections(16)
+                .responseTimeout(Duration.ofSeconds(5))
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new DockerGateway(dockerClient, dockerClient, meterRegistry, 8, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dockerClient.close();
+        daemon.close();
+    }
+
+    @Test
+    void concurrentInspectsOfSameContainerShareOneDaemonRequest() throws Exception {
+        daemon.route("GET", "/containers/abc/json",
+                query -> StubDockerDaemon.Response.json(200, "{\"Id\":\"abc\",\"Name\":\"/web\"}", 300));
+
+        List<InspectContainerResponse> responses = runConcurrently(10, () -> gateway.inspectContainer("abc"));
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.getId()).isEqualTo("abc"));
+        assertThat(daemon.hits("GET", "/containers/abc/json")).isEqualTo(1);
+        assertThat(meterRegistry.get("docker.requests.coalesced").tag("operation", "inspect").counter().count())
+                .isEqualTo(9);
+    }
+
+    @Test
+    void sequentialCallsAreNotCached() {
+        daemon.route("GET", "/containers/json",
+                query -> StubDockerDaemon.Response.json(200, "[{\"Id\":\"abc\"}]"));
+
+        gateway.listServerContainers("srv1");
+        List<Container> containers = gateway.listServerContainers("srv1");
+
+        assertThat(containers).extracting(Container::getId).containsExactly("abc");
+        assertThat(daemon.hits("GET", "/containers/json")).isEqualTo(2);
+    }
+
+    private <T> List<T> runConcurrently(int callers, java.util.concurrent.Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
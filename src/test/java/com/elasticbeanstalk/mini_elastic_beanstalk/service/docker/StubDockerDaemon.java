@@ -0,0 +1,183 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.docker;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Daemon Docker falso sobre socket unix: responde HTTP/1.1 com keep-alive
+ * e suporta respostas em streaming (chunked), como o endpoint /events.
+ */
+class StubDockerDaemon implements AutoCloseable {
+
+    private static final Pattern API_VERSION = Pattern.compile("^/v\\d+\\.\\d+");
+
+    private final Path socketPath;
+    private final ServerSocketChannel server;
+    private final Map<String, Function<String, Response>> routes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<SocketChannel> connections = new CopyOnWriteArrayList<>();
+    private final Thread acceptor;
+
+    StubDockerDaemon() throws IOException {
+        Path dir = Files.createTempDirectory("docker-stub");
+        socketPath = dir.resolve("docker.sock");
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        acceptor = new Thread(this::acceptLoop, "stub-docker-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    String dockerHost() {
+        return "unix://" + socketPath;
+    }
+
+    void route(String method, String path, Function<String, Response> handler) {
+        routes.put(method + " " + path, handler);
+    }
+
+    int hits(String method, String path) {
+        AtomicInteger counter = hits.get(method + " " + path);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        Files.deleteIfExists(socketPath);
+    }
+
+    private void acceptLoop() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                connections.add(channel);
+                Thread worker = new Thread(() -> serve(channel), "stub-docker-connection");
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            OutputStream out = Channels.newOutputStream(channel);
+            while (true) {
+                String requestLine = readLine(in);
+                if (requestLine == null || requestLine.isEmpty()) {
+                    return;
+                }
+                int contentLength = 0;
+                String header;
+                while (!(header = readLine(in)).isEmpty()) {
+                    int colon = header.indexOf(':');
+                    if (header.substring(0, colon).equalsIgnoreCase("Content-Length")) {
+                        contentLength = Integer.parseInt(header.substring(colon + 1).trim());
+                    }
+                }
+                in.readNBytes(contentLength);
+
+                String[] parts = requestLine.split(" ");
+                String target = API_VERSION.matcher(parts[1]).replaceFirst("");
+                String path = target.contains("?") ? target.substring(0, target.indexOf('?')) : target;
+                String query = target.contains("?") ? target.substring(target.indexOf('?') + 1) : "";
+                String key = parts[0] + " " + path;
+                hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+
+                Function<String, Response> handler = routes.get(key);
+                Response response = handler != null ? handler.apply(query) : Response.json(404, "{\"message\":\"not found\"}");
+                if (!response.write(out)) {
+                    return;
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // conexão encerrada pelo cliente ou pelo teste
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                String value = line.toString(StandardCharsets.US_ASCII);
+                return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString(StandardCharsets.US_ASCII);
+    }
+
+    interface Response {
+
+        // retorna false quando a conexão não pode ser reaproveitada
+        boolean write(OutputStream out) throws IOException, InterruptedException;
+
+        static Response json(int status, String body) {
+            return json(status, body, 0);
+        }
+
+        static Response json(int status, String body, long delayMillis) {
+            return out -> {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                out.write(("HTTP/1.1 " + status + " OK\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Content-Length: " + bytes.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(bytes);
+                out.flush();
+                return true;
+            };
+        }
+
+        static Response stream(StreamBody body) {
+            return out -> {
+                out.write(("HTTP/1.1 200 OK\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Transfer-Encoding: chunked\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                body.write(chunk -> {
+                    byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+                    out.write((Integer.toHexString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                    out.write(bytes);
+                    out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                });
+                return false;
+            };
+        }
+    }
+
+    interface StreamBody {
+        void write(ChunkWriter writer) throws IOException, InterruptedException;
+    }
+
+    interface ChunkWriter {
+        void chunk(String data) throws IOException;
+    }
+}
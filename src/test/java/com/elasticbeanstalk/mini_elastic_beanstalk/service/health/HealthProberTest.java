@@ -0,0 +1,178 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.health;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.HealthProbeProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class HealthProberTest {
+
+    private static final HealthProbeProperties PROPERTIES = new HealthProbeProperties(true,
+            Duration.ofMillis(100), Duration.ofMillis(50), Duration.ofMillis(400), Duration.ofMillis(500),
+            0.2, 2, 2, 512, 2, Duration.ofMillis(10), "127.0.0.1");
+
+    private final List<StubServer> servers = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HealthProber prober;
+
+    @BeforeEach
+    void setUp() {
+        prober = new HealthProber(PROPERTIES, meterRegistry);
+        prober.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        prober.stop();
+        servers.forEach(StubServer::close);
+    }
+
+    @Test
+    void healthyHttpTargetIsProbedLessOften() throws IOException {
+        StubServer server = server();
+        prober.register(http("c1", "srv-1", server));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            TargetHealth health = prober.snapshot("srv-1").getFirst();
+            assertThat(health.status()).isEqualTo(TargetStatus.HEALTHY);
+            assertThat(health.interval()).isEqualTo(PROPERTIES.maxInterval());
+        });
+        assertThat(server.requests.get()).isGreaterThanOrEqualTo(PROPERTIES.healthyThreshold());
+    }
+
+    @Test
+    void failingTargetTurnsUnhealthyIsProbedFasterAndRecovers() throws IOException {
+        StubServer server = server();
+        server.status.set(503);
+        prober.register(http("c1", "srv-1", server));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            TargetHealth health = prober.snapshot("srv-1").getFirst();
+            assertThat(health.status()).isEqualTo(TargetStatus.UNHEALTHY);
+            assertThat(health.error()).isEqualTo("HTTP 503");
+            assertThat(health.interval()).isEqualTo(PROPERTIES.minInterval());
+        });
+        assertThat(ContainerHealthContributor.health(prober.snapshot("srv-1")).getStatus().getCode()).isEqualTo("DOWN");
+
+        server.status.set(200);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(prober.snapshot("srv-1").getFirst().status()).isEqualTo(TargetStatus.HEALTHY));
+        assertThat(ContainerHealthContributor.health(prober.snapshot("srv-1")).getStatus().getCode()).isEqualTo("UP");
+    }
+
+    @Test
+    void tcpTargetFollowsTheListeningSocket() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        try (ServerSocket listening = new ServerSocket(0, 1024)) {
+            prober.register(new ProbeTarget("open", "srv-1", "open", ProbeKind.TCP, "127.0.0.1", listening.getLocalPort(), null));
+            prober.register(new ProbeTarget("closed", "srv-1", "closed", ProbeKind.TCP, "127.0.0.1", closedPort, null));
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(prober.snapshot("srv-1"))
+                    .extracting(TargetHealth::status)
+                    .containsExactly(TargetStatus.UNHEALTHY, TargetStatus.HEALTHY));
+        }
+    }
+
+    @Test
+    void unregisteredTargetIsNoLongerProbed() throws IOException {
+        StubServer server = server();
+        prober.register(http("c1", "srv-1", server));
+        await().atMost(Duration.ofSeconds(5)).until(() -> server.requests.get() > 0);
+
+        prober.unregister("c1");
+        int requests = server.requests.get();
+
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(2))
+                .until(() -> server.requests.get() <= requests + 1);
+        assertThat(prober.snapshot("srv-1")).isEmpty();
+        assertThat(prober.servers()).doesNotContain("srv-1");
+    }
+
+    @Test
+    void thousandsOfTargetsWithAHandfulOfThreads() throws IOException {
+        prober.stop();
+        // primeiro probe espalhado em 5s: cerca de 1k probes/s, suportável até com um núcleo só
+        HealthProbeProperties properties = new HealthProbeProperties(true,
+                Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(5),
+                0.2, 1, 3, 256, 2, Duration.ofMillis(10), "127.0.0.1");
+        prober = new HealthProber(properties, meterRegistry);
+        prober.start();
+        List<StubServer> stubs = List.of(server(), server(), server(), server());
+        int targets = 5000;
+        for (int i = 0; i < targets; i++) {
+            prober.register(http("c" + i, "srv-" + (i % 50), stubs.get(i % stubs.size())));
+        }
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            long healthy = prober.servers().stream()
+                    .flatMap(serverId -> prober.snapshot(serverId).stream())
+                    .filter(health -> health.status() == TargetStatus.HEALTHY)
+                    .count();
+            assertThat(healthy).isEqualTo(targets);
+        });
+        assertThat(meterRegistry.find("health.probe.latency").tag("outcome", "failure").timer()).isNull();
+
+        long probeThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("health-probe"))
+                .count();
+        // dois workers mais a thread da roda
+        assertThat(probeThreads).isLessThanOrEqualTo(properties.threads() + 1);
+    }
+
+    private ProbeTarget http(String containerId, String serverId, StubServer server) {
+        return new ProbeTarget(containerId, serverId, containerId, ProbeKind.HTTP, "127.0.0.1", server.port(), "/health");
+    }
+
+    private StubServer server() throws IOException {
+        StubServer server = new StubServer();
+        servers.add(server);
+        return server;
+    }
+
+    private static final class StubServer {
+
+        final AtomicInteger status = new AtomicInteger(200);
+        final AtomicInteger requests = new AtomicInteger();
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        StubServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            server.createContext("/health", exchange -> {
+                requests.incrementAndGet();
+                exchange.sendResponseHeaders(status.get(), -1);
+                exchange.close();
+            });
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        void close() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
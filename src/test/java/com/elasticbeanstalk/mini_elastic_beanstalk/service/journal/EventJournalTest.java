@@ -0,0 +1,155 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class EventJournalTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final StubSink sink = new StubSink();
+    private EventJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        sink.stall.countDown();
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void appendDoesNotBlockWhileTheDatabaseStalls() throws Exception {
+        sink.stalled.set(true);
+        journal = journal(4096, 256, Duration.ofMillis(10), Duration.ofMillis(1));
+        journal.start();
+
+        int producers = 4;
+        int perProducer = 20_000;
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicLong slowest = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long start = System.nanoTime();
+                    if (journal.append(JournalCategory.AUTH, "LOGIN", "user" + i, null, null, null)) {
+                        accepted.incrementAndGet();
+                    }
+                    slowest.accumulateAndGet(System.nanoTime() - start, Math::max);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            assertThat(thread.isAlive()).isFalse();
+        }
+
+        // todos os produtores terminaram com o banco ainda travado na primeira gravação
+        assertThat(sink.stall.getCount()).isEqualTo(1);
+        assertThat(sink.calls.get()).isEqualTo(1);
+        assertThat(Duration.ofNanos(slowest.get())).isLessThan(Duration.ofMillis(500));
+        double dropped = meterRegistry.counter("journal.dropped").count();
+        assertThat(accepted.get() + (long) dropped).isEqualTo((long) producers * perProducer);
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> meterRegistry.counter("journal.spilled").count() > 0);
+
+        sink.stall.countDown();
+
+        // o lote travado termina e o arquivo é reaplicado: nada aceito se perde
+        await().atMost(Duration.ofSeconds(20)).untilAsserted(() ->
+                assertThat(sink.persisted.get()).isEqualTo(accepted.get()));
+        assertThat(meterRegistry.counter("journal.replayed").count()).isPositive();
+    }
+
+    @Test
+    void spillsToFileWhenTheDatabaseFailsAndReplaysWhenItRecovers() {
+        sink.failing.set(true);
+        journal = journal(1024, 100, Duration.ofMillis(10), Duration.ofMillis(100));
+        journal.start();
+
+        for (int i = 0; i < 1000; i++) {
+            journal.append(JournalCategory.CONTAINER, "STATE", null, "srv-1", "c" + i, "running");
+        }
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(meterRegistry.counter("journal.spilled").count()).isEqualTo(1000));
+        assertThat(sink.persisted.get()).isZero();
+
+        sink.failing.set(false);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(sink.persisted.get()).isEqualTo(1000);
+            assertThat(meterRegistry.counter("journal.replayed").count()).isEqualTo(1000);
+        });
+        assertThat(sink.lastReference).isNotNull();
+        assertThat(spillDir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void stopFlushesWhatIsStillQueued() {
+        // intervalo longo e lote grande: nada seria gravado antes do stop
+        journal = journal(1024, 500, Duration.ofHours(1), Duration.ofMillis(100));
+        journal.start();
+
+        for (int i = 0; i < 300; i++) {
+            journal.append(JournalCategory.DEPLOY, "SUBMITTED", "dev@example.com", "srv-1", "d" + i, null);
+        }
+        journal.stop();
+
+        assertThat(sink.persisted.get()).isEqualTo(300);
+        assertThat(meterRegistry.counter("journal.dropped").count()).isZero();
+    }
+
+    private EventJournal journal(int capacity, int batchSize, Duration flushInterval, Duration retryBackoff) {
+        return new EventJournal(sink, objectMapper, meterRegistry, true, capacity, batchSize,
+                flushInterval, Duration.ofMillis(50), retryBackoff, Duration.ofSeconds(10), spillDir);
+    }
+
+    private static final class StubSink implements JournalSink {
+
+        final CountDownLatch stall = new CountDownLatch(1);
+        final AtomicBoolean stalled = new AtomicBoolean();
+        final AtomicBoolean failing = new AtomicBoolean();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger persisted = new AtomicInteger();
+        volatile String lastReference;
+
+        @Override
+        public void write(List<JournalEntry> entries) {
+            calls.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("connection refused");
+            }
+            if (stalled.compareAndSet(true, false)) {
+                try {
+                    stall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            persisted.addAndGet(entries.size());
+            lastReference = entries.getLast().reference();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.journal;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.JournalCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalSpillTest {
+
+    private static final String TORN = "{\"category\":\"DEPLOY\",\"action\":\"SUBMI";
+
+    @TempDir
+    Path spillDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Counter corrupt = new SimpleMeterRegistry().counter("journal.spill.corrupt");
+    private final RecordingSink sink = new RecordingSink();
+
+    @Test
+    void quarantinesATruncatedLastLineAndFinishesTheReplay() throws IOException {
+        JournalSpill spill = new JournalSpill(spillDir, objectMapper, corrupt);
+        spill.append(entries(0, 5));
+        Files.writeString(spillDir.resolve("journal-spill.jsonl"), TORN, StandardOpenOption.APPEND);
+
+        assertThat(spill.replay(sink, 2)).isEqualTo(5);
+        assertThat(spill.replay(sink, 2)).isZero();
+
+        assertThat(sink.references()).containsExactly("d0", "d1", "d2", "d3", "d4");
+        assertThat(corrupt.count()).isEqualTo(1);
+        assertThat(spillDir.resolve("journal-spill.corrupt.jsonl")).hasContent(TORN);
+        assertThat(spill.hasPending()).isFalse();
+        assertThat(spillDir.resolve("journal-spill.replaying.offset")).doesNotExist();
+    }
+
+    @Test
+    void resumesAfterTheLastWrittenBatchInsteadOfStartingOver() {
+        JournalSpill spill = new JournalSpill(spillDir, objectMapper, corrupt);
+        spill.append(entries(0, 7));
+        sink.failOnCall = 3;
+
+        assertThatThrownBy(() -> spill.replay(sink, 2)).isInstanceOf(IllegalStateException.class);
+        assertThat(sink.references()).containsExactly("d0", "d1", "d2", "d3");
+
+        sink.failOnCall = -1;
+        assertThat(spill.replay(sink, 2)).isEqualTo(3);
+        assertThat(sink.references()).containsExactly("d0", "d1", "d2", "d3", "d4", "d5", "d6");
+        assertThat(spill.hasPending()).isFalse();
+    }
+
+    @Test
+    void appendAfterATornTailStartsANewLine() throws IOException {
+        JournalSpill spill = new JournalSpill(spillDir, objectMapper, corrupt);
+        spill.append(entries(0, 1));
+        Files.writeString(spillDir.resolve("journal-spill.jsonl"), TORN, StandardOpenOption.APPEND);
+        spill.append(entries(1, 2));
+
+        assertThat(spill.replay(sink, 10)).isEqualTo(2);
+        assertThat(sink.references()).containsExactly("d0", "d1");
+        assertThat(Files.readAllLines(spillDir.resolve("journal-spill.corrupt.jsonl"), StandardCharsets.UTF_8))
+                .containsExactly(TORN);
+    }
+
+    private static List<JournalEntry> entries(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new JournalEntry(JournalCategory.DEPLOY, "SUBMITTED", "dev@example.com", "srv-1",
+                        "d" + i, null, Instant.parse("2026-01-01T00:00:00Z")))
+                .toList();
+    }
+
+    private static final class RecordingSink implements JournalSink {
+
+        final List<JournalEntry> written = new ArrayList<>();
+        int calls;
+        int failOnCall = -1;
+
+        @Override
+        public void write(List<JournalEntry> batch) {
+            if (++calls == failOnCall) {
+                throw new IllegalStateException("connection refused");
+            }
+            written.addAll(batch);
+        }
+
+        List<String> references() {
+            return written.stream().map(JournalEntry::reference).toList();
+        }
+    }
+}
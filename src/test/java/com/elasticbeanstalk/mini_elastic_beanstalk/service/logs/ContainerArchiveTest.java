@@ -0,0 +1,143 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerArchiveTest {
+
+    private static final long T0 = LogArchive.toNanos(Instant.parse("2026-01-01T00:00:00Z"));
+    private static final long MAX_LINE = 1024;
+    private static final long NO_AGE_LIMIT = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    private ContainerArchive archive;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (archive != null) {
+            archive.close();
+        }
+    }
+
+    @Test
+    void roundTripsRecordsThroughTheSegmentFormat() throws IOException {
+        archive = ContainerArchive.load(directory);
+        archive.append(LogStreamType.STDOUT, T0, "iniciando", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 64);
+        archive.append(LogStreamType.STDERR, T0 + 1, "falha: ç", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 64);
+        archive.append(LogStreamType.STDOUT, T0 + 2, "", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 64);
+
+        assertThat(all(archive)).containsExactly(
+                new ArchivedLogLine(Instant.ofEpochSecond(0, T0), LogStreamType.STDOUT, "iniciando"),
+                new ArchivedLogLine(Instant.ofEpochSecond(0, T0 + 1), LogStreamType.STDERR, "falha: ç"),
+                new ArchivedLogLine(Instant.ofEpochSecond(0, T0 + 2), LogStreamType.STDOUT, ""));
+        assertThat(archive.query(T0 + 1, T0 + 1, null, 100)).extracting(ArchivedLogLine::text)
+                .containsExactly("falha: ç");
+        assertThat(archive.query(T0, T0 + 2, "fal".getBytes(), 100)).extracting(ArchivedLogLine::text)
+                .containsExactly("falha: ç");
+    }
+
+    @Test
+    void truncatesLinesAboveTheLimit() throws IOException {
+        archive = ContainerArchive.load(directory);
+        archive.append(LogStreamType.STDOUT, T0, "x".repeat(40), 16, 1 << 20, NO_AGE_LIMIT, 64);
+
+        assertThat(all(archive)).singleElement().extracting(ArchivedLogLine::text).isEqualTo("x".repeat(16));
+    }
+
+    @Test
+    void rollsSegmentsBySizeAndQueriesAcrossThem() throws IOException {
+        archive = ContainerArchive.load(directory);
+        // cada registro tem 13 bytes de cabeçalho + 7 de texto: 5 por segmento de 100 bytes
+        for (int i = 0; i < 23; i++) {
+            archive.append(LogStreamType.STDOUT, T0 + i * 10L, "line-%02d".formatted(i), MAX_LINE, 100, NO_AGE_LIMIT, 40);
+        }
+
+        assertThat(segmentFiles()).hasSize(5);
+        assertThat(all(archive)).extracting(ArchivedLogLine::text)
+                .containsExactlyElementsOf(Stream.iterate(0, i -> i + 1).limit(23).map("line-%02d"::formatted).toList());
+        assertThat(archive.query(T0 + 45, T0 + 120, null, 100)).extracting(ArchivedLogLine::text)
+                .containsExactly("line-05", "line-06", "line-07", "line-08", "line-09", "line-10", "line-11", "line-12");
+        assertThat(archive.query(T0, Long.MAX_VALUE, null, 3)).hasSize(3);
+    }
+
+    @Test
+    void keepsDistinctLinesThatShareATimestamp() throws IOException {
+        archive = ContainerArchive.load(directory);
+        for (int i = 0; i < 5; i++) {
+            archive.append(LogStreamType.STDOUT, T0, "burst-" + i, MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        }
+
+        assertThat(all(archive)).extracting(ArchivedLogLine::text)
+                .containsExactly("burst-0", "burst-1", "burst-2", "burst-3", "burst-4");
+    }
+
+    @Test
+    void reloadSkipsOnlyTheReplayedTailUpToTheArchivedPoint() throws IOException {
+        archive = ContainerArchive.load(directory);
+        archive.append(LogStreamType.STDOUT, T0, "a", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 1, "b1", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 1, "b2", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.close();
+
+        archive = ContainerArchive.load(directory);
+        // o novo attach reenvia o tail e continua com linhas novas no mesmo instante
+        for (String line : List.of("a", "b1", "b2")) {
+            archive.append(LogStreamType.STDOUT, line.equals("a") ? T0 : T0 + 1, line, MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        }
+        archive.append(LogStreamType.STDOUT, T0 + 1, "b3", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 2, "c", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+
+        assertThat(all(archive)).extracting(ArchivedLogLine::text).containsExactly("a", "b1", "b2", "b3", "c");
+    }
+
+    @Test
+    void resumeAfterARestartedAttachSkipsTheReplayInProcess() throws IOException {
+        archive = ContainerArchive.load(directory);
+        archive.append(LogStreamType.STDOUT, T0, "a", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 1, "b", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+
+        archive.resume();
+        archive.append(LogStreamType.STDOUT, T0, "a", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 1, "b", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 5, "c", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.append(LogStreamType.STDOUT, T0 + 5, "c", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+
+        assertThat(all(archive)).extracting(ArchivedLogLine::text).containsExactly("a", "b", "c", "c");
+    }
+
+    @Test
+    void reloadIgnoresATornRecordAtTheEndOfTheSegment() throws IOException {
+        archive = ContainerArchive.load(directory);
+        archive.append(LogStreamType.STDOUT, T0, "inteira", MAX_LINE, 1 << 20, NO_AGE_LIMIT, 16);
+        archive.close();
+        Path segment = segmentFiles().getFirst();
+        Files.write(segment, new byte[]{0, 0, 0, 50, 1, 2}, StandardOpenOption.APPEND);
+
+        archive = ContainerArchive.load(directory);
+
+        assertThat(all(archive)).extracting(ArchivedLogLine::text).containsExactly("inteira");
+    }
+
+    private static List<ArchivedLogLine> all(ContainerArchive archive) throws IOException {
+        return archive.query(Long.MIN_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(LogSegment::isSegmentFile).sorted().toList();
+        }
+    }
+}
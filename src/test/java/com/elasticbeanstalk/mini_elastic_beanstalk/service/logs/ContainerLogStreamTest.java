@@ -0,0 +1,45 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerLogStreamTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:10.000000001Z");
+
+    private final ContainerLogStream stream = new ContainerLogStream("c1", "srv1", 64, 10, 64, 256,
+            Runnable::run, new SimpleMeterRegistry());
+
+    @Test
+    void acceptsEveryLineOfTheFirstAttachIncludingRepeatedTimestamps() {
+        assertThat(stream.accept(T0)).isTrue();
+        assertThat(stream.accept(T0)).isTrue();
+        assertThat(stream.accept(T0.plusNanos(1))).isTrue();
+    }
+
+    @Test
+    void resumeSkipsOnlyWhatThePreviousAttachAlreadyDelivered() {
+        stream.accept(T0.minusSeconds(1));
+        stream.accept(T0);
+        stream.accept(T0);
+
+        // since tem resolução de segundos: o daemon reenvia o segundo inteiro
+        assertThat(stream.resume()).isEqualTo((int) T0.getEpochSecond());
+
+        assertThat(stream.accept(T0.minusNanos(1))).isFalse();
+        assertThat(stream.accept(T0)).isFalse();
+        assertThat(stream.accept(T0)).isFalse();
+        assertThat(stream.accept(T0)).as("terceira linha no mesmo instante é nova").isTrue();
+        assertThat(stream.accept(T0.plusNanos(1))).isTrue();
+    }
+
+    @Test
+    void resumeWithoutLinesFallsBackToTail() {
+        assertThat(stream.resume()).isNull();
+        assertThat(stream.accept(T0)).isTrue();
+    }
+}
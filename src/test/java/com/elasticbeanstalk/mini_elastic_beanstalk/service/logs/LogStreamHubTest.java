@@ -0,0 +1,75 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.logs;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.ContainerNotFoundException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.github.dockerjava.api.DockerClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogStreamHubTest {
+
+    private final List<String> dockerCalls = new CopyOnWriteArrayList<>();
+    private final LogStreamHub hub = hub(Map.of(
+            "managed", state("managed", "srv1"),
+            "orphan", state("orphan", null)));
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void onlyContainersOfAServerAreManaged() {
+        assertThat(hub.isManaged("managed")).isTrue();
+        assertThat(hub.isManaged("orphan")).isFalse();
+        assertThat(hub.isManaged("desconhecido")).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"orphan", "desconhecido"})
+    void refusesToAttachToUnmanagedContainers(String containerId) {
+        assertThatThrownBy(() -> hub.subscribe(containerId, null))
+                .isInstanceOf(ContainerNotFoundException.class);
+        assertThatThrownBy(() -> hub.retain(containerId))
+                .isInstanceOf(ContainerNotFoundException.class);
+
+        assertThat(dockerCalls).isEmpty();
+    }
+
+    private LogStreamHub hub(Map<String, ContainerState> containers) {
+        DockerClient client = (DockerClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DockerClient.class}, (proxy, method, args) -> {
+                    dockerCalls.add(method.getName());
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DockerGateway gateway = new DockerGateway(client, client, meterRegistry, 8, Duration.ofSeconds(1));
+        ContainerStateIndex index = new ContainerStateIndex(gateway, meterRegistry, false, Duration.ofSeconds(1)) {
+            @Override
+            public Optional<ContainerState> get(String containerId) {
+                return Optional.ofNullable(containers.get(containerId));
+            }
+        };
+        return new LogStreamHub(gateway, index, List.of(), meterRegistry, 64, 10, 64, 256, Duration.ofSeconds(1));
+    }
+
+    private static ContainerState state(String id, String serverId) {
+        return new ContainerState(id, id, serverId, "app:latest", "running", null, Map.of(), Instant.now());
+    }
+}
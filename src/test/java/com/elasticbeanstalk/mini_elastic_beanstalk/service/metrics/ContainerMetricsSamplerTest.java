@@ -0,0 +1,125 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.metrics;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.StatsCmd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerMetricsSamplerTest {
+
+    private static final int PERMITS = 4;
+    private static final int CONTAINERS = 10;
+
+    // containerId -> callback da coleta pendente; o teste decide quando ela termina
+    private final Map<String, ResultCallback<?>> pending = new LinkedHashMap<>();
+
+    @Test
+    void rotatesThroughContainersWhenThereAreMoreContainersThanPermits() {
+        List<ContainerState> containers = new ArrayList<>();
+        for (int i = 0; i < CONTAINERS; i++) {
+            containers.add(new ContainerState("c%02d".formatted(i), "web-" + i, "srv1", "app", "running", null,
+                    Map.of(), Instant.now()));
+        }
+        ContainerMetricsSampler sampler = sampler(containers);
+
+        List<List<String>> ticks = new ArrayList<>();
+        Set<String> sampled = new HashSet<>();
+        for (int tick = 0; tick < 3; tick++) {
+            sampler.sample();
+            ticks.add(List.copyOf(pending.keySet()));
+            sampled.addAll(pending.keySet());
+            completeAll();
+        }
+
+        assertThat(ticks.get(0)).containsExactly("c00", "c01", "c02", "c03");
+        assertThat(ticks.get(1)).containsExactly("c04", "c05", "c06", "c07");
+        assertThat(ticks.get(2)).containsExactly("c08", "c09", "c00", "c01");
+        assertThat(sampled).hasSize(CONTAINERS);
+    }
+
+    @Test
+    void slowCollectionsDoNotStarveTheRestOfTheList() {
+        List<ContainerState> containers = new ArrayList<>();
+        for (int i = 0; i < CONTAINERS; i++) {
+            containers.add(new ContainerState("c%02d".formatted(i), "web-" + i, "srv1", "app", "running", null,
+                    Map.of(), Instant.now()));
+        }
+        ContainerMetricsSampler sampler = sampler(containers);
+
+        // c00 nunca responde a tempo e segura uma permissão
+        sampler.sample();
+        complete(List.of("c01", "c02", "c03"));
+        Set<String> sampled = new HashSet<>(List.of("c00", "c01", "c02", "c03"));
+        for (int tick = 0; tick < 4; tick++) {
+            sampler.sample();
+            List<String> launched = new ArrayList<>(pending.keySet());
+            launched.remove("c00");
+            sampled.addAll(launched);
+            complete(launched);
+        }
+
+        assertThat(sampled).hasSize(CONTAINERS);
+    }
+
+    private ContainerMetricsSampler sampler(List<ContainerState> containers) {
+        DockerClient client = dockerClient();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DockerGateway gateway = new DockerGateway(client, client, meterRegistry, 8, Duration.ofSeconds(1));
+        ContainerStateIndex index = new ContainerStateIndex(gateway, meterRegistry, false, Duration.ofSeconds(1)) {
+            @Override
+            public Collection<ContainerState> all() {
+                return containers;
+            }
+        };
+        return new ContainerMetricsSampler(gateway, index, meterRegistry, true, "1s:1m", PERMITS);
+    }
+
+    private void completeAll() {
+        complete(List.copyOf(pending.keySet()));
+    }
+
+    private void complete(List<String> containerIds) {
+        for (String id : containerIds) {
+            pending.remove(id).onComplete();
+        }
+    }
+
+    private DockerClient dockerClient() {
+        return (DockerClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DockerClient.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("statsCmd")) {
+                        return statsCmd((String) args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private StatsCmd statsCmd(String containerId) {
+        return (StatsCmd) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{StatsCmd.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "withNoStream" -> proxy;
+                    case "exec" -> {
+                        pending.put(containerId, (ResultCallback<?>) args[0]);
+                        yield args[0];
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
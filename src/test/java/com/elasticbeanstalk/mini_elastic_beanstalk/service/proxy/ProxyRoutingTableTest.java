@@ -0,0 +1,138 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.exception.InvalidProxyRouteException;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerState;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateChange;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.ContainerStateIndex;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerGateway;
+import com.elasticbeanstalk.mini_elastic_beanstalk.service.docker.DockerLabels;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProxyRoutingTableTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // web-1 publica 8080 no host; web-2 só tem IP na rede do compose
+    private static final Map<String, String> INSPECTS = Map.of(
+            "aaaaaaaaaaaa1111", """
+                    {"Id": "aaaaaaaaaaaa1111",
+                     "NetworkSettings": {"Ports": {"8080/tcp": [{"HostIp": "0.0.0.0", "HostPort": "49153"}]}}}""",
+            "bbbbbbbbbbbb2222", """
+                    {"Id": "bbbbbbbbbbbb2222",
+                     "Config": {"ExposedPorts": {"3000/tcp": {}, "9000/tcp": {}}},
+                     "NetworkSettings": {"Networks": {"srv1_default": {"IPAddress": "172.18.0.5"}}}}""",
+            "cccccccccccc3333", """
+                    {"Id": "cccccccccccc3333",
+                     "NetworkSettings": {"Ports": {"5432/tcp": [{"HostIp": "0.0.0.0", "HostPort": "5432"}]}}}""");
+
+    private final List<ContainerState> containers = new ArrayList<>();
+    private final List<Consumer<ContainerStateChange>> listeners = new ArrayList<>();
+    private ProxyRoutingTable table;
+
+    @BeforeEach
+    void setUp() {
+        containers.add(container("aaaaaaaaaaaa1111", "srv1-web-1", "srv1", Map.of()));
+        containers.add(container("bbbbbbbbbbbb2222", "srv1-web-2", "srv1", Map.of(DockerLabels.PROXY_PORT, "9000")));
+        containers.add(container("cccccccccccc3333", "srv2-db-1", "srv2", Map.of()));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DockerClient client = dockerClient();
+        DockerGateway gateway = new DockerGateway(client, client, meterRegistry, 8, Duration.ofSeconds(1));
+        ContainerStateIndex index = new ContainerStateIndex(gateway, meterRegistry, false, Duration.ofSeconds(1)) {
+            @Override
+            public List<ContainerState> byServer(String serverId) {
+                return containers.stream().filter(c -> serverId.equals(c.serverId())).toList();
+            }
+
+            @Override
+            public void addListener(Consumer<ContainerStateChange> listener) {
+                listeners.add(listener);
+            }
+        };
+        table = new ProxyRoutingTable(meterRegistry, index, gateway, "127.0.0.1");
+    }
+
+    @Test
+    void resolvesUpstreamsFromTheServersOwnContainers() {
+        ProxyRoute route = table.switchTo("srv1", List.of(
+                new ProxyRoutingTable.Target("srv1-web-1", null, 95),
+                new ProxyRoutingTable.Target("bbbbbbbbbbbb", null, 5)));
+
+        assertThat(route.upstreams()).extracting(upstream -> upstream.url().toString())
+                .containsExactly("http://127.0.0.1:49153", "http://172.18.0.5:9000");
+        assertThat(route.upstreams()).extracting(Upstream::containerId)
+                .containsExactly("aaaaaaaaaaaa1111", "bbbbbbbbbbbb2222");
+    }
+
+    @Test
+    void rejectsUrlsAndContainersOfOtherServers() {
+        for (String reference : List.of("http://169.254.169.254", "srv2-db-1", "cccccccccccc3333", "aaaa")) {
+            assertThatThrownBy(() -> table.switchTo("srv1", List.of(new ProxyRoutingTable.Target(reference, null, 1))))
+                    .isInstanceOf(InvalidProxyRouteException.class);
+        }
+        assertThat(table.route("srv1")).isNull();
+    }
+
+    @Test
+    void dropsStoppedContainersFromTheRoute() {
+        table.switchTo("srv1", List.of(
+                new ProxyRoutingTable.Target("srv1-web-1", null, 1),
+                new ProxyRoutingTable.Target("srv1-web-2", null, 1)));
+
+        ContainerState web1 = containers.getFirst();
+        notify(new ContainerStateChange(web1, null));
+        assertThat(table.route("srv1").upstreams()).extracting(Upstream::containerId)
+                .containsExactly("bbbbbbbbbbbb2222");
+
+        ContainerState web2 = containers.get(1);
+        notify(new ContainerStateChange(web2, new ContainerState(web2.id(), web2.name(), web2.serverId(), web2.image(),
+                "exited", null, web2.labels(), Instant.now())));
+        assertThat(table.route("srv1")).isNull();
+    }
+
+    private void notify(ContainerStateChange change) {
+        listeners.forEach(listener -> listener.accept(change));
+    }
+
+    private static ContainerState container(String id, String name, String serverId, Map<String, String> labels) {
+        return new ContainerState(id, name, serverId, "app", "running", null, labels, Instant.now());
+    }
+
+    private DockerClient dockerClient() {
+        return (DockerClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DockerClient.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("inspectContainerCmd")) {
+                        return inspectCmd((String) args[0]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private InspectContainerCmd inspectCmd(String containerId) {
+        return (InspectContainerCmd) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{InspectContainerCmd.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("exec")) {
+                        return JSON.readValue(INSPECTS.get(containerId), InspectContainerResponse.class);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
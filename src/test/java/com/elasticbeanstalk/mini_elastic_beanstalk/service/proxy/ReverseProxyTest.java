@@ -0,0 +1,27 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReverseProxyTest {
+
+    @Test
+    void stripsOnlyThePanelCookie() throws IOException {
+        ReverseProxy proxy = new ReverseProxy(new SimpleMeterRegistry(), 4, 2, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(1), "auth-token");
+        try {
+            assertThat(proxy.withoutPanelCookie(List.of("session=abc; auth-token=eyJ.x.y", "theme=dark")))
+                    .isEqualTo("session=abc; theme=dark");
+            assertThat(proxy.withoutPanelCookie(List.of(" auth-token = eyJ.x.y "))).isEmpty();
+            assertThat(proxy.withoutPanelCookie(List.of("auth-token-app=1"))).isEqualTo("auth-token-app=1");
+        } finally {
+            proxy.close();
+        }
+    }
+}
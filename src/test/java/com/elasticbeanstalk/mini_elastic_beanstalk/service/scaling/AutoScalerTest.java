@@ -0,0 +1,292 @@
+package com.elasticbeanstalk.mini_elastic_beanstalk.service.scaling;
+
+import com.elasticbeanstalk.mini_elastic_beanstalk.config.ScalingProperties;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.entity.ScalingDecision;
+import com.elasticbeanstalk.mini_elastic_beanstalk.domain.enums.ScalingDirection;
+import com.elasticbeanstalk.mini_elastic_beanstalk.repository.ScalingDecisionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AutoScalerTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    private static final ScalingProperties.Policy POLICY = new ScalingProperties.Policy(
+            1, 5, 60, DataSize.ofBytes(0), 0, 0.2,
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofMinutes(5), 2);
+
+    private final SimulatedLoad load = new SimulatedLoad();
+    private final StubBackend backend = new StubBackend();
+    private final List<ScalingDecision> decisions = new CopyOnWriteArrayList<>();
+    private final Set<String> deploying = ConcurrentHashMap.newKeySet();
+    private SimpleMeterRegistry meterRegistry;
+    private AutoScaler scaler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, ScalingProperties.Policy> servers = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            servers.put("srv-" + i, POLICY);
+        }
+        ScalingProperties properties = new ScalingProperties(true, 1, Duration.ofSeconds(30), servers);
+        scaler = new AutoScaler(properties, load, backend, recordingRepository(decisions), deploying::contains,
+                meterRegistry, Runnable::run);
+        scaler.register();
+    }
+
+    @Test
+    void scalesUpOnlyAfterLoadStaysAboveTargetForTheWindow() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 2);
+
+        load.emitAll(web, T0, 95);
+        scaler.evaluate(T0.plusSeconds(10));
+        assertThat(backend.count(web)).isEqualTo(2);
+
+        load.emitAll(web, T0.plusSeconds(31), 95);
+        scaler.evaluate(T0.plusSeconds(31));
+
+        // 2 * 95/60 -> 4, dentro do passo máximo de 2
+        assertThat(backend.count(web)).isEqualTo(4);
+        assertThat(decisions).singleElement().satisfies(decision -> {
+            assertThat(decision.getDirection()).isEqualTo(ScalingDirection.UP);
+            assertThat(decision.getFromReplicas()).isEqualTo(2);
+            assertThat(decision.getToReplicas()).isEqualTo(4);
+            assertThat(decision.isSucceeded()).isTrue();
+        });
+    }
+
+    @Test
+    void loadInsideToleranceBandIsNeverEvaluated() {
+        List<ServiceKey> services = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ServiceKey key = new ServiceKey("srv-" + i, "web");
+            backend.start(key, 2);
+            services.add(key);
+        }
+
+        for (int tick = 0; tick < 10; tick++) {
+            Instant now = T0.plusSeconds(tick * 5L);
+            // oscila entre 52% e 68%: dentro de 60 ± 20%
+            for (ServiceKey key : services) {
+                load.emitAll(key, now, tick % 2 == 0 ? 52 : 68);
+            }
+            scaler.evaluate(now);
+        }
+
+        assertThat(meterRegistry.counter("autoscaler.evaluated").count()).isZero();
+        assertThat(decisions).isEmpty();
+    }
+
+    @Test
+    void cooldownHoldsRepeatedScaleUps() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 1);
+
+        load.emitAll(web, T0, 100);
+        load.emitAll(web, T0.plusSeconds(30), 100);
+        scaler.evaluate(T0.plusSeconds(30));
+        assertThat(backend.count(web)).isEqualTo(2);
+
+        // a janela recomeça após a ação e o cooldown é de 1 minuto
+        load.emitAll(web, T0.plusSeconds(45), 100);
+        scaler.evaluate(T0.plusSeconds(45));
+        load.emitAll(web, T0.plusSeconds(75), 100);
+        scaler.evaluate(T0.plusSeconds(75));
+        assertThat(backend.count(web)).isEqualTo(2);
+
+        load.emitAll(web, T0.plusSeconds(95), 100);
+        scaler.evaluate(T0.plusSeconds(95));
+        assertThat(backend.count(web)).isEqualTo(4);
+    }
+
+    @Test
+    void scalesDownOneReplicaAtATimeAndNeverBelowMinimum() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 3);
+
+        Instant now = T0;
+        for (int i = 0; i < 40; i++) {
+            load.emitAll(web, now, 5);
+            scaler.evaluate(now);
+            now = now.plusSeconds(30);
+        }
+
+        assertThat(backend.count(web)).isEqualTo(1);
+        assertThat(decisions).extracting(ScalingDecision::getToReplicas).containsExactly(2, 1);
+        assertThat(decisions).allMatch(decision -> decision.getDirection() == ScalingDirection.DOWN);
+    }
+
+    @Test
+    void waitsWhileAReplicaIsStillStarting() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 2);
+        backend.setHealth(web, 1, "starting");
+
+        load.emitAll(web, T0, 100);
+        load.emitAll(web, T0.plusSeconds(40), 100);
+        scaler.evaluate(T0.plusSeconds(40));
+        assertThat(backend.count(web)).isEqualTo(2);
+
+        backend.setHealth(web, 1, "healthy");
+        load.emitAll(web, T0.plusSeconds(45), 100);
+        scaler.evaluate(T0.plusSeconds(45));
+        assertThat(backend.count(web)).isEqualTo(4);
+    }
+
+    @Test
+    void failedScaleIsRecordedAndRetriedAfterCooldown() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 1);
+        backend.failing = true;
+
+        load.emitAll(web, T0, 100);
+        load.emitAll(web, T0.plusSeconds(30), 100);
+        scaler.evaluate(T0.plusSeconds(30));
+        scaler.evaluate(T0.plusSeconds(35));
+
+        assertThat(decisions).singleElement().satisfies(decision -> {
+            assertThat(decision.isSucceeded()).isFalse();
+            assertThat(decision.getError()).isEqualTo("daemon indisponível");
+        });
+
+        backend.failing = false;
+        load.emitAll(web, T0.plusSeconds(100), 100);
+        scaler.evaluate(T0.plusSeconds(100));
+        assertThat(backend.count(web)).isEqualTo(2);
+    }
+
+    @Test
+    void leavesServersWithoutAnExplicitPolicyAlone() {
+        // compose com deploy.replicas: 3 num servidor sem política
+        ServiceKey web = new ServiceKey("unlisted", "web");
+        backend.start(web, 3);
+
+        load.emitAll(web, T0, 5);
+        backend.scale(web, 3);
+        scaler.evaluate(T0.plusSeconds(600));
+
+        assertThat(backend.count(web)).isEqualTo(3);
+        assertThat(decisions).isEmpty();
+    }
+
+    @Test
+    void skipsServicesWhileTheirServerIsDeploying() {
+        ServiceKey web = new ServiceKey("srv-1", "web");
+        backend.start(web, 1);
+        deploying.add("srv-1");
+
+        load.emitAll(web, T0, 100);
+        load.emitAll(web, T0.plusSeconds(30), 100);
+        scaler.evaluate(T0.plusSeconds(30));
+        assertThat(backend.count(web)).isEqualTo(1);
+
+        deploying.remove("srv-1");
+        load.emitAll(web, T0.plusSeconds(35), 100);
+        scaler.evaluate(T0.plusSeconds(35));
+        assertThat(backend.count(web)).isEqualTo(2);
+    }
+
+    private static ScalingDecisionRepository recordingRepository(List<ScalingDecision> saved) {
+        return (ScalingDecisionRepository) Proxy.newProxyInstance(
+                ScalingDecisionRepository.class.getClassLoader(),
+                new Class<?>[]{ScalingDecisionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        saved.add((ScalingDecision) args[0]);
+                        yield args[0];
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "RecordingScalingDecisionRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private final class SimulatedLoad implements LoadSignalSource {
+
+        private final List<Consumer<LoadSample>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void addListener(Consumer<LoadSample> listener) {
+            listeners.add(listener);
+        }
+
+        void emitAll(ServiceKey service, Instant at, double cpuPercent) {
+            for (Replica replica : backend.replicas(service)) {
+                LoadSample sample = new LoadSample(service, replica.containerId(), at, cpuPercent, 0, Double.NaN);
+                listeners.forEach(listener -> listener.accept(sample));
+            }
+        }
+    }
+
+    private static final class StubBackend implements ReplicaBackend {
+
+        private final Map<ServiceKey, List<Replica>> replicas = new ConcurrentHashMap<>();
+        private final List<Consumer<ServiceKey>> listeners = new CopyOnWriteArrayList<>();
+        private int sequence;
+        private volatile boolean failing;
+
+        void start(ServiceKey service, int count) {
+            List<Replica> list = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                list.add(new Replica(service.service() + "-" + sequence++, "running", null));
+            }
+            replicas.put(service, list);
+        }
+
+        int count(ServiceKey service) {
+            return replicas.get(service).size();
+        }
+
+        void setHealth(ServiceKey service, int index, String health) {
+            List<Replica> list = new ArrayList<>(replicas.get(service));
+            Replica replica = list.get(index);
+            list.set(index, new Replica(replica.containerId(), replica.state(), health));
+            replicas.put(service, list);
+            listeners.forEach(listener -> listener.accept(service));
+        }
+
+        @Override
+        public List<Replica> replicas(ServiceKey service) {
+            return replicas.getOrDefault(service, List.of());
+        }
+
+        @Override
+        public void scale(ServiceKey service, int desired) {
+            if (failing) {
+                throw new IllegalStateException("daemon indisponível");
+            }
+            List<Replica> list = new ArrayList<>(replicas.get(service));
+            while (list.size() < desired) {
+                list.add(new Replica(service.service() + "-" + sequence++, "running", null));
+            }
+            while (list.size() > desired) {
+                list.removeLast();
+            }
+            replicas.put(service, list);
+            listeners.forEach(listener -> listener.accept(service));
+        }
+
+        @Override
+        public void addListener(Consumer<ServiceKey> listener) {
+            listeners.add(listener);
+        }
+    }
+}